@@ -0,0 +1,94 @@
+package com.todolist.app.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTTP load test comparing the sync and async REST execution modes.
+ *
+ * 64 client threads drive a server whose Tomcat pool is smaller than the client count,
+ * so the sync mode saturates its container threads while the async mode hands requests off.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(64)
+@Fork(1)
+public class HttpThroughputBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    /**
+     * The application, booted once per trial in the requested execution mode.
+     */
+    @State(Scope.Benchmark)
+    public static class Server {
+
+        @Param({"sync", "async"})
+        public String executionMode;
+
+        @Param({"16"})
+        public int tomcatThreads;
+
+        ConfigurableApplicationContext context;
+        HttpClient client;
+        String baseUrl;
+
+        @Setup(Level.Trial)
+        public void start() {
+            context = TodoApplicationState.boot(ROWS,
+                    "todo.web.execution-mode=" + executionMode,
+                    "server.tomcat.threads.max=" + tomcatThreads);
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            baseUrl = "http://localhost:" + port + "/api/todos";
+            client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public int getPage(Server server) throws IOException, InterruptedException {
+        return send(server, server.baseUrl + "?limit=20&priority=" + (1 + ThreadLocalRandom.current().nextInt(5)));
+    }
+
+    @Benchmark
+    public int getById(Server server) throws IOException, InterruptedException {
+        return send(server, server.baseUrl + "/" + (1 + ThreadLocalRandom.current().nextInt(ROWS)));
+    }
+
+    private static int send(Server server, String url) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).GET().build();
+        return server.client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
@@ -0,0 +1,80 @@
+package com.todolist.app.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.todolist.app.dto.response.ApiResponse;
+import com.todolist.app.dto.response.TodoItemResponseDTO;
+import com.todolist.app.model.TodoItem;
+import com.todolist.app.service.TodoService;
+import com.todolist.app.specification.TodoQuery;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * DTO mapping and Jackson serialization of a list response, with the application's ObjectMapper
+ * (which writes TodoItemResponseDTO with TodoItemResponseSerializer) and with a default ObjectMapper
+ * using Jackson's reflective bean serializer.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private static final int LIST_SIZE = 1_000;
+
+    /**
+     * A page of detached tasks and their DTOs, loaded once per trial.
+     */
+    @State(Scope.Benchmark)
+    public static class Payload {
+
+        ObjectMapper objectMapper;
+        ObjectMapper defaultObjectMapper;
+        List<TodoItem> tasks;
+        List<TodoItemResponseDTO> dtos;
+
+        @Setup(Level.Trial)
+        public void load(TodoApplicationState app) {
+            objectMapper = app.bean(ObjectMapper.class);
+            defaultObjectMapper = Jackson2ObjectMapperBuilder.json()
+                    .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                    .build();
+            tasks = app.bean(TodoService.class).getTasksPage(new TodoQuery(), null, LIST_SIZE).getContent();
+            dtos = tasks.stream().map(TodoItemResponseDTO::from).collect(Collectors.toList());
+        }
+    }
+
+    @Benchmark
+    public List<TodoItemResponseDTO> mapToResponseDTOs(Payload payload) {
+        return payload.tasks.stream().map(TodoItemResponseDTO::from).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public byte[] serializeApiResponse(Payload payload) throws JsonProcessingException {
+        return payload.objectMapper.writeValueAsBytes(
+                new ApiResponse<>(200, "Tasks retrieved successfully", payload.dtos));
+    }
+
+    @Benchmark
+    public byte[] serializeApiResponseDefault(Payload payload) throws JsonProcessingException {
+        return payload.defaultObjectMapper.writeValueAsBytes(
+                new ApiResponse<>(200, "Tasks retrieved successfully", payload.dtos));
+    }
+}
@@ -0,0 +1,44 @@
+package com.todolist.app.benchmark;
+
+import com.todolist.app.dto.response.SweepReport;
+import com.todolist.app.service.TaskSweepService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The hourly due-task sweep over a backlog of one overdue task in a hundred.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SweepBenchmark {
+
+    /**
+     * Makes every hundredth task incomplete and overdue again before each sweep.
+     */
+    @Setup(Level.Invocation)
+    public void createBacklog(TodoApplicationState app) {
+        app.bean(JdbcTemplate.class).update("UPDATE todo_items SET completed = FALSE, "
+                + "due_date = DATEADD('HOUR', -1, CURRENT_TIMESTAMP) WHERE MOD(id, 100) = 0");
+    }
+
+    @Benchmark
+    public SweepReport hourlySweep(TodoApplicationState app) {
+        return app.bean(TaskSweepService.class).sweepDueTasks();
+    }
+}
@@ -0,0 +1,111 @@
+package com.todolist.app.benchmark;
+
+import com.todolist.app.TodoListApplication;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Boots the application against an embedded H2 database seeded with {@link #rows} tasks.
+ * One context is shared by all benchmark threads of a trial.
+ */
+@State(Scope.Benchmark)
+public class TodoApplicationState {
+
+    private static final int SEED_BATCH_SIZE = 10_000;
+
+    private static final String[] PROPERTIES = {
+            "server.port=0",
+            "spring.main.banner-mode=off",
+            "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+            "spring.jpa.show-sql=false",
+            "spring.jpa.properties.hibernate.format_sql=false",
+            "logging.level.root=WARN",
+            "logging.level.org.hibernate.SQL=WARN",
+            "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+            "todo.query-plans.log-on-startup=false",
+            // Measure the service and query paths, not the response caches in front of them
+            "todo.cache.task-lists.enabled=false"
+    };
+
+    @Param({"10000", "1000000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = boot(rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    /**
+     * @param type the bean type
+     * @return the bean of the given type from the application context
+     */
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    /**
+     * Boots the application and seeds its database.
+     *
+     * @param rows            the number of tasks to insert
+     * @param extraProperties properties added to, or overriding, the benchmark defaults
+     * @return the running application context
+     */
+    static ConfigurableApplicationContext boot(int rows, String... extraProperties) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(TodoListApplication.class)
+                .properties(PROPERTIES)
+                .properties(extraProperties)
+                .run();
+        seed(context.getBean(JdbcTemplate.class), rows);
+        return context;
+    }
+
+    /**
+     * Inserts the tasks with JDBC batches: a fifth per priority, a third completed,
+     * due dates spread over the next month and updatedAt spread over the last rows seconds.
+     */
+    private static void seed(JdbcTemplate jdbcTemplate, int rows) {
+        String sql = "INSERT INTO todo_items (id, title, description, due_date, completed, priority, "
+                + "created_at, updated_at, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0)";
+        LocalDateTime now = LocalDateTime.now();
+
+        for (int start = 1; start <= rows; start += SEED_BATCH_SIZE) {
+            int end = Math.min(start + SEED_BATCH_SIZE - 1, rows);
+            List<Object[]> batch = new ArrayList<>(end - start + 1);
+            for (long id = start; id <= end; id++) {
+                batch.add(new Object[]{
+                        id,
+                        "Task " + id,
+                        "Benchmark task number " + id,
+                        Timestamp.valueOf(now.plusDays(1 + id % 30)),
+                        id % 3 == 0,
+                        (int) (1 + id % 5),
+                        Timestamp.valueOf(now.minusMinutes(id)),
+                        Timestamp.valueOf(now.minusSeconds(id))
+                });
+            }
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+
+        // Keep the pooled sequence clear of the seeded IDs
+        jdbcTemplate.execute("ALTER SEQUENCE todo_item_seq RESTART WITH " + (rows + 100));
+    }
+}
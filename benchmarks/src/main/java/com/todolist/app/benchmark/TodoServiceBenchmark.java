@@ -0,0 +1,67 @@
+package com.todolist.app.benchmark;
+
+import com.todolist.app.dto.response.TodoItemResponseDTO;
+import com.todolist.app.model.TodoItem;
+import com.todolist.app.model.TodoItemPatch;
+import com.todolist.app.service.TodoService;
+import com.todolist.app.specification.TodoQuery;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Read and write paths of TodoService, including the filtered listings.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TodoServiceBenchmark {
+
+    @Benchmark
+    public List<TodoItem> filteredRead(TodoApplicationState app) {
+        return app.bean(TodoService.class).getTasks(TodoQuery.of(5, false));
+    }
+
+    @Benchmark
+    public Slice<TodoItem> firstPage(TodoApplicationState app) {
+        return app.bean(TodoService.class).getTasksPage(TodoQuery.of(null, false), null, 50);
+    }
+
+    /**
+     * The listing as GET /api/todos built it before projections: hydrated entities, then mapped to DTOs.
+     */
+    @Benchmark
+    public List<TodoItemResponseDTO> entityListing(TodoApplicationState app) {
+        return app.bean(TodoService.class).getTasks(TodoQuery.of(5, false)).stream()
+                .map(TodoItemResponseDTO::from)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * The same listing projected straight into DTOs in a read-only transaction.
+     */
+    @Benchmark
+    public List<TodoItemResponseDTO> projectedListing(TodoApplicationState app) {
+        return app.bean(TodoService.class).getTaskResponses(TodoQuery.of(5, false));
+    }
+
+    @Benchmark
+    public TodoItem singleRowUpdate(TodoApplicationState app) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        TodoItemPatch patch = new TodoItemPatch();
+        patch.setPriority(1 + random.nextInt(5));
+        return app.bean(TodoService.class).patchTask(1L + random.nextInt(app.rows), patch, null);
+    }
+}
@@ -0,0 +1,55 @@
+package com.todolist.app.cache;
+
+import com.todolist.app.repository.TodoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads the hot working set, incomplete high-priority tasks, into the task cache after startup.
+ *
+ * With persistent storage the tasks survive a restart but the cache does not; warming it keeps
+ * the first requests after a deploy from all missing at once.
+ */
+@Component
+@ConditionalOnProperty(name = "todo.cache.warm-up.enabled", havingValue = "true")
+public class TaskCacheWarmer {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskCacheWarmer.class);
+
+    private final TodoRepository todoRepository;
+    private final TodoCacheInvalidator todoCacheInvalidator;
+    private final int minPriority;
+    private final int maxEntries;
+
+    public TaskCacheWarmer(TodoRepository todoRepository,
+                           TodoCacheInvalidator todoCacheInvalidator,
+                           @Value("${todo.cache.warm-up.min-priority:4}") int minPriority,
+                           @Value("${todo.cache.warm-up.max-entries:5000}") int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("todo.cache.warm-up.max-entries must be at least 1");
+        }
+        this.todoRepository = todoRepository;
+        this.todoCacheInvalidator = todoCacheInvalidator;
+        this.minPriority = minPriority;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Puts the hot tasks into the tasksById cache, without replacing entries already cached.
+     * Tasks changed while they are read are left out, since the copy read may predate the change.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        long start = System.nanoTime();
+        int read = todoCacheInvalidator.putUnlessEvicted(() ->
+                todoRepository.findHotTasks(false, minPriority, PageRequest.of(0, maxEntries)));
+        logger.info("Warmed {} with {} tasks of priority >= {} in {} ms", TodoCacheNames.TASKS_BY_ID,
+                read, minPriority, (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,174 @@
+package com.todolist.app.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.todolist.app.event.TodoChangeEvent;
+import com.todolist.app.repository.TodoChangeRepository;
+import com.todolist.app.specification.TodoQuery;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Caches serialized task-list responses keyed by their query, together with their ETag and
+ * Last-Modified, so a hit answers both plain and conditional requests without touching the database.
+ *
+ * Every entry is stamped with the global write version at the time its data was read, and is
+ * served only while the version is unchanged. Mutations made on this node bump the version as
+ * soon as they commit. Mutations made on other nodes bump it once the outbox relay has published
+ * them and this node's next poll of the published seq sees it advance, so they are picked up
+ * within the relay and poll intervals. Entries also expire a fixed time after they were loaded,
+ * which bounds staleness for changes that reach the table without going through the outbox, or
+ * while no node holds the relay lease.
+ *
+ * Listings are tagged with the published seq read before loading them, whether or not the cache is
+ * enabled, so a conditional request can be answered from that seq without loading the listing.
+ */
+@Component
+public class TaskListCache {
+
+    private final AtomicLong writeVersion = new AtomicLong();
+    private final Cache<String, Entry> entries;
+    private final TodoChangeRepository todoChangeRepository;
+    private final boolean enabled;
+
+    private volatile long publishedSeq = -1;
+
+    public TaskListCache(MeterRegistry meterRegistry,
+                         TodoChangeRepository todoChangeRepository,
+                         @Value("${todo.cache.task-lists.enabled:true}") boolean enabled,
+                         @Value("${todo.cache.task-lists.max-bytes:67108864}") long maxBytes,
+                         @Value("${todo.cache.task-lists.expire-after-write-ms:60000}") long expireAfterWriteMillis) {
+        if (expireAfterWriteMillis < 1) {
+            throw new IllegalArgumentException("todo.cache.task-lists.expire-after-write-ms must be at least 1");
+        }
+        this.todoChangeRepository = todoChangeRepository;
+        this.enabled = enabled;
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .expireAfterWrite(Duration.ofMillis(expireAfterWriteMillis))
+                .weigher((String key, Entry entry) -> entry.listing.body.length)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, entries, "taskLists");
+    }
+
+    /**
+     * Returns the serialized list for the filter, loading it if the cached copy is missing or stale.
+     *
+     * @param query  the filter and ordering of the list
+     * @param loader reads and serializes the list
+     * @return the serialized list and its validators
+     */
+    public Listing get(TodoQuery query, Supplier<Listing> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        String key = query.cacheKey();
+        // Read the version before loading: a write racing with the load leaves the entry already stale
+        long version = writeVersion.get();
+        Entry entry = entries.getIfPresent(key);
+        if (entry != null && entry.version == version) {
+            return entry.listing;
+        }
+        Listing listing = loader.get();
+        entries.put(key, new Entry(version, listing));
+        return listing;
+    }
+
+    /**
+     * @return true if listings are cached
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Reads the seq a listing loaded now is tagged with. While committed changes wait for the relay
+     * the published seq does not cover them yet, so no seq is returned.
+     *
+     * @return the highest published seq, or null while changes are waiting to be published
+     */
+    public Long settledSeq() {
+        // Checked before reading the seq: a change published in between then moves the seq past it
+        if (!todoChangeRepository.findUnpublishedIds(1).isEmpty()) {
+            return null;
+        }
+        return todoChangeRepository.findMaxSeq();
+    }
+
+    /**
+     * Bumps the write version so every cached list is reloaded on its next read.
+     *
+     * @param event the change that was committed
+     */
+    @EventListener
+    public void onTodoChange(TodoChangeEvent event) {
+        writeVersion.incrementAndGet();
+    }
+
+    /**
+     * Bumps the write version when the outbox relay has published changes since the last poll,
+     * which covers mutations committed on other nodes.
+     */
+    @Scheduled(fixedDelayString = "${todo.changes.poll-interval-ms:1000}")
+    public void pollPublishedChanges() {
+        if (!enabled) {
+            return;
+        }
+        long seq = todoChangeRepository.findMaxSeq();
+        if (seq != publishedSeq) {
+            publishedSeq = seq;
+            writeVersion.incrementAndGet();
+        }
+    }
+
+    /**
+     * A serialized task list and the validators it is served with.
+     */
+    public static final class Listing {
+        private final byte[] body;
+        private final String eTag;
+        private final long lastModified;
+
+        /**
+         * @param body         the serialized response
+         * @param eTag         the ETag of the response
+         * @param lastModified the Last-Modified of the response in epoch milliseconds, or -1 if unknown
+         */
+        public Listing(byte[] body, String eTag, long lastModified) {
+            this.body = body;
+            this.eTag = eTag;
+            this.lastModified = lastModified;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+
+        public String getETag() {
+            return eTag;
+        }
+
+        public long getLastModified() {
+            return lastModified;
+        }
+    }
+
+    private static final class Entry {
+        private final long version;
+        private final Listing listing;
+
+        private Entry(long version, Listing listing) {
+            this.version = version;
+            this.listing = listing;
+        }
+    }
+}
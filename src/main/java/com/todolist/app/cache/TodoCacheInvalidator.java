@@ -0,0 +1,157 @@
+package com.todolist.app.cache;
+
+import com.todolist.app.event.TodoChangeEvent;
+import com.todolist.app.model.TodoChange;
+import com.todolist.app.model.TodoItem;
+import com.todolist.app.model.TodoItemSnapshot;
+import com.todolist.app.repository.TodoChangeRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+/**
+ * Evicts cached tasks whenever they are changed, including by batch operations and the sweep.
+ *
+ * Changes made on this node are evicted as soon as they commit. Changes made on other nodes are
+ * evicted once the outbox relay has published them and this node's next poll reads them from
+ * todo_changes, so they are picked up within the relay and poll intervals. If the changes since
+ * the last poll were purged before they could be read, the whole cache is cleared.
+ *
+ * Loads that fill the cache outside TodoService#getTaskById go through putUnlessEvicted, so a
+ * task read before a change is not put back after the change evicted it.
+ */
+@Component
+public class TodoCacheInvalidator {
+
+    private final CacheManager cacheManager;
+    private final TodoChangeRepository todoChangeRepository;
+    private final int batchSize;
+
+    private final List<EvictionLog> evictionLogs = new CopyOnWriteArrayList<>();
+
+    private long publishedSeq = -1;
+
+    public TodoCacheInvalidator(CacheManager cacheManager,
+                                TodoChangeRepository todoChangeRepository,
+                                @Value("${todo.changes.max-batch:500}") int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("todo.changes.max-batch must be at least 1");
+        }
+        this.cacheManager = cacheManager;
+        this.todoChangeRepository = todoChangeRepository;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Evicts the tasks affected by a change.
+     *
+     * @param event the change that was committed
+     */
+    @EventListener
+    public void onTodoChange(TodoChangeEvent event) {
+        if (event.getType() == TodoChangeEvent.Type.CREATED) {
+            return;
+        }
+        Cache cache = cacheManager.getCache(TodoCacheNames.TASKS_BY_ID);
+        if (cache != null) {
+            event.getIds().forEach(id -> evict(cache, id));
+        }
+    }
+
+    /**
+     * Caches the tasks returned by the loader, except tasks already cached and tasks evicted
+     * while the loader ran or their entries were being put.
+     *
+     * @param loader reads the tasks to cache
+     * @return the number of tasks read
+     */
+    public int putUnlessEvicted(Supplier<List<TodoItem>> loader) {
+        Cache cache = cacheManager.getCache(TodoCacheNames.TASKS_BY_ID);
+        if (cache == null) {
+            return 0;
+        }
+        EvictionLog log = new EvictionLog();
+        evictionLogs.add(log);
+        try {
+            List<TodoItem> tasks = loader.get();
+            for (TodoItem task : tasks) {
+                if (!log.contains(task.getId())) {
+                    cache.putIfAbsent(task.getId(), TodoItemSnapshot.of(task));
+                }
+            }
+            // An eviction between the check and the put is logged before it evicts, so it is seen here
+            for (TodoItem task : tasks) {
+                if (log.contains(task.getId())) {
+                    cache.evict(task.getId());
+                }
+            }
+            return tasks.size();
+        } finally {
+            evictionLogs.remove(log);
+        }
+    }
+
+    /**
+     * Evicts the tasks of the changes the outbox relay has published since the last poll, which
+     * covers mutations committed on other nodes. The first poll only records where to start, and
+     * clears whatever was cached before it.
+     */
+    @Scheduled(fixedDelayString = "${todo.changes.poll-interval-ms:1000}")
+    public synchronized void pollPublishedChanges() {
+        Cache cache = cacheManager.getCache(TodoCacheNames.TASKS_BY_ID);
+        if (cache == null) {
+            return;
+        }
+        if (publishedSeq < 0) {
+            publishedSeq = todoChangeRepository.findMaxSeq();
+            clear(cache);
+            return;
+        }
+        List<TodoChange> changes;
+        do {
+            changes = todoChangeRepository.findSince(publishedSeq, batchSize);
+            if (!changes.isEmpty() && changes.get(0).getSeq() > publishedSeq + 1) {
+                // Seqs are consecutive, so a gap means the changes in between were purged
+                clear(cache);
+            }
+            for (TodoChange change : changes) {
+                if (change.getType() != TodoChangeEvent.Type.CREATED) {
+                    evict(cache, change.getTaskId());
+                }
+                publishedSeq = change.getSeq();
+            }
+        } while (changes.size() == batchSize);
+    }
+
+    private void evict(Cache cache, Long id) {
+        evictionLogs.forEach(log -> log.ids.add(id));
+        cache.evict(id);
+    }
+
+    private void clear(Cache cache) {
+        evictionLogs.forEach(log -> log.cleared = true);
+        cache.clear();
+    }
+
+    /**
+     * The IDs evicted while a load is in progress.
+     */
+    private static final class EvictionLog {
+
+        private final Set<Long> ids = ConcurrentHashMap.newKeySet();
+        private volatile boolean cleared;
+
+        private boolean contains(Long id) {
+            return cleared || ids.contains(id);
+        }
+    }
+}
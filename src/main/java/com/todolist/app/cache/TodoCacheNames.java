@@ -0,0 +1,15 @@
+package com.todolist.app.cache;
+
+/**
+ * Names of the caches used by the application.
+ */
+public final class TodoCacheNames {
+
+    /**
+     * Immutable TodoItemSnapshot copies keyed by ID, filled by TodoService#getTaskById.
+     */
+    public static final String TASKS_BY_ID = "tasksById";
+
+    private TodoCacheNames() {
+    }
+}
@@ -0,0 +1,89 @@
+package com.todolist.app.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcRegistrations;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ConcurrentTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Enables the asynchronous execution mode of the REST layer ({@code todo.web.execution-mode=async}).
+ *
+ * Requests run on virtual threads when the runtime provides them, otherwise on a fixed
+ * platform-thread pool; either way concurrency is capped by {@code todo.web.async.max-concurrency},
+ * which defaults to the JDBC connection pool size. The cap is enforced by
+ * AsyncRequestMappingHandlerAdapter before a handler is handed to the executor, so the executor
+ * itself needs no queue bound.
+ */
+@Configuration
+@ConditionalOnProperty(name = "todo.web.execution-mode", havingValue = "async")
+public class AsyncExecutionConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncExecutionConfig.class);
+
+    /**
+     * Creates the executor running API requests.
+     * @param maxConcurrency the maximum number of requests running at once
+     * @return the request executor
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService requestExecutor(
+            @Value("${todo.web.async.max-concurrency:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConcurrency) {
+        ExecutorService virtualThreads = newVirtualThreadPerTaskExecutor();
+        if (virtualThreads != null) {
+            logger.info("Async request execution on virtual threads, max concurrency {}", maxConcurrency);
+            return virtualThreads;
+        }
+        logger.info("Async request execution on {} platform threads", maxConcurrency);
+        // Unbounded only nominally: the adapter admits at most maxConcurrency requests, and the queue
+        // absorbs the moment between a finishing request releasing its permit and its thread returning
+        return new ThreadPoolExecutor(maxConcurrency, maxConcurrency, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new CustomizableThreadFactory("request-"));
+    }
+
+    /**
+     * Replaces the RequestMappingHandlerAdapter with one handing API handlers over to the request executor.
+     * @return the Spring MVC registrations
+     */
+    @Bean
+    public WebMvcRegistrations asyncExecutionRegistrations(
+            ExecutorService requestExecutor,
+            @Value("${todo.web.async.max-concurrency:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConcurrency,
+            @Value("${todo.web.async.request-timeout-ms:30000}") long requestTimeoutMillis,
+            @Value("${todo.web.async.excluded-paths:/api/todos/export,/api/todos/changes,/api/todos/events}") List<String> excludedPaths) {
+        return new WebMvcRegistrations() {
+            @Override
+            public RequestMappingHandlerAdapter getRequestMappingHandlerAdapter() {
+                return new AsyncRequestMappingHandlerAdapter(new ConcurrentTaskExecutor(requestExecutor),
+                        maxConcurrency, requestTimeoutMillis, excludedPaths);
+            }
+        };
+    }
+
+    /**
+     * Creates a virtual-thread-per-task executor on runtimes that provide one (Java 21+).
+     * Looked up reflectively because the application is compiled for Java 11.
+     *
+     * @return the executor, or null if virtual threads are unavailable
+     */
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.todolist.app.config;
+
+import com.todolist.app.exception.ServerAtCapacityException;
+import com.todolist.app.metrics.QueryCountInterceptor;
+import com.todolist.app.metrics.QueryCountStatementInspector;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.ServletInvocableHandlerMethod;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Runs API handler methods on a dedicated executor instead of the servlet container thread.
+ *
+ * Each handler invocation is returned to Spring MVC as a WebAsyncTask. The container thread resolves
+ * the handler arguments, which read request state only valid during its dispatch, starts async
+ * processing and returns to the pool; the handler itself runs on the executor, and the response is
+ * written on the async dispatch as for any Callable handler.
+ * At most a fixed number of handlers run at once, matching the JDBC connection pool. The permit is
+ * taken on the container thread before the hand-off, so a request arriving at capacity is rejected
+ * with 503 at once instead of waiting on the executor.
+ */
+public class AsyncRequestMappingHandlerAdapter extends RequestMappingHandlerAdapter {
+
+    private static final String API_PATHS = "/api/**";
+
+    private final AsyncTaskExecutor executor;
+    private final Semaphore permits;
+    private final long requestTimeoutMillis;
+    private final List<String> excludedPaths;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public AsyncRequestMappingHandlerAdapter(AsyncTaskExecutor executor, int maxConcurrency,
+                                             long requestTimeoutMillis, List<String> excludedPaths) {
+        this.executor = executor;
+        this.permits = new Semaphore(maxConcurrency);
+        this.requestTimeoutMillis = requestTimeoutMillis;
+        this.excludedPaths = excludedPaths;
+    }
+
+    @Override
+    protected ServletInvocableHandlerMethod createInvocableHandlerMethod(HandlerMethod handlerMethod) {
+        return new AsyncInvocableHandlerMethod(handlerMethod);
+    }
+
+    /**
+     * Only API requests are handed off. Endpoints that manage async processing themselves
+     * (streams, long polls) and error or async dispatches run as usual.
+     */
+    private boolean handsOff(HttpServletRequest request) {
+        if (request.getDispatcherType() != DispatcherType.REQUEST || !request.isAsyncSupported()) {
+            return false;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return pathMatcher.match(API_PATHS, path)
+                && excludedPaths.stream().noneMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    private final class AsyncInvocableHandlerMethod extends ServletInvocableHandlerMethod {
+
+        private AsyncInvocableHandlerMethod(HandlerMethod handlerMethod) {
+            super(handlerMethod);
+        }
+
+        @Override
+        public Object invokeForRequest(NativeWebRequest request, ModelAndViewContainer mavContainer,
+                                       Object... providedArgs) throws Exception {
+            HttpServletRequest servletRequest = request.getNativeRequest(HttpServletRequest.class);
+            if (servletRequest == null || !handsOff(servletRequest)) {
+                return super.invokeForRequest(request, mavContainer, providedArgs);
+            }
+            Object[] args = getMethodArgumentValues(request, mavContainer, providedArgs);
+            if (!permits.tryAcquire()) {
+                throw new ServerAtCapacityException();
+            }
+            return new WebAsyncTask<>(requestTimeoutMillis, executor, () -> {
+                try {
+                    QueryCountStatementInspector.reset();
+                    Object result = doInvoke(args);
+                    // The statements ran on this thread, where QueryCountInterceptor cannot see them
+                    servletRequest.setAttribute(QueryCountInterceptor.HANDLER_QUERY_COUNT_ATTRIBUTE,
+                            QueryCountStatementInspector.current());
+                    return result;
+                } finally {
+                    permits.release();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.todolist.app.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables the caching layer; cache names and the Caffeine spec are set in application.properties.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+}
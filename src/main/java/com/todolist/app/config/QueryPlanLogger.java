@@ -0,0 +1,161 @@
+package com.todolist.app.config;
+
+import com.todolist.app.metrics.QueryCountStatementInspector;
+import com.todolist.app.repository.TodoRepository;
+import com.todolist.app.specification.TodoCursor;
+import com.todolist.app.specification.TodoQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Logs the H2 query plan of every TodoItem query shape once the application has started.
+ *
+ * Each shape is run once through TodoRepository, in a read-only transaction that is rolled back,
+ * and the SQL Hibernate generated for it is taken from QueryCountStatementInspector and explained.
+ * The plans are therefore those of the statements the application really issues, parameters
+ * included. A shape whose plan falls back to a table scan is logged as a warning, so a new filter
+ * added to TodoQuery without a matching index shows up in the startup log.
+ */
+@Component
+@ConditionalOnProperty(name = "todo.query-plans.log-on-startup", havingValue = "true", matchIfMissing = true)
+public class QueryPlanLogger {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryPlanLogger.class);
+
+    private static final String TABLE_SCAN = "tableScan";
+
+    private static final int PAGE_SIZE = 50;
+
+    private static final PageRequest CHUNK = PageRequest.of(0, 500);
+
+    private final TodoRepository todoRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public QueryPlanLogger(TodoRepository todoRepository, JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager) {
+        this.todoRepository = todoRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Explains each query shape and logs its plan.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void logQueryPlans() {
+        for (Map.Entry<String, Runnable> shape : queryShapes().entrySet()) {
+            try {
+                String sql = generatedSql(shape.getValue());
+                if (sql == null) {
+                    logger.warn("Query shape '{}' issued no SQL to explain", shape.getKey());
+                    continue;
+                }
+                List<String> plan = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class);
+                String planText = String.join(System.lineSeparator(), plan);
+                if (planText.contains(TABLE_SCAN)) {
+                    logger.warn("Query shape '{}' is not covered by an index:{}{}",
+                            shape.getKey(), System.lineSeparator(), planText);
+                } else {
+                    logger.info("Query plan for '{}':{}{}", shape.getKey(), System.lineSeparator(), planText);
+                }
+            } catch (DataAccessException e) {
+                logger.warn("Could not explain query shape '{}': {}", shape.getKey(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Runs a query shape and returns the SQL of the last statement it prepared.
+     *
+     * @param shape the repository call issuing the query
+     * @return the generated SQL, or null if the call prepared no statement
+     */
+    private String generatedSql(Runnable shape) {
+        return transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+            QueryCountStatementInspector.reset();
+            shape.run();
+            return QueryCountStatementInspector.current() > 0 ? QueryCountStatementInspector.lastStatement() : null;
+        });
+    }
+
+    /**
+     * @return a representative call for each way the application queries todo_items, by description
+     */
+    private Map<String, Runnable> queryShapes() {
+        LocalDateTime now = LocalDateTime.now();
+        TodoCursor cursor = new TodoCursor(now, Long.MAX_VALUE);
+        Map<String, Runnable> shapes = new LinkedHashMap<>();
+
+        shapes.put("all tasks by updatedAt", () -> listing(TodoQuery.of(null, null), null));
+        shapes.put("filter by priority and completed", () -> listing(TodoQuery.of(1, false), null));
+        shapes.put("filter by completed", () -> listing(TodoQuery.of(null, false), null));
+        shapes.put("filter by priority", () -> listing(TodoQuery.of(1, null), null));
+        shapes.put("filter by priority set", () -> {
+            TodoQuery query = new TodoQuery();
+            query.setPriorities(List.of(4, 5));
+            listing(query, null);
+        });
+        shapes.put("keyset page after cursor", () -> listing(TodoQuery.of(null, null), cursor));
+        shapes.put("filtered keyset page after cursor", () -> listing(TodoQuery.of(1, false), cursor));
+        shapes.put("tasks by dueDate", () -> {
+            TodoQuery query = new TodoQuery();
+            query.setSortKey(TodoQuery.SortKey.DUE_DATE);
+            query.setAscending(true);
+            listing(query, cursor);
+        });
+        shapes.put("filter by dueDate range", () -> {
+            TodoQuery query = new TodoQuery();
+            query.setDueFrom(now.minusDays(7));
+            query.setDueTo(now);
+            query.setSortKey(TodoQuery.SortKey.DUE_DATE);
+            query.setAscending(true);
+            listing(query, null);
+        });
+        shapes.put("filter by createdAt range", () -> {
+            TodoQuery query = new TodoQuery();
+            query.setCreatedFrom(now.minusDays(7));
+            query.setCreatedTo(now);
+            query.setSortKey(TodoQuery.SortKey.CREATED_AT);
+            listing(query, null);
+        });
+        shapes.put("filter by title prefix", () -> {
+            TodoQuery query = new TodoQuery();
+            query.setTitlePrefix("Report");
+            listing(query, null);
+        });
+        shapes.put("due-task sweep chunk",
+                () -> todoRepository.findDueTaskIds(false, now, 0L, Long.MAX_VALUE, CHUNK));
+        shapes.put("sharded sweep chunk",
+                () -> todoRepository.findDueTaskIdsInShard(false, now, 0L, Long.MAX_VALUE, 8, 0, CHUNK));
+        shapes.put("due date scheduler chunk",
+                () -> todoRepository.findDueDates(false, now, 0L, CHUNK));
+        shapes.put("search index rebuild chunk",
+                () -> todoRepository.findIdVersions(0L, Long.MAX_VALUE, CHUNK));
+        shapes.put("statistics by priority and completed", todoRepository::countByPriorityAndCompleted);
+        shapes.put("statistics overdue count", () -> todoRepository.countDueBefore(false, now));
+        shapes.put("statistics completed today", () -> todoRepository.countUpdatedSince(true, now));
+        shapes.put("cache warm-up", () -> todoRepository.findHotTasks(false, 4, CHUNK));
+        return shapes;
+    }
+
+    private void listing(TodoQuery query, TodoCursor cursor) {
+        todoRepository.findResponseSlice(query, cursor, PAGE_SIZE);
+    }
+}
@@ -0,0 +1,38 @@
+package com.todolist.app.config;
+
+import com.todolist.app.metrics.SlowQueryLogListener;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers SlowQueryLogListener with Hibernate when todo.slow-query-log.enabled is true.
+ */
+@Configuration
+@ConditionalOnProperty(name = "todo.slow-query-log.enabled", havingValue = "true")
+public class SlowQueryLogConfig {
+
+    /**
+     * Configures the listener and adds it to every Hibernate session.
+     *
+     * @param thresholdMillis executions taking longer than this many milliseconds are logged
+     * @param sampleRate      fraction of the slow executions to log
+     * @return the HibernatePropertiesCustomizer
+     */
+    @Bean
+    public HibernatePropertiesCustomizer slowQueryLogCustomizer(
+            @Value("${todo.slow-query-log.threshold-ms:200}") long thresholdMillis,
+            @Value("${todo.slow-query-log.sample-rate:1.0}") double sampleRate) {
+        if (thresholdMillis < 0 || sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException(
+                    "todo.slow-query-log.threshold-ms must be >= 0 and sample-rate between 0 and 1");
+        }
+        return properties -> {
+            SlowQueryLogListener.configure(thresholdMillis, sampleRate);
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, SlowQueryLogListener.class.getName());
+        };
+    }
+}
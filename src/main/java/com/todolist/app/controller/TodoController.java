@@ -1,25 +1,73 @@
 package com.todolist.app.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.todolist.app.cache.TaskListCache;
+import com.todolist.app.dto.request.TodoItemBatchUpdateRequestDTO;
 import com.todolist.app.dto.request.TodoItemCreateRequestDTO;
+import com.todolist.app.dto.response.BatchItemResultDTO;
+import com.todolist.app.dto.response.TaskSearchHitDTO;
+import com.todolist.app.dto.response.TaskStatsDTO;
+import com.todolist.app.dto.response.TodoChangeDTO;
 import com.todolist.app.dto.response.TodoItemResponseDTO;
 import com.todolist.app.dto.request.TodoItemUpdateRequestDTO;
+import com.todolist.app.exception.InvalidRequestException;
+import com.todolist.app.model.TodoChange;
 import com.todolist.app.model.TodoItem;
+import com.todolist.app.model.TodoItemPatch;
+import com.todolist.app.model.TodoItemSnapshot;
+import com.todolist.app.outbox.ChangeFeed;
+import com.todolist.app.push.TaskEventHub;
+import com.todolist.app.repository.TodoListStamp;
+import com.todolist.app.repository.TodoVersionStamp;
+import com.todolist.app.search.SearchHit;
+import com.todolist.app.search.TaskSearchIndex;
 import com.todolist.app.dto.response.ApiResponse;
 import com.todolist.app.service.TodoService;
+import com.todolist.app.stats.TaskStatistics;
+import com.todolist.app.specification.TodoCursor;
+import com.todolist.app.specification.TodoQuery;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import javax.validation.ConstraintViolation;
 import javax.validation.Valid;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @RestController
@@ -28,9 +76,46 @@ import java.util.stream.Collectors;
 @Validated
 public class TodoController {
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int DEFAULT_SEARCH_LIMIT = 20;
+    private static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+
     @Autowired
     private TodoService todoService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskListCache taskListCache;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ChangeFeed changeFeed;
+
+    @Autowired
+    private TaskEventHub taskEventHub;
+
+    // Absent when todo.search.enabled is false
+    @Autowired(required = false)
+    private TaskSearchIndex taskSearchIndex;
+
+    // Absent when todo.stats.enabled is false
+    @Autowired(required = false)
+    private TaskStatistics taskStatistics;
+
+    @Value("${todo.batch.max-items:10000}")
+    private int maxBatchItems;
+
+    @Value("${todo.changes.max-wait-ms:30000}")
+    private long maxChangesWaitMillis;
+
+    @Value("${todo.changes.sse-timeout-ms:300000}")
+    private long changesSseTimeoutMillis;
+
     /**
      * Converts a TodoItem entity to its corresponding response DTO.
      *
@@ -38,46 +123,656 @@ public class TodoController {
      * @return the corresponding TodoItemResponseDTO
      */
     private TodoItemResponseDTO convertToResponseDTO(TodoItem todoItem) {
-        return new TodoItemResponseDTO(
-                todoItem.getId(),
-                todoItem.getTitle(),
-                todoItem.getDescription(),
-                todoItem.getDueDate(),
-                todoItem.isCompleted(),
-                todoItem.getPriority(),
-                todoItem.getCreatedAt(),
-                todoItem.getUpdatedAt()
+        return TodoItemResponseDTO.from(todoItem);
+    }
+
+    /**
+     * Builds a new TodoItem entity from a create request.
+     *
+     * @param createRequest the validated create request
+     * @return the new, unsaved TodoItem
+     */
+    private TodoItem toEntity(TodoItemCreateRequestDTO createRequest) {
+        TodoItem todoItem = new TodoItem();
+        todoItem.setTitle(createRequest.getTitle());
+        todoItem.setDescription(createRequest.getDescription());
+        todoItem.setDueDate(LocalDateTime.of(createRequest.getParsedDueDate(), LocalDateTime.now().toLocalTime()));
+        todoItem.setPriority(createRequest.getPriority());
+        return todoItem;
+    }
+
+    /**
+     * Validates the optional fields of an update request.
+     *
+     * @param updateRequest the update request to validate
+     * @return the validation error message, or null if the request is valid
+     */
+    private String validateUpdate(TodoItemUpdateRequestDTO updateRequest) {
+        // Validate the due date if it's provided (not null or empty)
+        if (updateRequest.getDueDate() != null && !updateRequest.getDueDate().isEmpty()) {
+            LocalDate dueDate;
+            try {
+                // Parsing the string to LocalDate (yyyy-MM-dd format expected)
+                dueDate = LocalDate.parse(updateRequest.getDueDate());
+            } catch (Exception e) {
+                return "Invalid due date format, expected yyyy-MM-dd";
+            }
+
+            // Validate the due date: ensure it is in the future or present
+            LocalDateTime dueDateTime = LocalDateTime.of(dueDate, LocalDateTime.now().toLocalTime());
+            if (dueDateTime.isBefore(LocalDateTime.now())) {
+                return "Due date must be in the future or present";
+            }
+        }
+
+        // Validate the priority if it's provided: ensure it is between 1 and 5
+        if (updateRequest.getPriority() != null
+                && (updateRequest.getPriority() < 1 || updateRequest.getPriority() > 5)) {
+            return "Priority must be between 1 and 5";
+        }
+        return null;
+    }
+
+    /**
+     * Runs bean validation on one entry of a batch request.
+     *
+     * @param entry the batch entry to validate
+     * @return the joined violation messages, or null if the entry is valid
+     */
+    private String validateEntry(Object entry) {
+        if (entry == null) {
+            return "Batch entry must not be null";
+        }
+        Set<ConstraintViolation<Object>> violations = validator.validate(entry);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    /**
+     * Builds the 400 response for a batch exceeding the configured size.
+     *
+     * @return the error response
+     */
+    private <T> ResponseEntity<ApiResponse<T>> batchTooLarge() {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new ApiResponse<>(HttpStatus.BAD_REQUEST.value(),
+                        "Batch must contain between 1 and " + maxBatchItems + " entries", null));
+    }
+
+    /**
+     * Checks whether the request carries conditional GET headers.
+     *
+     * @param webRequest the current request
+     * @return true if If-None-Match or If-Modified-Since is present
+     */
+    private boolean isConditionalRequest(WebRequest webRequest) {
+        return webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || webRequest.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
+    /**
+     * Builds the strong ETag of a single task from its optimistic-lock version.
+     *
+     * @param id      the ID of the task
+     * @param version the version of the task
+     * @return the ETag value
+     */
+    private static String itemETag(Long id, Long version) {
+        return "\"" + id + "-" + version + "\"";
+    }
+
+    /**
+     * Extracts the expected version from an If-Match header produced by {@link #itemETag}.
+     *
+     * @param id      the ID of the task being updated
+     * @param ifMatch the If-Match header value (nullable)
+     * @return the expected version, or null for an unconditional update
+     * @throws InvalidRequestException if the header is not an ETag of this task
+     */
+    private static Long parseIfMatch(Long id, String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        String prefix = "\"" + id + "-";
+        if (!tag.startsWith(prefix) || !tag.endsWith("\"") || tag.length() <= prefix.length() + 1) {
+            throw new InvalidRequestException("If-Match must be an ETag of task " + id);
+        }
+        try {
+            return Long.parseLong(tag.substring(prefix.length(), tag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new InvalidRequestException("If-Match must be an ETag of task " + id, e);
+        }
+    }
+
+    /**
+     * Converts a validated update request into the patch of its changed fields.
+     *
+     * @param updateRequest the validated update request
+     * @return the patch to apply
+     */
+    private static TodoItemPatch toPatch(TodoItemUpdateRequestDTO updateRequest) {
+        TodoItemPatch patch = new TodoItemPatch();
+
+        // Set the due date, using the current time of day
+        if (updateRequest.getDueDate() != null && !updateRequest.getDueDate().isEmpty()) {
+            LocalDate dueDate = LocalDate.parse(updateRequest.getDueDate());
+            patch.setDueDate(LocalDateTime.of(dueDate, LocalDateTime.now().toLocalTime()));
+        }
+        patch.setPriority(updateRequest.getPriority());
+
+        // Update fields only if provided in the request and not empty
+        Optional.ofNullable(updateRequest.getTitle())
+                .filter(title -> !title.trim().isEmpty())
+                .ifPresent(patch::setTitle);
+
+        Optional.ofNullable(updateRequest.getDescription())
+                .filter(description -> !description.trim().isEmpty())
+                .ifPresent(patch::setDescription);
+
+        patch.setCompleted(updateRequest.getCompleted());
+        return patch;
+    }
+
+    /**
+     * Computes the stamp of a loaded listing from its own rows, so its ETag always describes the body it is sent with.
+     *
+     * @param tasks the tasks of the listing
+     * @return the count and latest updatedAt of the tasks
+     */
+    private static TodoListStamp stampOf(List<TodoItemResponseDTO> tasks) {
+        LocalDateTime lastUpdatedAt = null;
+        for (TodoItemResponseDTO task : tasks) {
+            if (task.getUpdatedAt() != null && (lastUpdatedAt == null || task.getUpdatedAt().isAfter(lastUpdatedAt))) {
+                lastUpdatedAt = task.getUpdatedAt();
+            }
+        }
+        return new TodoListStamp(tasks.size(), lastUpdatedAt);
+    }
+
+    /**
+     * Builds the strong ETag of a listing loaded at a published seq.
+     *
+     * @param seq the published seq read before the listing was loaded
+     * @return the ETag value
+     */
+    private static String listETag(long seq) {
+        return "\"seq-" + seq + "\"";
+    }
+
+    /**
+     * Builds the strong ETag of a filtered listing from its own rows, for listings loaded while
+     * changes were waiting to be published.
+     *
+     * @param stamp the count and latest updatedAt of the listing
+     * @return the ETag value
+     */
+    private static String listETag(TodoListStamp stamp) {
+        long lastUpdated = stamp.getLastUpdatedAt() != null ? toEpochMicros(stamp.getLastUpdatedAt()) : 0;
+        return "\"" + stamp.getCount() + "-" + lastUpdated + "\"";
+    }
+
+    private static long toEpochMicros(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + dateTime.getNano() / 1_000;
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1;
+    }
+
+    /**
+     * Get all tasks with optional filters, in the requested order.
+     *
+     * Range bounds accept an ISO date (the start of that day) or date-time; lower bounds are inclusive
+     * and upper bounds exclusive. When a cursor or limit is supplied the tasks are returned one page at a time,
+     * and the response carries the cursor of the next page while more tasks remain.
+     * Full listings are served from TaskListCache until a mutation invalidates them, and carry
+     * an ETag and Last-Modified so polling clients can revalidate with a 304. The ETag is the
+     * published change seq the listing was loaded at, so with the cache disabled a conditional
+     * request is still answered without loading the listing.
+     *
+     * @param priority    optional priority filter, one or more priorities
+     * @param completed   optional completion status filter
+     * @param dueFrom     optional lower bound of the due date
+     * @param dueTo       optional upper bound of the due date
+     * @param createdFrom optional lower bound of the creation time
+     * @param createdTo   optional upper bound of the creation time
+     * @param titlePrefix optional case-sensitive title prefix
+     * @param sort        optional ordering, such as dueDate,asc (defaults to updatedAt,desc)
+     * @param cursor      optional cursor returned by the previous page
+     * @param limit       optional page size
+     * @param webRequest  the current request, used for conditional GET handling
+     * @return the serialized list of filtered tasks, or an empty 304
+     */
+    @GetMapping
+    @ApiOperation(value = "Get all tasks", response = ApiResponse.class)
+    public ResponseEntity<byte[]> getTasks(
+            @ApiParam(value = "Filter by priority, comma-separated for several", required = false) @RequestParam(required = false) List<Integer> priority,
+            @ApiParam(value = "Filter by completion status", required = false) @RequestParam(required = false) Boolean completed,
+            @ApiParam(value = "Due on or after this date or date-time", required = false) @RequestParam(required = false) String dueFrom,
+            @ApiParam(value = "Due before this date or date-time", required = false) @RequestParam(required = false) String dueTo,
+            @ApiParam(value = "Created on or after this date or date-time", required = false) @RequestParam(required = false) String createdFrom,
+            @ApiParam(value = "Created before this date or date-time", required = false) @RequestParam(required = false) String createdTo,
+            @ApiParam(value = "Filter by title prefix", required = false) @RequestParam(required = false) String titlePrefix,
+            @ApiParam(value = "Sort key updatedAt, dueDate or createdAt, optionally followed by ,asc or ,desc", required = false) @RequestParam(required = false) String sort,
+            @ApiParam(value = "Cursor of the page to fetch", required = false) @RequestParam(required = false) String cursor,
+            @ApiParam(value = "Maximum number of tasks per page", required = false) @RequestParam(required = false) Integer limit,
+            WebRequest webRequest) {
+
+        // Invalid bounds, sort keys and ranges are rejected as bad requests
+        TodoQuery query = new TodoQuery();
+        query.setPriorities(priority);
+        query.setCompleted(completed);
+        query.setDueFrom(parseBound("dueFrom", dueFrom));
+        query.setDueTo(parseBound("dueTo", dueTo));
+        query.setCreatedFrom(parseBound("createdFrom", createdFrom));
+        query.setCreatedTo(parseBound("createdTo", createdTo));
+        query.setTitlePrefix(titlePrefix);
+        query.setSort(sort);
+        query.validate();
+
+        if (cursor != null || limit != null) {
+            return getTasksPage(query, cursor, limit);
+        }
+
+        // Without the cache, answer a conditional request from the published seq before loading anything
+        Long uncachedSeq = null;
+        if (!taskListCache.isEnabled()) {
+            uncachedSeq = taskListCache.settledSeq();
+            if (uncachedSeq != null && webRequest.checkNotModified(listETag(uncachedSeq))) {
+                return notModified();
+            }
+        }
+        Long knownSeq = uncachedSeq;
+
+        // Serve the serialized list and its validators from the cache until a mutation invalidates it,
+        // so a hit answers plain and conditional requests alike without a query
+        TaskListCache.Listing listing = taskListCache.get(query, () -> {
+            // Read before loading, so a change committed during the load moves the seq past the ETag
+            Long seq = knownSeq != null ? knownSeq : taskListCache.settledSeq();
+            // Fetch tasks with optional filters, projected straight into DTOs
+            List<TodoItemResponseDTO> taskDTOs = todoService.getTaskResponses(query);
+            TodoListStamp stamp = stampOf(taskDTOs);
+
+            // Serialize the response with task DTOs
+            ApiResponse<List<TodoItemResponseDTO>> response = new ApiResponse<>(
+                    HttpStatus.OK.value(),
+                    "Tasks retrieved successfully",
+                    taskDTOs
+            );
+            try {
+                return new TaskListCache.Listing(objectMapper.writeValueAsBytes(response),
+                        seq != null ? listETag(seq) : listETag(stamp), toEpochMillis(stamp.getLastUpdatedAt()));
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        // Sets the ETag and Last-Modified headers of the response
+        if (webRequest.checkNotModified(listing.getETag(), listing.getLastModified())) {
+            return notModified();
+        }
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(listing.getBody());
+    }
+
+    /**
+     * Get one page of tasks, seeking past the given cursor.
+     *
+     * @param query  the filter and ordering
+     * @param cursor optional cursor returned by the previous page
+     * @param limit  optional page size
+     * @return the serialized page of tasks and the cursor of the next page
+     */
+    private ResponseEntity<byte[]> getTasksPage(TodoQuery query, String cursor, Integer limit) {
+
+        int pageSize = limit != null ? limit : DEFAULT_PAGE_SIZE;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            return json(HttpStatus.BAD_REQUEST, new ApiResponse<>(HttpStatus.BAD_REQUEST.value(),
+                    "Limit must be between 1 and " + MAX_PAGE_SIZE, null));
+        }
+
+        // Decode the cursor; malformed cursors are rejected as bad requests
+        TodoCursor position = cursor != null && !cursor.isEmpty() ? TodoCursor.decode(cursor) : null;
+
+        Slice<TodoItemResponseDTO> page = todoService.getTaskResponsesPage(query, position, pageSize);
+        List<TodoItemResponseDTO> taskDTOs = page.getContent();
+
+        // Only hand out a next cursor when another page exists
+        String nextCursor = page.hasNext()
+                ? TodoCursor.after(page.getContent().get(page.getNumberOfElements() - 1), query.getSortKey()).encode()
+                : null;
+
+        ApiResponse<List<TodoItemResponseDTO>> response = new ApiResponse<>(
+                HttpStatus.OK.value(),
+                "Tasks retrieved successfully",
+                taskDTOs,
+                nextCursor
         );
+        return json(HttpStatus.OK, response);
     }
 
     /**
-     * Get all tasks with optional filters for priority and completion status.
+     * Serializes a response body up front, as the full listing is served from TaskListCache, so
+     * every response of GET /api/todos has the same body type.
+     *
+     * @param status the status of the response
+     * @param body   the body to serialize
+     * @return the response with the JSON body
+     */
+    private ResponseEntity<byte[]> json(HttpStatus status, Object body) {
+        try {
+            return ResponseEntity.status(status)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(objectMapper.writeValueAsBytes(body));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Builds the empty 304 answering a conditional GET. WebRequest.checkNotModified has already set
+     * its ETag and Last-Modified headers.
+     *
+     * @return the 304 response
+     */
+    private static <T> ResponseEntity<T> notModified() {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+    }
+
+    /**
+     * Parse a range bound given as an ISO date, meaning the start of that day, or an ISO date-time.
+     *
+     * @param name  the request parameter, for the error message
+     * @param value the bound (nullable)
+     * @return the parsed bound, or null when none was given
+     * @throws InvalidRequestException if the bound is neither a date nor a date-time
+     */
+    private static LocalDateTime parseBound(String name, String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        try {
+            return value.length() == 10 ? LocalDate.parse(value).atStartOfDay() : LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new InvalidRequestException(name + " must be an ISO date or date-time");
+        }
+    }
+
+    /**
+     * Get a task by its ID.
+     *
+     * The response carries an ETag derived from the task's version and a Last-Modified from its updatedAt.
+     * Conditional requests are answered with 304 after reading only those columns.
+     *
+     * @param id         the ID of the task to retrieve
+     * @param webRequest the current request, used for conditional GET handling
+     * @return the task as a response DTO, or an empty 304
+     */
+    @GetMapping("/{id}")
+    @ApiOperation(value = "Get a task by ID", response = ApiResponse.class)
+    public ResponseEntity<ApiResponse<TodoItemResponseDTO>> getTask(
+            @ApiParam(value = "ID of the task to retrieve", required = true) @PathVariable Long id,
+            WebRequest webRequest) {
+
+        // Answer conditional requests before the entity is loaded
+        if (isConditionalRequest(webRequest)) {
+            TodoVersionStamp stamp = todoService.getTaskVersionStamp(id);
+            if (stamp != null && webRequest.checkNotModified(itemETag(id, stamp.getVersion()),
+                    toEpochMillis(stamp.getUpdatedAt()))) {
+                return notModified();
+            }
+        }
+
+        TodoItemSnapshot task = todoService.getTaskById(id);
+
+        // Handle task not found
+        if (task == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ApiResponse<>(HttpStatus.NOT_FOUND.value(), "Task not found", null));
+        }
+
+        // Sets the ETag and Last-Modified headers of the response
+        if (webRequest.checkNotModified(itemETag(id, task.getVersion()), toEpochMillis(task.getUpdatedAt()))) {
+            return notModified();
+        }
+
+        ApiResponse<TodoItemResponseDTO> response = new ApiResponse<>(
+                HttpStatus.OK.value(),
+                "Task retrieved successfully",
+                TodoItemResponseDTO.from(task)
+        );
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Export tasks with optional filters as newline-delimited JSON.
+     *
+     * Each task is written to the response as soon as it is read from the database,
+     * so the export never holds the full result set in memory.
      *
      * @param priority  optional priority filter
      * @param completed optional completion status filter
-     * @return a list of filtered tasks
+     * @return a streaming body writing one task per line
      */
-    @GetMapping
-    @ApiOperation(value = "Get all tasks", response = ApiResponse.class)
-    public ResponseEntity<ApiResponse<List<TodoItemResponseDTO>>> getTasks(
+    @GetMapping(value = "/export", produces = NDJSON_MEDIA_TYPE)
+    @ApiOperation(value = "Export tasks as newline-delimited JSON")
+    public ResponseEntity<StreamingResponseBody> exportTasks(
+            @ApiParam(value = "Filter by priority", required = false) @RequestParam(required = false) Integer priority,
+            @ApiParam(value = "Filter by completion status", required = false) @RequestParam(required = false) Boolean completed) {
+
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        StreamingResponseBody body = outputStream -> {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Lines are delimited by the newline alone, not Jackson's default space between root values
+            generator.setRootValueSeparator(null);
+
+            // Write each task as its own line while the rows are streamed
+            todoService.streamTasks(priority, completed, task -> {
+                try {
+                    writer.writeValue(generator, convertToResponseDTO(task));
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generator.close();
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON_MEDIA_TYPE))
+                .body(body);
+    }
+
+    /**
+     * Get the task changes published after a position in the change stream.
+     *
+     * Consumers follow the stream by passing the returned nextCursor as since. With waitMs the
+     * request is held until a change is published or the wait runs out, without holding a thread.
+     *
+     * @param since  the seq of the last change already seen; 0 for the start of the retained stream
+     * @param limit  optional maximum number of changes
+     * @param waitMs optional time to wait for a change when there is none yet
+     * @return the changes in seq order, answered once there are any or the wait is over
+     */
+    @GetMapping("/changes")
+    @ApiOperation(value = "Get task changes after a position", response = ApiResponse.class)
+    public DeferredResult<ResponseEntity<ApiResponse<List<TodoChangeDTO>>>> getChanges(
+            @ApiParam(value = "Seq of the last change already seen", required = false) @RequestParam(defaultValue = "0") long since,
+            @ApiParam(value = "Maximum number of changes", required = false) @RequestParam(required = false) Integer limit,
+            @ApiParam(value = "Milliseconds to wait for a change", required = false) @RequestParam(defaultValue = "0") long waitMs) {
+
+        int pageSize = limit != null ? limit : MAX_PAGE_SIZE;
+        if (since < 0 || pageSize < 1 || pageSize > MAX_PAGE_SIZE || waitMs < 0 || waitMs > maxChangesWaitMillis) {
+            throw new InvalidRequestException("since must be at least 0, limit between 1 and " + MAX_PAGE_SIZE
+                    + " and waitMs between 0 and " + maxChangesWaitMillis);
+        }
+
+        DeferredResult<ResponseEntity<ApiResponse<List<TodoChangeDTO>>>> result =
+                new DeferredResult<>(waitMs > 0 ? waitMs : null, () -> changesResponse(Collections.emptyList(), since));
+
+        // A consumer that fell behind the retention period must re-read the task list
+        if (changeFeed.isExpired(since)) {
+            result.setResult(ResponseEntity.status(HttpStatus.GONE)
+                    .body(new ApiResponse<>(HttpStatus.GONE.value(),
+                            "Changes after " + since + " are no longer retained", null)));
+            return result;
+        }
+
+        List<TodoChange> changes = changeFeed.read(since, pageSize);
+        if (!changes.isEmpty() || waitMs == 0) {
+            result.setResult(changesResponse(changes, since));
+            return result;
+        }
+
+        Runnable cancel = changeFeed.await(since, pageSize, published -> result.setResult(changesResponse(published, since)));
+        result.onCompletion(cancel);
+        return result;
+    }
+
+    /**
+     * Stream task changes as server-sent events, starting after since or the Last-Event-ID
+     * of a reconnecting client. Each event is named "change", has the change's seq as its id
+     * and a TodoChangeDTO as its data.
+     *
+     * @param since       the seq of the last change already seen
+     * @param lastEventId the id of the last event received before reconnecting
+     * @return the emitter of the event stream
+     */
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ApiOperation(value = "Stream task changes as server-sent events")
+    public ResponseEntity<SseEmitter> streamChanges(
+            @ApiParam(value = "Seq of the last change already seen", required = false) @RequestParam(required = false) Long since,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+
+        long position = lastEventId != null ? lastEventId : since != null ? since : 0L;
+        if (position < 0) {
+            throw new InvalidRequestException("since must be at least 0");
+        }
+        if (changeFeed.isExpired(position)) {
+            return ResponseEntity.status(HttpStatus.GONE).build();
+        }
+
+        SseEmitter emitter = new SseEmitter(changesSseTimeoutMillis);
+        changeFeed.subscribe(position, emitter);
+        return ResponseEntity.ok(emitter);
+    }
+
+    /**
+     * Stream live events for the tasks matching a filter as server-sent events.
+     *
+     * Events are pushed as tasks are created, updated, deleted or completed by the sweep, so a
+     * dashboard can load the list once and apply the events instead of polling it.
+     *
+     * @param priority  optional priority filter
+     * @param completed optional completion status filter
+     * @return the emitter of the event stream, or 503 when the server has no room for another stream
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ApiOperation(value = "Stream live task events as server-sent events")
+    public ResponseEntity<SseEmitter> streamTaskEvents(
             @ApiParam(value = "Filter by priority", required = false) @RequestParam(required = false) Integer priority,
             @ApiParam(value = "Filter by completion status", required = false) @RequestParam(required = false) Boolean completed) {
 
-        // Fetch tasks with optional filters
-        List<TodoItem> tasks = todoService.getTasks(priority, completed);
+        SseEmitter emitter = taskEventHub.subscribe(priority, completed);
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok(emitter);
+    }
+
+    /**
+     * Get aggregate task counts: open and completed tasks by priority, overdue tasks and tasks
+     * completed today. The counts are kept in memory by TaskStatistics, so no rows are read.
+     *
+     * @return the task counts, or 503 while they are loading or when statistics are disabled
+     */
+    @GetMapping("/stats")
+    @ApiOperation(value = "Get aggregate task counts", response = ApiResponse.class)
+    public ResponseEntity<ApiResponse<TaskStatsDTO>> getStatistics() {
+        if (taskStatistics == null || !taskStatistics.isReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(new ApiResponse<>(HttpStatus.SERVICE_UNAVAILABLE.value(), "Statistics are not available", null));
+        }
+        ApiResponse<TaskStatsDTO> response = new ApiResponse<>(
+                HttpStatus.OK.value(),
+                "Statistics retrieved successfully",
+                taskStatistics.getStatistics()
+        );
+        return ResponseEntity.ok(response);
+    }
 
-        // Convert entities to DTOs
-        List<TodoItemResponseDTO> taskDTOs = tasks.stream()
-                .map(this::convertToResponseDTO)
+    /**
+     * Search tasks by the words of their title and description, best match first.
+     *
+     * Every query term must match; a word ending in {@code *} matches any word it is a prefix of.
+     * Title matches rank above description matches. The ranking comes from the in-memory
+     * TaskSearchIndex, and the tasks are then read in one query.
+     *
+     * @param q     the search query
+     * @param limit optional maximum number of tasks
+     * @return the matching tasks with their scores, or 503 when search is disabled
+     */
+    @GetMapping("/search")
+    @ApiOperation(value = "Search tasks by title and description", response = ApiResponse.class)
+    public ResponseEntity<ApiResponse<List<TaskSearchHitDTO>>> searchTasks(
+            @ApiParam(value = "Search terms; a term ending in * matches as a prefix", required = true) @RequestParam String q,
+            @ApiParam(value = "Maximum number of tasks", required = false) @RequestParam(required = false) Integer limit) {
+
+        if (taskSearchIndex == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(new ApiResponse<>(HttpStatus.SERVICE_UNAVAILABLE.value(), "Search is disabled", null));
+        }
+        int maxHits = limit != null ? limit : DEFAULT_SEARCH_LIMIT;
+        if (maxHits < 1 || maxHits > MAX_PAGE_SIZE) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse<>(HttpStatus.BAD_REQUEST.value(),
+                            "Limit must be between 1 and " + MAX_PAGE_SIZE, null));
+        }
+
+        List<SearchHit> hits = taskSearchIndex.search(q, maxHits);
+        Map<Long, Double> scores = new HashMap<>();
+        hits.forEach(hit -> scores.put(hit.getId(), hit.getScore()));
+
+        // Tasks deleted since they were ranked are left out
+        List<Long> ids = hits.stream().map(SearchHit::getId).collect(Collectors.toList());
+        List<TaskSearchHitDTO> hitDTOs = (ids.isEmpty() ? Collections.<TodoItem>emptyList() : todoService.getTasksByIds(ids))
+                .stream()
+                .map(task -> new TaskSearchHitDTO(scores.get(task.getId()), convertToResponseDTO(task)))
                 .collect(Collectors.toList());
 
-        // Return response with task DTOs
-        ApiResponse<List<TodoItemResponseDTO>> response = new ApiResponse<>(
+        ApiResponse<List<TaskSearchHitDTO>> response = new ApiResponse<>(
                 HttpStatus.OK.value(),
-                "Tasks retrieved successfully",
-                taskDTOs
+                taskSearchIndex.isReady() ? "Tasks retrieved successfully" : "Search index is still loading; results may be incomplete",
+                hitDTOs
         );
-        return new ResponseEntity<>(response, HttpStatus.OK);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Builds the response for a list of changes; the next cursor is the seq of the last change,
+     * or since when there are none.
+     */
+    private static ResponseEntity<ApiResponse<List<TodoChangeDTO>>> changesResponse(List<TodoChange> changes, long since) {
+        List<TodoChangeDTO> changeDTOs = changes.stream()
+                .map(TodoChangeDTO::from)
+                .collect(Collectors.toList());
+        long nextCursor = changes.isEmpty() ? since : changes.get(changes.size() - 1).getSeq();
+        return ResponseEntity.ok(new ApiResponse<>(
+                HttpStatus.OK.value(),
+                "Changes retrieved successfully",
+                changeDTOs,
+                String.valueOf(nextCursor)
+        ));
     }
 
     /**
@@ -96,15 +791,11 @@ public class TodoController {
 
         // Ensure the dueDate is not in the past
         if (dueDate.isBefore(LocalDate.now())) {
-            throw new IllegalArgumentException("Due date must be in the future or present");
+            throw new InvalidRequestException("Due date must be in the future or present");
         }
 
         // Create a new task entity from the request DTO
-        TodoItem todoItem = new TodoItem();
-        todoItem.setTitle(todoItemCreateRequestDTO.getTitle());
-        todoItem.setDescription(todoItemCreateRequestDTO.getDescription());
-        todoItem.setDueDate(LocalDateTime.of(dueDate, LocalDateTime.now().toLocalTime()));
-        todoItem.setPriority(todoItemCreateRequestDTO.getPriority());
+        TodoItem todoItem = toEntity(todoItemCreateRequestDTO);
 
         // Save the task and convert it to a DTO
         TodoItem createdTask = todoService.createTask(todoItem);
@@ -122,7 +813,10 @@ public class TodoController {
     /**
      * Update an existing task by its ID.
      *
+     * Only the provided fields are written, with a single targeted UPDATE; no read-modify-write.
+     *
      * @param id            the ID of the task to update
+     * @param ifMatch       optional ETag of the version the update is conditional on
      * @param updateRequest the request body containing updated fields
      * @return the updated task as a response DTO
      */
@@ -130,79 +824,71 @@ public class TodoController {
     @ApiOperation(value = "Update an existing task", response = ApiResponse.class)
     public ResponseEntity<ApiResponse<TodoItemResponseDTO>> updateTask(
             @ApiParam(value = "ID of the task to update", required = true) @PathVariable Long id,
+            @ApiParam(value = "ETag of the expected task version", required = false) @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody TodoItemUpdateRequestDTO updateRequest) {
 
-        // Fetch the existing task
-        TodoItem existingTask = todoService.getTaskById(id);
-
-        // Handle task not found
-        if (existingTask == null) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(new ApiResponse<>(HttpStatus.NOT_FOUND.value(), "Task not found", null));
-        }
+        return applyPatch(id, ifMatch, updateRequest);
+    }
 
-        // Validate the due date if it's provided (not null or empty)
-        if (updateRequest.getDueDate() != null && !updateRequest.getDueDate().isEmpty()) {
-            LocalDate dueDate = null;
-            try {
-                // Parsing the string to LocalDate (yyyy-MM-dd format expected)
-                dueDate = LocalDate.parse(updateRequest.getDueDate());
-            } catch (Exception e) {
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                        .body(new ApiResponse<>(HttpStatus.BAD_REQUEST.value(), "Invalid due date format, expected yyyy-MM-dd", null));
-            }
+    /**
+     * Partially update an existing task by its ID.
+     *
+     * Only the provided fields are written, with a single UPDATE guarded by the version from
+     * If-Match when present; a stale version is rejected with 409.
+     *
+     * @param id            the ID of the task to update
+     * @param ifMatch       optional ETag of the version the update is conditional on
+     * @param updateRequest the request body containing the fields to change
+     * @return the updated task as a response DTO
+     */
+    @PatchMapping("/{id}")
+    @ApiOperation(value = "Partially update an existing task", response = ApiResponse.class)
+    public ResponseEntity<ApiResponse<TodoItemResponseDTO>> patchTask(
+            @ApiParam(value = "ID of the task to update", required = true) @PathVariable Long id,
+            @ApiParam(value = "ETag of the expected task version", required = false) @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody TodoItemUpdateRequestDTO updateRequest) {
 
-            // Set the time to the current time
-            LocalDateTime dueDateTime = LocalDateTime.of(dueDate, LocalDateTime.now().toLocalTime());
+        return applyPatch(id, ifMatch, updateRequest);
+    }
 
-            // Validate the due date: ensure it is in the future or present
-            if (dueDateTime.isBefore(LocalDateTime.now())) {
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                        .body(new ApiResponse<>(HttpStatus.BAD_REQUEST.value(), "Due date must be in the future or present", null));
-            }
+    /**
+     * Validates an update request and applies it as a targeted, optionally version-checked update.
+     *
+     * @param id            the ID of the task to update
+     * @param ifMatch       optional ETag of the version the update is conditional on
+     * @param updateRequest the request body containing the fields to change
+     * @return the updated task as a response DTO
+     */
+    private ResponseEntity<ApiResponse<TodoItemResponseDTO>> applyPatch(
+            Long id, String ifMatch, TodoItemUpdateRequestDTO updateRequest) {
 
-            // Update the due date if it's valid
-            existingTask.setDueDate(dueDateTime);
+        // Validate the provided fields before touching the task
+        String validationError = validateUpdate(updateRequest);
+        if (validationError != null) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse<>(HttpStatus.BAD_REQUEST.value(), validationError, null));
         }
 
-        // Validate the priority if it's provided (not null)
-        if (updateRequest.getPriority() != null) {
-            // Validate the priority: ensure it is between 1 and 5
-            if (updateRequest.getPriority() < 1 || updateRequest.getPriority() > 5) {
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                        .body(new ApiResponse<>(HttpStatus.BAD_REQUEST.value(), "Priority must be between 1 and 5", null));
-            }
+        // Write only the changed columns; a version mismatch surfaces as a 409
+        TodoItem updatedTask = todoService.patchTask(id, toPatch(updateRequest), parseIfMatch(id, ifMatch));
 
-            // Update the priority
-            existingTask.setPriority(updateRequest.getPriority());
+        // Handle task not found
+        if (updatedTask == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ApiResponse<>(HttpStatus.NOT_FOUND.value(), "Task not found", null));
         }
 
-        // Update fields only if provided in the request and not empty
-        Optional.ofNullable(updateRequest.getTitle())
-                .filter(title -> !title.trim().isEmpty())  // Check if title is not null or empty
-                .ifPresent(existingTask::setTitle);
-
-        Optional.ofNullable(updateRequest.getDescription())
-                .filter(description -> !description.trim().isEmpty())  // Check if description is not null or empty
-                .ifPresent(existingTask::setDescription);
-
-        Optional.ofNullable(updateRequest.getCompleted())
-                .ifPresent(existingTask::setCompleted);
-
-        // Save the updated task and convert it to a DTO
-        TodoItem updatedTask = todoService.updateTask(id, existingTask);
-
-        // Return response with the updated task
+        // Return response with the updated task and its new ETag
         ApiResponse<TodoItemResponseDTO> response = new ApiResponse<>(
                 HttpStatus.OK.value(),
                 "Task updated successfully",
                 convertToResponseDTO(updatedTask)
         );
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok()
+                .eTag(itemETag(id, updatedTask.getVersion()))
+                .body(response);
     }
 
-
-
     /**
      * Delete a task by its ID.
      *
@@ -225,4 +911,143 @@ public class TodoController {
         );
         return new ResponseEntity<>(response, HttpStatus.NO_CONTENT);
     }
+
+    /**
+     * Create many tasks in one request.
+     *
+     * Every entry is validated on its own; valid entries are saved in chunked transactions
+     * and each entry gets its own result, in request order.
+     *
+     * @param createRequests the tasks to create
+     * @return the result of each entry
+     */
+    @PostMapping("/batch")
+    @ApiOperation(value = "Create many tasks", response = ApiResponse.class)
+    public ResponseEntity<ApiResponse<List<BatchItemResultDTO<TodoItemResponseDTO>>>> createTasks(
+            @RequestBody List<TodoItemCreateRequestDTO> createRequests) {
+
+        if (createRequests.isEmpty() || createRequests.size() > maxBatchItems) {
+            return batchTooLarge();
+        }
+
+        List<BatchItemResultDTO<TodoItemResponseDTO>> results = new ArrayList<>(Collections.nCopies(createRequests.size(), null));
+        List<TodoItem> toCreate = new ArrayList<>();
+        List<Integer> toCreateIndexes = new ArrayList<>();
+
+        // Validate each entry and collect the valid ones
+        for (int index = 0; index < createRequests.size(); index++) {
+            TodoItemCreateRequestDTO createRequest = createRequests.get(index);
+            String validationError = validateEntry(createRequest);
+            if (validationError != null) {
+                results.set(index, new BatchItemResultDTO<>(index, null, HttpStatus.BAD_REQUEST.value(), validationError, null));
+            } else {
+                toCreate.add(toEntity(createRequest));
+                toCreateIndexes.add(index);
+            }
+        }
+
+        // Save the valid entries and record their results
+        List<TodoItem> created = todoService.createTasks(toCreate);
+        for (int i = 0; i < created.size(); i++) {
+            TodoItem task = created.get(i);
+            int index = toCreateIndexes.get(i);
+            results.set(index, new BatchItemResultDTO<>(index, task.getId(), HttpStatus.CREATED.value(),
+                    "Task created successfully", convertToResponseDTO(task)));
+        }
+
+        return ResponseEntity.ok(new ApiResponse<>(HttpStatus.OK.value(), "Batch processed", results));
+    }
+
+    /**
+     * Update many tasks in one request.
+     *
+     * Every entry is validated on its own; valid entries are applied in chunked transactions
+     * and each entry gets its own result, in request order.
+     *
+     * @param updateRequests the task IDs and the fields to update
+     * @return the result of each entry
+     */
+    @PutMapping("/batch")
+    @ApiOperation(value = "Update many tasks", response = ApiResponse.class)
+    public ResponseEntity<ApiResponse<List<BatchItemResultDTO<TodoItemResponseDTO>>>> updateTasks(
+            @RequestBody List<TodoItemBatchUpdateRequestDTO> updateRequests) {
+
+        if (updateRequests.isEmpty() || updateRequests.size() > maxBatchItems) {
+            return batchTooLarge();
+        }
+
+        List<BatchItemResultDTO<TodoItemResponseDTO>> results = new ArrayList<>(Collections.nCopies(updateRequests.size(), null));
+        Map<Long, Consumer<TodoItem>> updates = new LinkedHashMap<>();
+        Map<Long, Integer> updateIndexes = new HashMap<>();
+
+        // Validate each entry and collect the valid ones
+        for (int index = 0; index < updateRequests.size(); index++) {
+            TodoItemBatchUpdateRequestDTO updateRequest = updateRequests.get(index);
+            String validationError = validateEntry(updateRequest);
+            if (validationError == null) {
+                validationError = validateUpdate(updateRequest);
+            }
+            if (validationError == null && updates.containsKey(updateRequest.getId())) {
+                validationError = "Duplicate ID in batch";
+            }
+            if (validationError != null) {
+                Long id = updateRequest != null ? updateRequest.getId() : null;
+                results.set(index, new BatchItemResultDTO<>(index, id, HttpStatus.BAD_REQUEST.value(), validationError, null));
+            } else {
+                updates.put(updateRequest.getId(), toPatch(updateRequest)::applyTo);
+                updateIndexes.put(updateRequest.getId(), index);
+            }
+        }
+
+        // Apply the valid entries and record their results
+        Map<Long, TodoItem> updated = todoService.updateTasks(updates);
+        for (Map.Entry<Long, Integer> entry : updateIndexes.entrySet()) {
+            TodoItem task = updated.get(entry.getKey());
+            int index = entry.getValue();
+            results.set(index, task != null
+                    ? new BatchItemResultDTO<>(index, entry.getKey(), HttpStatus.OK.value(), "Task updated successfully", convertToResponseDTO(task))
+                    : new BatchItemResultDTO<>(index, entry.getKey(), HttpStatus.NOT_FOUND.value(), "Task not found", null));
+        }
+
+        return ResponseEntity.ok(new ApiResponse<>(HttpStatus.OK.value(), "Batch processed", results));
+    }
+
+    /**
+     * Delete many tasks in one request.
+     *
+     * Each entry gets its own result, in request order. An ID given more than once is deleted once:
+     * its first entry reports the deletion and the later ones report the task as not found, as if
+     * the entries had been applied one after another.
+     *
+     * @param ids the IDs of the tasks to delete
+     * @return the result of each entry
+     */
+    @DeleteMapping("/batch")
+    @ApiOperation(value = "Delete many tasks", response = ApiResponse.class)
+    public ResponseEntity<ApiResponse<List<BatchItemResultDTO<Void>>>> deleteTasks(
+            @RequestBody List<Long> ids) {
+
+        if (ids.isEmpty() || ids.size() > maxBatchItems) {
+            return batchTooLarge();
+        }
+
+        Set<Long> deleted = new HashSet<>(todoService.deleteTasks(ids.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList())));
+
+        List<BatchItemResultDTO<Void>> results = new ArrayList<>(ids.size());
+        for (int index = 0; index < ids.size(); index++) {
+            Long id = ids.get(index);
+            if (id == null) {
+                results.add(new BatchItemResultDTO<>(index, null, HttpStatus.BAD_REQUEST.value(), "ID is mandatory", null));
+            } else if (deleted.remove(id)) {
+                // Removed so that a repeat of the ID in the batch is reported as not found
+                results.add(new BatchItemResultDTO<>(index, id, HttpStatus.NO_CONTENT.value(), "Task deleted successfully", null));
+            } else {
+                results.add(new BatchItemResultDTO<>(index, id, HttpStatus.NOT_FOUND.value(), "Task not found", null));
+            }
+        }
+
+        return ResponseEntity.ok(new ApiResponse<>(HttpStatus.OK.value(), "Batch processed", results));
+    }
 }
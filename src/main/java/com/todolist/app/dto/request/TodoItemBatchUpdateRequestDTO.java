@@ -0,0 +1,32 @@
+package com.todolist.app.dto.request;
+
+import javax.validation.constraints.NotNull;
+
+/**
+ * DTO for one entry of a batch update.
+ * Carries the ID of the TodoItem alongside the optional fields to update.
+ */
+public class TodoItemBatchUpdateRequestDTO extends TodoItemUpdateRequestDTO {
+
+    @NotNull(message = "ID is mandatory")
+    private Long id;
+
+    // Default constructor for deserialization
+    public TodoItemBatchUpdateRequestDTO() {}
+
+    // Constructor for easy instantiation
+    public TodoItemBatchUpdateRequestDTO(Long id, String title, String description, String dueDate,
+                                         Integer priority, Boolean completed) {
+        super(title, description, dueDate, priority, completed);
+        this.id = id;
+    }
+
+    // Getters and Setters for encapsulation
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+}
@@ -10,6 +10,7 @@ public class ApiResponse<T> {
     private int statusCode;
     private String message;
     private T data;
+    private String nextCursor;
 
     // Constructor to initialize all fields
     public ApiResponse(int statusCode, String message, T data) {
@@ -18,6 +19,12 @@ public class ApiResponse<T> {
         this.data = data;
     }
 
+    // Constructor for paged responses carrying the cursor of the next page
+    public ApiResponse(int statusCode, String message, T data, String nextCursor) {
+        this(statusCode, message, data);
+        this.nextCursor = nextCursor;
+    }
+
     // Getters and Setters
     public int getStatusCode() {
         return statusCode;
@@ -42,4 +49,12 @@ public class ApiResponse<T> {
     public void setData(T data) {
         this.data = data;
     }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
 }
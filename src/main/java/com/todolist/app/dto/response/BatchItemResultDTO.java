@@ -0,0 +1,70 @@
+package com.todolist.app.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * DTO for the outcome of a single entry of a batch request.
+ * Results are reported in request order, identified by their index in the request.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResultDTO<T> {
+
+    private int index;
+    private Long id;
+    private int statusCode;
+    private String message;
+    private T data;
+
+    // Default constructor for deserialization
+    public BatchItemResultDTO() {}
+
+    // Constructor to initialize all fields
+    public BatchItemResultDTO(int index, Long id, int statusCode, String message, T data) {
+        this.index = index;
+        this.id = id;
+        this.statusCode = statusCode;
+        this.message = message;
+        this.data = data;
+    }
+
+    // Getters and Setters
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public void setStatusCode(int statusCode) {
+        this.statusCode = statusCode;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public T getData() {
+        return data;
+    }
+
+    public void setData(T data) {
+        this.data = data;
+    }
+}
@@ -0,0 +1,98 @@
+package com.todolist.app.dto.response;
+
+/**
+ * Metrics for one ID-range partition of a due-task sweep run.
+ */
+public class SweepPartitionReport {
+
+    /**
+     * How the partition ended.
+     */
+    public enum Status {
+        COMPLETED,
+        CANCELLED,
+        FAILED
+    }
+
+    private final int partition;
+    private final long fromId;
+    private final long toId;
+    private final long rowsScanned;
+    private final long rowsUpdated;
+    private final int batches;
+    private final int retries;
+    private final Status status;
+    private final long durationMillis;
+
+    // Constructor to initialize all fields
+    public SweepPartitionReport(int partition, long fromId, long toId, long rowsScanned, long rowsUpdated,
+                                int batches, int retries, Status status, long durationMillis) {
+        this.partition = partition;
+        this.fromId = fromId;
+        this.toId = toId;
+        this.rowsScanned = rowsScanned;
+        this.rowsUpdated = rowsUpdated;
+        this.batches = batches;
+        this.retries = retries;
+        this.status = status;
+        this.durationMillis = durationMillis;
+    }
+
+    // Getters
+    public int getPartition() {
+        return partition;
+    }
+
+    /**
+     * @return the lowest task ID of the partition, inclusive
+     */
+    public long getFromId() {
+        return fromId;
+    }
+
+    /**
+     * @return the highest task ID of the partition, inclusive
+     */
+    public long getToId() {
+        return toId;
+    }
+
+    public long getRowsScanned() {
+        return rowsScanned;
+    }
+
+    public long getRowsUpdated() {
+        return rowsUpdated;
+    }
+
+    public int getBatches() {
+        return batches;
+    }
+
+    /**
+     * @return the number of chunk transactions that were retried after a transient failure
+     */
+    public int getRetries() {
+        return retries;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "SweepPartitionReport{partition=" + partition
+                + ", ids=" + fromId + ".." + toId
+                + ", rowsScanned=" + rowsScanned
+                + ", rowsUpdated=" + rowsUpdated
+                + ", batches=" + batches
+                + ", retries=" + retries
+                + ", status=" + status
+                + ", durationMillis=" + durationMillis + '}';
+    }
+}
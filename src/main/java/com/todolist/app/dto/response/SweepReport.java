@@ -0,0 +1,71 @@
+package com.todolist.app.dto.response;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Metrics for a single run of the due-task sweep.
+ */
+public class SweepReport {
+
+    private final LocalDateTime cutoff;
+    private final long rowsScanned;
+    private final long rowsUpdated;
+    private final int batches;
+    private final long durationMillis;
+    private final List<SweepPartitionReport> partitions;
+
+    public SweepReport(LocalDateTime cutoff, long rowsScanned, long rowsUpdated, int batches, long durationMillis) {
+        this(cutoff, rowsScanned, rowsUpdated, batches, durationMillis, Collections.emptyList());
+    }
+
+    // Constructor to initialize all fields
+    public SweepReport(LocalDateTime cutoff, long rowsScanned, long rowsUpdated, int batches, long durationMillis,
+                       List<SweepPartitionReport> partitions) {
+        this.cutoff = cutoff;
+        this.rowsScanned = rowsScanned;
+        this.rowsUpdated = rowsUpdated;
+        this.batches = batches;
+        this.durationMillis = durationMillis;
+        this.partitions = List.copyOf(partitions);
+    }
+
+    // Getters
+    public LocalDateTime getCutoff() {
+        return cutoff;
+    }
+
+    public long getRowsScanned() {
+        return rowsScanned;
+    }
+
+    public long getRowsUpdated() {
+        return rowsUpdated;
+    }
+
+    public int getBatches() {
+        return batches;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    /**
+     * @return the metrics of each ID-range partition of the run, in partition order
+     */
+    public List<SweepPartitionReport> getPartitions() {
+        return partitions;
+    }
+
+    @Override
+    public String toString() {
+        return "SweepReport{cutoff=" + cutoff
+                + ", rowsScanned=" + rowsScanned
+                + ", rowsUpdated=" + rowsUpdated
+                + ", batches=" + batches
+                + ", partitions=" + partitions.size()
+                + ", durationMillis=" + durationMillis + '}';
+    }
+}
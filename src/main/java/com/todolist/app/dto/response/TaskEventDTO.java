@@ -0,0 +1,52 @@
+package com.todolist.app.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * DTO for a live task event pushed to server-sent event subscribers.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskEventDTO {
+
+    private String type;
+    private Long id;
+    private TodoItemResponseDTO task;
+
+    // Default constructor for deserialization
+    public TaskEventDTO() {}
+
+    // Constructor for easy instantiation
+    public TaskEventDTO(String type, Long id, TodoItemResponseDTO task) {
+        this.type = type;
+        this.id = id;
+        this.task = task;
+    }
+
+    // Getters and Setters
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    /**
+     * @return the new state of the task; absent for deleted and removed events
+     */
+    public TodoItemResponseDTO getTask() {
+        return task;
+    }
+
+    public void setTask(TodoItemResponseDTO task) {
+        this.task = task;
+    }
+}
@@ -0,0 +1,36 @@
+package com.todolist.app.dto.response;
+
+/**
+ * DTO for one task matching a search query.
+ */
+public class TaskSearchHitDTO {
+
+    private double score;
+    private TodoItemResponseDTO task;
+
+    // Default constructor for deserialization
+    public TaskSearchHitDTO() {}
+
+    // Constructor for easy instantiation
+    public TaskSearchHitDTO(double score, TodoItemResponseDTO task) {
+        this.score = score;
+        this.task = task;
+    }
+
+    // Getters and Setters
+    public double getScore() {
+        return score;
+    }
+
+    public void setScore(double score) {
+        this.score = score;
+    }
+
+    public TodoItemResponseDTO getTask() {
+        return task;
+    }
+
+    public void setTask(TodoItemResponseDTO task) {
+        this.task = task;
+    }
+}
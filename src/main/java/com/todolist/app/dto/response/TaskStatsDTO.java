@@ -0,0 +1,106 @@
+package com.todolist.app.dto.response;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * DTO for the aggregate task counts shown on dashboards.
+ */
+public class TaskStatsDTO {
+
+    private long total;
+    private long open;
+    private long completed;
+    private long overdue;
+    private long completedToday;
+    private Map<Integer, Long> openByPriority;
+    private Map<Integer, Long> completedByPriority;
+    private LocalDateTime asOf;
+
+    // Default constructor for deserialization
+    public TaskStatsDTO() {}
+
+    // Constructor for easy instantiation
+    public TaskStatsDTO(long overdue, long completedToday, Map<Integer, Long> openByPriority,
+                        Map<Integer, Long> completedByPriority, LocalDateTime asOf) {
+        this.open = openByPriority.values().stream().mapToLong(Long::longValue).sum();
+        this.completed = completedByPriority.values().stream().mapToLong(Long::longValue).sum();
+        this.total = open + completed;
+        this.overdue = overdue;
+        this.completedToday = completedToday;
+        this.openByPriority = openByPriority;
+        this.completedByPriority = completedByPriority;
+        this.asOf = asOf;
+    }
+
+    // Getters and Setters
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public long getOpen() {
+        return open;
+    }
+
+    public void setOpen(long open) {
+        this.open = open;
+    }
+
+    public long getCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(long completed) {
+        this.completed = completed;
+    }
+
+    /**
+     * @return the incomplete tasks due before the current minute
+     */
+    public long getOverdue() {
+        return overdue;
+    }
+
+    public void setOverdue(long overdue) {
+        this.overdue = overdue;
+    }
+
+    /**
+     * @return the completed tasks last updated today
+     */
+    public long getCompletedToday() {
+        return completedToday;
+    }
+
+    public void setCompletedToday(long completedToday) {
+        this.completedToday = completedToday;
+    }
+
+    public Map<Integer, Long> getOpenByPriority() {
+        return openByPriority;
+    }
+
+    public void setOpenByPriority(Map<Integer, Long> openByPriority) {
+        this.openByPriority = openByPriority;
+    }
+
+    public Map<Integer, Long> getCompletedByPriority() {
+        return completedByPriority;
+    }
+
+    public void setCompletedByPriority(Map<Integer, Long> completedByPriority) {
+        this.completedByPriority = completedByPriority;
+    }
+
+    public LocalDateTime getAsOf() {
+        return asOf;
+    }
+
+    public void setAsOf(LocalDateTime asOf) {
+        this.asOf = asOf;
+    }
+}
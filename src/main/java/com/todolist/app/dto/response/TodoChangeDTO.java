@@ -0,0 +1,81 @@
+package com.todolist.app.dto.response;
+
+import com.todolist.app.model.TodoChange;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for one entry of the task change stream.
+ */
+public class TodoChangeDTO {
+
+    private long seq;
+    private Long taskId;
+    private String type;
+    private Long version;
+    private LocalDateTime changedAt;
+
+    // Default constructor for deserialization
+    public TodoChangeDTO() {}
+
+    // Constructor for easy instantiation
+    public TodoChangeDTO(long seq, Long taskId, String type, Long version, LocalDateTime changedAt) {
+        this.seq = seq;
+        this.taskId = taskId;
+        this.type = type;
+        this.version = version;
+        this.changedAt = changedAt;
+    }
+
+    /**
+     * Creates the DTO for a published change.
+     *
+     * @param change the published change
+     * @return the corresponding TodoChangeDTO
+     */
+    public static TodoChangeDTO from(TodoChange change) {
+        return new TodoChangeDTO(change.getSeq(), change.getTaskId(), change.getType().name(),
+                change.getVersion(), change.getChangedAt());
+    }
+
+    // Getters and Setters
+    public long getSeq() {
+        return seq;
+    }
+
+    public void setSeq(long seq) {
+        this.seq = seq;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public void setTaskId(Long taskId) {
+        this.taskId = taskId;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+
+    public void setChangedAt(LocalDateTime changedAt) {
+        this.changedAt = changedAt;
+    }
+}
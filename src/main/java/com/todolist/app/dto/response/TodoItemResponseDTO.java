@@ -1,5 +1,8 @@
 package com.todolist.app.dto.response;
 
+import com.todolist.app.model.TodoItem;
+import com.todolist.app.model.TodoItemSnapshot;
+
 import java.time.LocalDateTime;
 
 /**
@@ -16,13 +19,15 @@ public class TodoItemResponseDTO {
     private int priority;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
 
     // Default constructor for deserialization
     public TodoItemResponseDTO() {}
 
     // Constructor for easy instantiation
     public TodoItemResponseDTO(Long id, String title, String description, LocalDateTime dueDate,
-                               boolean completed, int priority, LocalDateTime createdAt, LocalDateTime updatedAt) {
+                               boolean completed, int priority, LocalDateTime createdAt, LocalDateTime updatedAt,
+                               Long version) {
         this.id = id;
         this.title = title;
         this.description = description;
@@ -31,6 +36,47 @@ public class TodoItemResponseDTO {
         this.priority = priority;
         this.createdAt = createdAt;
         this.updatedAt = updatedAt;
+        this.version = version;
+    }
+
+    /**
+     * Creates the response DTO for a TodoItem entity.
+     *
+     * @param todoItem the TodoItem entity to convert
+     * @return the corresponding TodoItemResponseDTO
+     */
+    public static TodoItemResponseDTO from(TodoItem todoItem) {
+        return new TodoItemResponseDTO(
+                todoItem.getId(),
+                todoItem.getTitle(),
+                todoItem.getDescription(),
+                todoItem.getDueDate(),
+                todoItem.isCompleted(),
+                todoItem.getPriority(),
+                todoItem.getCreatedAt(),
+                todoItem.getUpdatedAt(),
+                todoItem.getVersion()
+        );
+    }
+
+    /**
+     * Creates the response DTO for a cached TodoItem.
+     *
+     * @param snapshot the cached copy of the TodoItem to convert
+     * @return the corresponding TodoItemResponseDTO
+     */
+    public static TodoItemResponseDTO from(TodoItemSnapshot snapshot) {
+        return new TodoItemResponseDTO(
+                snapshot.getId(),
+                snapshot.getTitle(),
+                snapshot.getDescription(),
+                snapshot.getDueDate(),
+                snapshot.isCompleted(),
+                snapshot.getPriority(),
+                snapshot.getCreatedAt(),
+                snapshot.getUpdatedAt(),
+                snapshot.getVersion()
+        );
     }
 
     // Getters and Setters
@@ -97,4 +143,12 @@ public class TodoItemResponseDTO {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
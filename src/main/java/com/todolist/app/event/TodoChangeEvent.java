@@ -0,0 +1,112 @@
+package com.todolist.app.event;
+
+import com.todolist.app.model.TodoItem;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Application event published after TodoItem rows have been created, updated, deleted
+ * or completed by the due-task sweep.
+ *
+ * Updates, deletions and completions also carry the state each task had before the change,
+ * so listeners can tell which filters a task has left without keeping their own copy.
+ */
+public class TodoChangeEvent {
+
+    /**
+     * The kind of mutation that produced the event.
+     */
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED,
+        COMPLETED
+    }
+
+    private final Type type;
+    private final List<Long> ids;
+    private final List<TodoItem> tasks;
+    private final Map<Long, TodoItemState> previous;
+
+    private TodoChangeEvent(Type type, List<Long> ids, List<TodoItem> tasks, Collection<TodoItemState> previous) {
+        this.type = type;
+        this.ids = Collections.unmodifiableList(ids);
+        this.tasks = Collections.unmodifiableList(tasks);
+        Map<Long, TodoItemState> byId = new LinkedHashMap<>(previous.size() * 2);
+        previous.forEach(state -> byId.put(state.getId(), state));
+        this.previous = Collections.unmodifiableMap(byId);
+    }
+
+    /**
+     * @param tasks the created tasks
+     * @return an event for the created tasks
+     */
+    public static TodoChangeEvent created(List<TodoItem> tasks) {
+        return new TodoChangeEvent(Type.CREATED, idsOf(tasks), tasks, Collections.emptyList());
+    }
+
+    /**
+     * @param previous the state of the updated tasks before the update
+     * @param tasks    the updated tasks, in their new state
+     * @return an event for the updated tasks
+     */
+    public static TodoChangeEvent updated(Collection<TodoItemState> previous, List<TodoItem> tasks) {
+        return new TodoChangeEvent(Type.UPDATED, idsOf(tasks), tasks, previous);
+    }
+
+    /**
+     * @param previous the state of the deleted tasks before the deletion
+     * @return an event for the deleted tasks
+     */
+    public static TodoChangeEvent deleted(Collection<TodoItemState> previous) {
+        return new TodoChangeEvent(Type.DELETED, statesToIds(previous), Collections.emptyList(), previous);
+    }
+
+    /**
+     * @param previous the state before the sweep of exactly the tasks its update completed, as returned
+     *                 by that update; tasks of the chunk it left alone are not included
+     * @return an event for the completed tasks
+     */
+    public static TodoChangeEvent completed(Collection<TodoItemState> previous) {
+        return new TodoChangeEvent(Type.COMPLETED, statesToIds(previous), Collections.emptyList(), previous);
+    }
+
+    private static List<Long> idsOf(List<TodoItem> tasks) {
+        return tasks.stream().map(TodoItem::getId).collect(Collectors.toList());
+    }
+
+    private static List<Long> statesToIds(Collection<TodoItemState> states) {
+        return states.stream().map(TodoItemState::getId).collect(Collectors.toList());
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * @return the IDs of the affected tasks
+     */
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    /**
+     * @return the new state of the affected tasks; empty for deletions and sweep completions
+     */
+    public List<TodoItem> getTasks() {
+        return tasks;
+    }
+
+    /**
+     * @param id the ID of an affected task
+     * @return the state of the task before the change, or null for creations and tasks that did not exist
+     */
+    public TodoItemState getPrevious(Long id) {
+        return previous.get(id);
+    }
+}
@@ -0,0 +1,64 @@
+package com.todolist.app.event;
+
+import com.todolist.app.model.TodoItem;
+
+import java.time.LocalDateTime;
+
+/**
+ * The columns of a TodoItem that listeners filter, count and version on, as they were before a change.
+ */
+public final class TodoItemState {
+
+    private final Long id;
+    private final Long version;
+    private final int priority;
+    private final boolean completed;
+    private final LocalDateTime dueDate;
+    private final LocalDateTime updatedAt;
+
+    public TodoItemState(Long id, Long version, int priority, boolean completed, LocalDateTime dueDate,
+                         LocalDateTime updatedAt) {
+        this.id = id;
+        this.version = version;
+        this.priority = priority;
+        this.completed = completed;
+        this.dueDate = dueDate;
+        this.updatedAt = updatedAt;
+    }
+
+    /**
+     * @param task the task, in the state to capture
+     * @return the state of the task
+     */
+    public static TodoItemState of(TodoItem task) {
+        return new TodoItemState(task.getId(), task.getVersion(), task.getPriority(), task.isCompleted(),
+                task.getDueDate(), task.getUpdatedAt());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public LocalDateTime getDueDate() {
+        return dueDate;
+    }
+
+    /**
+     * @return the last update time, or null if it is not known; always known for completed tasks
+     */
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
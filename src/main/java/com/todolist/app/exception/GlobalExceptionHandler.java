@@ -1,8 +1,10 @@
 package com.todolist.app.exception;
 
 import com.todolist.app.dto.response.ApiResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -30,5 +32,42 @@ public class GlobalExceptionHandler {
 
         return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
     }
-}
 
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<ApiResponse<?>> handleInvalidRequestException(InvalidRequestException ex) {
+        // Invalid client input such as malformed cursors is reported as a bad request
+        ApiResponse<?> response = new ApiResponse<>(
+                HttpStatus.BAD_REQUEST.value(),
+                ex.getMessage(),
+                null
+        );
+
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler({TaskConflictException.class, ObjectOptimisticLockingFailureException.class})
+    public ResponseEntity<ApiResponse<?>> handleConflictException(RuntimeException ex) {
+        // Concurrent modifications are reported as conflicts so the client can re-read and retry
+        ApiResponse<?> response = new ApiResponse<>(
+                HttpStatus.CONFLICT.value(),
+                "Task was modified by another request",
+                null
+        );
+
+        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(ServerAtCapacityException.class)
+    public ResponseEntity<ApiResponse<?>> handleServerAtCapacityException(ServerAtCapacityException ex) {
+        // Requests beyond the async execution limit are shed at once; the client may retry shortly
+        ApiResponse<?> response = new ApiResponse<>(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                ex.getMessage(),
+                null
+        );
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response);
+    }
+}
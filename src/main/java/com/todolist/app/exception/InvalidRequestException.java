@@ -0,0 +1,20 @@
+package com.todolist.app.exception;
+
+/**
+ * Thrown when a request parameter, header or body value is invalid, and reported as a bad request.
+ *
+ * Only input supplied by the client is rejected with this exception; an IllegalArgumentException
+ * raised elsewhere is a bug and is left to surface as a server error.
+ */
+public class InvalidRequestException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+
+    public InvalidRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
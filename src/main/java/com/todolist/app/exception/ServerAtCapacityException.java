@@ -0,0 +1,14 @@
+package com.todolist.app.exception;
+
+/**
+ * Thrown when a request arrives while the server already runs as many requests as it allows at once,
+ * and reported as 503 so the client retries later.
+ */
+public class ServerAtCapacityException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ServerAtCapacityException() {
+        super("Server is at capacity, retry later");
+    }
+}
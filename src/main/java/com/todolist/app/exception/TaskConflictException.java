@@ -0,0 +1,13 @@
+package com.todolist.app.exception;
+
+/**
+ * Thrown when a conditional update targets a version of a task that is no longer current.
+ */
+public class TaskConflictException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public TaskConflictException(Long id) {
+        super("Task " + id + " was modified by another request");
+    }
+}
@@ -0,0 +1,210 @@
+package com.todolist.app.json;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.BeanSerializerFactory;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.todolist.app.dto.response.TodoItemResponseDTO;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes TodoItemResponseDTO straight to the generator, in place of Jackson's reflective bean serializer.
+ *
+ * Registered with the application's ObjectMapper, so it serves the HTTP message converter, the cached
+ * list responses, the NDJSON export and the event streams alike. Field names are pre-encoded, and
+ * timestamps are formatted into a per-thread character buffer rather than through DateTimeFormatter,
+ * so a task is written without allocating intermediate Strings. The output is the same as the bean
+ * serializer's: fields in declaration order and timestamps as ISO_LOCAL_DATE_TIME.
+ *
+ * That only holds for the settings the application runs with. A mapper or writer configured to
+ * write dates as timestamps, to leave out null or default values, to rename properties or to give
+ * LocalDateTime a format gets the bean serializer instead, so the settings apply as they would
+ * without this class.
+ */
+@JsonComponent
+@ConditionalOnProperty(name = "todo.json.fast-serializer.enabled", havingValue = "true", matchIfMissing = true)
+public class TodoItemResponseSerializer extends JsonSerializer<TodoItemResponseDTO> {
+
+    private static final SerializableString ID = field("id");
+    private static final SerializableString TITLE = field("title");
+    private static final SerializableString DESCRIPTION = field("description");
+    private static final SerializableString DUE_DATE = field("dueDate");
+    private static final SerializableString COMPLETED = field("completed");
+    private static final SerializableString PRIORITY = field("priority");
+    private static final SerializableString CREATED_AT = field("createdAt");
+    private static final SerializableString UPDATED_AT = field("updatedAt");
+    private static final SerializableString VERSION = field("version");
+
+    /**
+     * Length of the longest timestamp written from the buffer: yyyy-MM-ddTHH:mm:ss.nnnnnnnnn.
+     */
+    private static final int MAX_DATE_TIME_LENGTH = 29;
+
+    private static final ThreadLocal<char[]> DATE_TIME_BUFFER =
+            ThreadLocal.withInitial(() -> new char[MAX_DATE_TIME_LENGTH]);
+
+    // The bean serializer for the last configuration that needed it
+    private volatile Fallback fallback;
+
+    @Override
+    public void serialize(TodoItemResponseDTO task, JsonGenerator generator, SerializerProvider serializers)
+            throws IOException {
+        if (!writesDefaultOutput(serializers)) {
+            beanSerializer(serializers).serialize(task, generator, serializers);
+            return;
+        }
+        generator.writeStartObject(task);
+        generator.writeFieldName(ID);
+        writeLong(generator, task.getId());
+        generator.writeFieldName(TITLE);
+        generator.writeString(task.getTitle());
+        generator.writeFieldName(DESCRIPTION);
+        generator.writeString(task.getDescription());
+        generator.writeFieldName(DUE_DATE);
+        writeDateTime(generator, task.getDueDate());
+        generator.writeFieldName(COMPLETED);
+        generator.writeBoolean(task.isCompleted());
+        generator.writeFieldName(PRIORITY);
+        generator.writeNumber(task.getPriority());
+        generator.writeFieldName(CREATED_AT);
+        writeDateTime(generator, task.getCreatedAt());
+        generator.writeFieldName(UPDATED_AT);
+        writeDateTime(generator, task.getUpdatedAt());
+        generator.writeFieldName(VERSION);
+        writeLong(generator, task.getVersion());
+        generator.writeEndObject();
+    }
+
+    @Override
+    public Class<TodoItemResponseDTO> handledType() {
+        return TodoItemResponseDTO.class;
+    }
+
+    /**
+     * @return true if the bean serializer would write the output of this class under the settings
+     * of the provider, which may differ per ObjectWriter
+     */
+    private static boolean writesDefaultOutput(SerializerProvider serializers) {
+        SerializationConfig config = serializers.getConfig();
+        if (serializers.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                || config.getPropertyNamingStrategy() != null) {
+            return false;
+        }
+        JsonInclude.Include inclusion = config.getDefaultPropertyInclusion(TodoItemResponseDTO.class).getValueInclusion();
+        if (inclusion != JsonInclude.Include.ALWAYS && inclusion != JsonInclude.Include.USE_DEFAULTS) {
+            return false;
+        }
+        JsonFormat.Value format = config.getDefaultPropertyFormat(LocalDateTime.class);
+        return !format.hasPattern() && !format.hasShape();
+    }
+
+    private JsonSerializer<Object> beanSerializer(SerializerProvider serializers) throws JsonMappingException {
+        SerializationConfig config = serializers.getConfig();
+        Fallback current = fallback;
+        if (current == null || current.config != config) {
+            // The bare factory knows none of the registered serializers, so it builds the bean serializer
+            // rather than finding this one; the serializers of the properties still come from the provider
+            JsonSerializer<Object> serializer = BeanSerializerFactory.instance.createSerializer(serializers,
+                    serializers.constructType(TodoItemResponseDTO.class));
+            if (serializer instanceof ResolvableSerializer) {
+                ((ResolvableSerializer) serializer).resolve(serializers);
+            }
+            current = new Fallback(config, serializer);
+            fallback = current;
+        }
+        return current.serializer;
+    }
+
+    private static void writeLong(JsonGenerator generator, Long value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value);
+        }
+    }
+
+    private static void writeDateTime(JsonGenerator generator, LocalDateTime value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else if (value.getYear() < 0 || value.getYear() > 9999) {
+            // Signed and five-digit years are rare enough to leave to the formatter
+            generator.writeString(value.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        } else {
+            char[] buffer = DATE_TIME_BUFFER.get();
+            generator.writeString(buffer, 0, formatDateTime(value, buffer));
+        }
+    }
+
+    /**
+     * Formats a timestamp of a four-digit year as ISO_LOCAL_DATE_TIME does: seconds always present,
+     * and the fraction of a second only when non-zero, without trailing zeros.
+     *
+     * @param value  the timestamp, with a year between 0 and 9999
+     * @param buffer receives the characters, at least MAX_DATE_TIME_LENGTH long
+     * @return the number of characters written
+     */
+    static int formatDateTime(LocalDateTime value, char[] buffer) {
+        int position = writeDigits(buffer, 0, value.getYear(), 4);
+        buffer[position++] = '-';
+        position = writeDigits(buffer, position, value.getMonthValue(), 2);
+        buffer[position++] = '-';
+        position = writeDigits(buffer, position, value.getDayOfMonth(), 2);
+        buffer[position++] = 'T';
+        position = writeDigits(buffer, position, value.getHour(), 2);
+        buffer[position++] = ':';
+        position = writeDigits(buffer, position, value.getMinute(), 2);
+        buffer[position++] = ':';
+        position = writeDigits(buffer, position, value.getSecond(), 2);
+
+        int fraction = value.getNano();
+        if (fraction != 0) {
+            int digits = 9;
+            while (fraction % 10 == 0) {
+                fraction /= 10;
+                digits--;
+            }
+            buffer[position++] = '.';
+            position = writeDigits(buffer, position, fraction, digits);
+        }
+        return position;
+    }
+
+    private static int writeDigits(char[] buffer, int position, int value, int digits) {
+        for (int i = position + digits - 1; i >= position; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return position + digits;
+    }
+
+    private static final class Fallback {
+        private final SerializationConfig config;
+        private final JsonSerializer<Object> serializer;
+
+        private Fallback(SerializationConfig config, JsonSerializer<Object> serializer) {
+            this.config = config;
+            this.serializer = serializer;
+        }
+    }
+
+    private static SerializableString field(String name) {
+        SerializedString serialized = new SerializedString(name);
+        // Encode eagerly so the first response does not pay for it
+        serialized.asQuotedUTF8();
+        serialized.asQuotedChars();
+        return serialized;
+    }
+}
@@ -0,0 +1,50 @@
+package com.todolist.app.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Records how many SQL statements each request issued, as the todo.db.queries distribution
+ * tagged by HTTP method and URI pattern.
+ */
+public class QueryCountInterceptor implements HandlerInterceptor {
+
+    /**
+     * Request attribute with the number of statements a handler issued on another thread, added to
+     * the count of the request thread. Set in the async execution mode.
+     */
+    public static final String HANDLER_QUERY_COUNT_ATTRIBUTE =
+            QueryCountInterceptor.class.getName() + ".HANDLER_QUERY_COUNT";
+
+    private final MeterRegistry meterRegistry;
+
+    public QueryCountInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        QueryCountStatementInspector.reset();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Object handlerCount = request.getAttribute(HANDLER_QUERY_COUNT_ATTRIBUTE);
+        int count = QueryCountStatementInspector.current()
+                + (handlerCount instanceof Integer ? (Integer) handlerCount : 0);
+        DistributionSummary.builder("todo.db.queries")
+                .description("SQL statements issued per request")
+                .baseUnit("statements")
+                .tag("method", request.getMethod())
+                .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                .register(meterRegistry)
+                .record(count);
+    }
+}
@@ -0,0 +1,45 @@
+package com.todolist.app.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate StatementInspector that counts the SQL statements prepared on the current thread.
+ * The count is reset and read per HTTP request by QueryCountInterceptor, to catch N+1 regressions.
+ * The last statement is kept for SlowQueryLogListener, which only sees execution timings.
+ */
+public class QueryCountStatementInspector implements StatementInspector {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+    private static final ThreadLocal<String> LAST_STATEMENT = new ThreadLocal<>();
+
+    /**
+     * Resets the statement count of the current thread.
+     */
+    public static void reset() {
+        COUNT.get()[0] = 0;
+    }
+
+    /**
+     * @return the number of statements prepared on the current thread since the last reset
+     */
+    public static int current() {
+        return COUNT.get()[0];
+    }
+
+    /**
+     * @return the SQL of the last statement prepared on the current thread, or null if there was none
+     */
+    public static String lastStatement() {
+        return LAST_STATEMENT.get();
+    }
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        LAST_STATEMENT.set(sql);
+        return sql;
+    }
+}
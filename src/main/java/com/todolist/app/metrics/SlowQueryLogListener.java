@@ -0,0 +1,73 @@
+package com.todolist.app.metrics;
+
+import org.hibernate.BaseSessionEventListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hibernate session listener that logs JDBC executions slower than a threshold.
+ *
+ * Only a sample of the slow executions is logged, and bind parameters never are, so the
+ * listener can stay on in production where per-statement SQL logging is switched off.
+ * Hibernate creates one instance per session; the settings are shared and set once by
+ * SlowQueryLogConfig before the session factory is built.
+ */
+public class SlowQueryLogListener extends BaseSessionEventListener {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Logger logger = LoggerFactory.getLogger(SlowQueryLogListener.class);
+
+    private static volatile long thresholdNanos = TimeUnit.MILLISECONDS.toNanos(200);
+
+    private static volatile double sampleRate = 1.0;
+
+    private long statementStart;
+
+    private long batchStart;
+
+    /**
+     * Sets the threshold and sample rate used by every listener instance.
+     *
+     * @param thresholdMillis executions taking longer than this are slow
+     * @param rate            fraction of slow executions to log, between 0 and 1
+     */
+    public static void configure(long thresholdMillis, double rate) {
+        thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+        sampleRate = rate;
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        check("Slow query", System.nanoTime() - statementStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        check("Slow batch", System.nanoTime() - batchStart);
+    }
+
+    private static void check(String kind, long elapsedNanos) {
+        if (elapsedNanos < thresholdNanos) {
+            return;
+        }
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        logger.warn("{} took {} ms: {}", kind, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                QueryCountStatementInspector.lastStatement());
+    }
+}
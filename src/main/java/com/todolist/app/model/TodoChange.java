@@ -0,0 +1,51 @@
+package com.todolist.app.model;
+
+import com.todolist.app.event.TodoChangeEvent;
+
+import java.time.LocalDateTime;
+
+/**
+ * A change to a single task, as recorded in the todo_changes outbox.
+ */
+public class TodoChange {
+
+    private final Long seq;
+    private final Long taskId;
+    private final TodoChangeEvent.Type type;
+    private final Long version;
+    private final LocalDateTime changedAt;
+
+    public TodoChange(Long seq, Long taskId, TodoChangeEvent.Type type, Long version, LocalDateTime changedAt) {
+        this.seq = seq;
+        this.taskId = taskId;
+        this.type = type;
+        this.version = version;
+        this.changedAt = changedAt;
+    }
+
+    /**
+     * @return the position of the change in the published stream, or null before it is published
+     */
+    public Long getSeq() {
+        return seq;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public TodoChangeEvent.Type getType() {
+        return type;
+    }
+
+    /**
+     * @return the version of the task after the change, or null for deletions
+     */
+    public Long getVersion() {
+        return version;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+}
@@ -1,17 +1,25 @@
 package com.todolist.app.model;
 
+import org.hibernate.annotations.DynamicUpdate;
+
 import javax.persistence.*;
 import java.time.LocalDateTime;
 
 /**
  * Entity representing a TodoItem.
+ *
+ * The table and its indexes are defined by the Flyway migrations in db/migration only; Hibernate
+ * does not generate schema (ddl-auto=none).
  */
 @Entity
 @Table(name = "todo_items")
+@DynamicUpdate
 public class TodoItem {
 
+    // Pooled sequence: one round trip allocates IDs for a whole JDBC batch of inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "todo_item_seq")
+    @SequenceGenerator(name = "todo_item_seq", sequenceName = "todo_item_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -20,7 +28,7 @@ public class TodoItem {
     @Column(nullable = false)
     private String description;
 
-    @Column(nullable = false)
+    @Column(name = "due_date", nullable = false)
     private LocalDateTime dueDate;
 
     @Column(nullable = false)
@@ -35,6 +43,11 @@ public class TodoItem {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Optimistic lock: incremented by every update, including bulk and targeted updates
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     // Constructors
     public TodoItem() {
         // Default constructor for JPA
@@ -47,6 +60,22 @@ public class TodoItem {
         this.priority = priority;
     }
 
+    /**
+     * Copies a task as it stands at the given version and update time. The copy is detached and
+     * only used to answer reads of updates that have not been written yet; it is never saved.
+     */
+    public TodoItem(TodoItem source, Long version, LocalDateTime updatedAt) {
+        this.id = source.id;
+        this.title = source.title;
+        this.description = source.description;
+        this.dueDate = source.dueDate;
+        this.completed = source.completed;
+        this.priority = source.priority;
+        this.createdAt = source.createdAt;
+        this.updatedAt = updatedAt;
+        this.version = version;
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -104,6 +133,10 @@ public class TodoItem {
         return updatedAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     // Lifecycle callbacks
     @PrePersist
     private void onCreate() {
@@ -0,0 +1,96 @@
+package com.todolist.app.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * The changed fields of a partial TodoItem update.
+ * A null field is left untouched.
+ */
+public class TodoItemPatch {
+
+    private String title;
+    private String description;
+    private LocalDateTime dueDate;
+    private Integer priority;
+    private Boolean completed;
+
+    // Getters and Setters
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public LocalDateTime getDueDate() {
+        return dueDate;
+    }
+
+    public void setDueDate(LocalDateTime dueDate) {
+        this.dueDate = dueDate;
+    }
+
+    public Integer getPriority() {
+        return priority;
+    }
+
+    public void setPriority(Integer priority) {
+        this.priority = priority;
+    }
+
+    public Boolean getCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(Boolean completed) {
+        this.completed = completed;
+    }
+
+    /**
+     * Sets the changed fields on a task.
+     *
+     * @param task the task to change
+     */
+    public void applyTo(TodoItem task) {
+        if (title != null) {
+            task.setTitle(title);
+        }
+        if (description != null) {
+            task.setDescription(description);
+        }
+        if (dueDate != null) {
+            task.setDueDate(dueDate);
+        }
+        if (priority != null) {
+            task.setPriority(priority);
+        }
+        if (completed != null) {
+            task.setCompleted(completed);
+        }
+    }
+
+    /**
+     * @return true if no field is changed
+     */
+    public boolean isEmpty() {
+        return title == null && description == null && dueDate == null && priority == null && completed == null;
+    }
+
+    @Override
+    public String toString() {
+        return "TodoItemPatch{title=" + title
+                + ", description=" + description
+                + ", dueDate=" + dueDate
+                + ", priority=" + priority
+                + ", completed=" + completed + '}';
+    }
+}
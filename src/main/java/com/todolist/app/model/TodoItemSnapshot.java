@@ -0,0 +1,78 @@
+package com.todolist.app.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * An immutable copy of a TodoItem, as held by the tasksById cache.
+ *
+ * Cached values are shared by every request reading the task, so they must not be managed
+ * entities that a caller could modify or re-attach.
+ */
+public final class TodoItemSnapshot {
+
+    private final Long id;
+    private final String title;
+    private final String description;
+    private final LocalDateTime dueDate;
+    private final boolean completed;
+    private final int priority;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+    private final Long version;
+
+    private TodoItemSnapshot(TodoItem task) {
+        this.id = task.getId();
+        this.title = task.getTitle();
+        this.description = task.getDescription();
+        this.dueDate = task.getDueDate();
+        this.completed = task.isCompleted();
+        this.priority = task.getPriority();
+        this.createdAt = task.getCreatedAt();
+        this.updatedAt = task.getUpdatedAt();
+        this.version = task.getVersion();
+    }
+
+    /**
+     * @param task the task, in the state to copy
+     * @return a copy of the task
+     */
+    public static TodoItemSnapshot of(TodoItem task) {
+        return new TodoItemSnapshot(task);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public LocalDateTime getDueDate() {
+        return dueDate;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+}
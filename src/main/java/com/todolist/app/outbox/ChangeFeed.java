@@ -0,0 +1,184 @@
+package com.todolist.app.outbox;
+
+import com.todolist.app.dto.response.TodoChangeDTO;
+import com.todolist.app.model.TodoChange;
+import com.todolist.app.repository.TodoChangeRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Delivers published changes to long-poll waiters and server-sent event subscribers.
+ *
+ * Waiters and subscribers are woken when this node's relay publishes, and by a periodic check
+ * of the highest published seq, which covers changes relayed by another node.
+ */
+@Component
+public class ChangeFeed {
+
+    private final TodoChangeRepository todoChangeRepository;
+    private final int maxBatch;
+    private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+    private final Queue<Subscriber> subscribers = new ConcurrentLinkedQueue<>();
+
+    private volatile long latestSeq = -1;
+
+    public ChangeFeed(TodoChangeRepository todoChangeRepository,
+                      @Value("${todo.changes.max-batch:500}") int maxBatch) {
+        if (maxBatch < 1) {
+            throw new IllegalArgumentException("todo.changes.max-batch must be at least 1");
+        }
+        this.todoChangeRepository = todoChangeRepository;
+        this.maxBatch = maxBatch;
+    }
+
+    /**
+     * @param since the seq after which changes are returned
+     * @param limit the maximum number of changes
+     * @return the published changes after since, in seq order
+     */
+    public List<TodoChange> read(long since, int limit) {
+        return todoChangeRepository.findSince(since, Math.min(limit, maxBatch));
+    }
+
+    /**
+     * @param since the seq a consumer wants to continue after
+     * @return true if changes after since may already have been purged
+     */
+    public boolean isExpired(long since) {
+        if (since == 0) {
+            return false;
+        }
+        Long oldest = todoChangeRepository.findMinSeq();
+        return oldest != null && since < oldest - 1;
+    }
+
+    /**
+     * Hands the next changes after since to the callback, as soon as there are any.
+     * The callback runs at most once, on the calling thread or on a publishing thread.
+     *
+     * @param since    the seq after which changes are wanted
+     * @param limit    the maximum number of changes
+     * @param callback receives a non-empty list of changes
+     * @return an action that stops waiting, for when the request ends first
+     */
+    public Runnable await(long since, int limit, Consumer<List<TodoChange>> callback) {
+        Waiter waiter = new Waiter(since, Math.min(limit, maxBatch), callback);
+        // Register before reading, so a change published in between is not missed
+        waiters.add(waiter);
+        offer(waiter);
+        return () -> waiters.remove(waiter);
+    }
+
+    /**
+     * Streams the changes after since to the emitter, then every change as it is published.
+     * Each change is sent as a "change" event whose id is its seq.
+     *
+     * @param since   the seq after which changes are sent
+     * @param emitter the emitter of the subscriber's response
+     */
+    public void subscribe(long since, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(since, emitter);
+        subscribers.add(subscriber);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> subscribers.remove(subscriber));
+        drain(subscriber);
+    }
+
+    /**
+     * Called by the relay after it published changes up to seq.
+     *
+     * @param seq the highest published seq
+     */
+    public void published(long seq) {
+        latestSeq = Math.max(latestSeq, seq);
+        waiters.forEach(this::offer);
+        subscribers.forEach(this::drain);
+    }
+
+    /**
+     * Picks up changes published by the relay of another node.
+     */
+    @Scheduled(fixedDelayString = "${todo.changes.poll-interval-ms:1000}")
+    public void poll() {
+        if (waiters.isEmpty() && subscribers.isEmpty()) {
+            return;
+        }
+        long seq = todoChangeRepository.findMaxSeq();
+        if (seq > latestSeq) {
+            published(seq);
+        }
+    }
+
+    private void offer(Waiter waiter) {
+        if (waiter.done.get()) {
+            return;
+        }
+        List<TodoChange> changes = read(waiter.since, waiter.limit);
+        if (!changes.isEmpty() && waiter.done.compareAndSet(false, true)) {
+            waiters.remove(waiter);
+            waiter.callback.accept(changes);
+        }
+    }
+
+    /**
+     * Sends the subscriber everything after its cursor. Synchronized per subscriber, so the
+     * initial catch-up and wake-ups never send a change twice or out of order.
+     */
+    private void drain(Subscriber subscriber) {
+        synchronized (subscriber) {
+            try {
+                List<TodoChange> changes;
+                do {
+                    changes = read(subscriber.cursor, maxBatch);
+                    for (TodoChange change : changes) {
+                        subscriber.emitter.send(SseEmitter.event()
+                                .id(String.valueOf(change.getSeq()))
+                                .name("change")
+                                .data(TodoChangeDTO.from(change), MediaType.APPLICATION_JSON));
+                        subscriber.cursor = change.getSeq();
+                    }
+                } while (changes.size() == maxBatch);
+            } catch (IOException | IllegalStateException e) {
+                // The client went away or the emitter completed
+                subscribers.remove(subscriber);
+                subscriber.emitter.completeWithError(e);
+            }
+        }
+    }
+
+    private static final class Waiter {
+
+        private final long since;
+        private final int limit;
+        private final Consumer<List<TodoChange>> callback;
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        private Waiter(long since, int limit, Consumer<List<TodoChange>> callback) {
+            this.since = since;
+            this.limit = limit;
+            this.callback = callback;
+        }
+    }
+
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+        private long cursor;
+
+        private Subscriber(long cursor, SseEmitter emitter) {
+            this.cursor = cursor;
+            this.emitter = emitter;
+        }
+    }
+}
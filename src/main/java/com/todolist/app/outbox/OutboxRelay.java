@@ -0,0 +1,123 @@
+package com.todolist.app.outbox;
+
+import com.todolist.app.repository.TodoChangeRepository;
+import com.todolist.app.service.JobLeaseService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Publishes the changes recorded in the outbox by giving them consecutive seq values.
+ *
+ * Outbox rows are numbered by their writing transactions before those commit, so a row with a
+ * lower id can become visible after one with a higher id; consumers reading by id could skip it.
+ * The relay instead numbers committed rows in the order it finds them, so the published stream
+ * only ever grows at its end. One node relays at a time, holding the outbox-relay lease.
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private static final String RELAY_LEASE = "outbox-relay";
+
+    private final TodoChangeRepository todoChangeRepository;
+    private final JobLeaseService jobLeaseService;
+    private final ChangeFeed changeFeed;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration leaseDuration;
+    private final Duration retention;
+
+    private volatile LocalDateTime leaseRenewAfter = LocalDateTime.MIN;
+
+    public OutboxRelay(TodoChangeRepository todoChangeRepository,
+                       JobLeaseService jobLeaseService,
+                       ChangeFeed changeFeed,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${todo.outbox.batch-size:500}") int batchSize,
+                       @Value("${todo.outbox.lease-ms:30000}") long leaseMillis,
+                       @Value("${todo.outbox.retention-ms:604800000}") long retentionMillis) {
+        if (batchSize < 1 || leaseMillis < 1 || retentionMillis < 1) {
+            throw new IllegalArgumentException("todo.outbox.batch-size, lease-ms and retention-ms must be at least 1");
+        }
+        this.todoChangeRepository = todoChangeRepository;
+        this.jobLeaseService = jobLeaseService;
+        this.changeFeed = changeFeed;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.leaseDuration = Duration.ofMillis(leaseMillis);
+        this.retention = Duration.ofMillis(retentionMillis);
+    }
+
+    /**
+     * Publishes every unpublished change, one batch per transaction, and wakes the change feed.
+     */
+    @Scheduled(fixedDelayString = "${todo.outbox.relay-interval-ms:200}")
+    public void relay() {
+        if (!holdLease()) {
+            return;
+        }
+        Long lastSeq = null;
+        while (true) {
+            Long batchLastSeq = transactionTemplate.execute(status -> publishBatch());
+            if (batchLastSeq == null) {
+                break;
+            }
+            lastSeq = batchLastSeq;
+        }
+        if (lastSeq != null) {
+            changeFeed.published(lastSeq);
+        }
+    }
+
+    /**
+     * Deletes published changes older than the retention period.
+     */
+    @Scheduled(cron = "${todo.outbox.purge-cron:0 30 * * * *}")
+    public void purge() {
+        if (!holdLease()) {
+            return;
+        }
+        int deleted = todoChangeRepository.deletePublishedBefore(LocalDateTime.now().minus(retention));
+        logger.info("Purged {} published changes older than {}", deleted, retention);
+    }
+
+    /**
+     * @return the seq of the last change published, or null if none was waiting
+     */
+    private Long publishBatch() {
+        List<Long> ids = todoChangeRepository.findUnpublishedIds(batchSize);
+        if (ids.isEmpty()) {
+            return null;
+        }
+        long firstSeq = todoChangeRepository.findMaxSeq() + 1;
+        todoChangeRepository.assignSeqs(ids, firstSeq);
+        return firstSeq + ids.size() - 1;
+    }
+
+    /**
+     * Takes or keeps the relay lease. A held lease is only renewed once half of it has run out,
+     * so the relay does not write to the leases table on every poll.
+     */
+    private boolean holdLease() {
+        LocalDateTime now = LocalDateTime.now();
+        if (now.isBefore(leaseRenewAfter)) {
+            return true;
+        }
+        if (jobLeaseService.tryAcquire(RELAY_LEASE, leaseDuration)) {
+            leaseRenewAfter = now.plus(leaseDuration.dividedBy(2));
+            return true;
+        }
+        leaseRenewAfter = LocalDateTime.MIN;
+        return false;
+    }
+}
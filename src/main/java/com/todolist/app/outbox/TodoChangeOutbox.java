@@ -0,0 +1,73 @@
+package com.todolist.app.outbox;
+
+import com.todolist.app.event.TodoChangeEvent;
+import com.todolist.app.model.TodoChange;
+import com.todolist.app.model.TodoItem;
+import com.todolist.app.repository.TodoChangeRepository;
+import com.todolist.app.repository.TodoCompletion;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Appends task changes to the todo_changes outbox.
+ *
+ * Every method must run inside the transaction that makes the change, so a change is recorded
+ * if and only if it commits. OutboxRelay publishes the recorded changes afterwards.
+ */
+@Component
+@Transactional(propagation = Propagation.MANDATORY)
+public class TodoChangeOutbox {
+
+    private final TodoChangeRepository todoChangeRepository;
+
+    public TodoChangeOutbox(TodoChangeRepository todoChangeRepository) {
+        this.todoChangeRepository = todoChangeRepository;
+    }
+
+    /**
+     * Record the changes described by an event. Created and updated tasks must have been
+     * flushed, so their versions are the ones being committed.
+     *
+     * @param event the change being made
+     * @return the event, for publishing once the transaction commits
+     */
+    public TodoChangeEvent append(TodoChangeEvent event) {
+        LocalDateTime now = LocalDateTime.now();
+        List<TodoChange> changes = new ArrayList<>(event.getIds().size());
+        if (event.getTasks().isEmpty()) {
+            for (Long id : event.getIds()) {
+                changes.add(new TodoChange(null, id, event.getType(), null, now));
+            }
+        } else {
+            for (TodoItem task : event.getTasks()) {
+                changes.add(new TodoChange(null, task.getId(), event.getType(), task.getVersion(), now));
+            }
+        }
+        if (!changes.isEmpty()) {
+            todoChangeRepository.insertAll(changes);
+        }
+        return event;
+    }
+
+    /**
+     * Record the tasks completed by a due-task update.
+     *
+     * @param completed   the tasks the update completed, with the versions it wrote
+     * @param completedAt the updatedAt the completing update wrote
+     */
+    public void appendCompletions(List<TodoCompletion> completed, LocalDateTime completedAt) {
+        List<TodoChange> changes = new ArrayList<>(completed.size());
+        for (TodoCompletion task : completed) {
+            changes.add(new TodoChange(null, task.getId(), TodoChangeEvent.Type.COMPLETED, task.getVersion(),
+                    completedAt));
+        }
+        if (!changes.isEmpty()) {
+            todoChangeRepository.insertAll(changes);
+        }
+    }
+}
@@ -0,0 +1,306 @@
+package com.todolist.app.push;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todolist.app.dto.response.TaskEventDTO;
+import com.todolist.app.dto.response.TodoItemResponseDTO;
+import com.todolist.app.event.TodoChangeEvent;
+import com.todolist.app.event.TodoItemState;
+import com.todolist.app.model.TodoItem;
+import com.todolist.app.repository.TodoRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fans task changes out to server-sent event subscribers, each filtered by priority and completion status.
+ *
+ * The TodoChangeEvent listener only queues the event for the dispatcher thread, so the thread that
+ * published it is not held up by serialization or by the read of tasks completed by the sweep.
+ * The dispatcher handles events in the order they were published: it serializes each event once,
+ * offers it to the bounded buffer of every matching subscriber and hands the subscriber to the
+ * sender pool. A subscriber whose buffer is full is too slow to keep up and is disconnected; its
+ * client reconnects and reloads. If the dispatcher itself falls dispatch-queue-size events behind,
+ * every subscriber is disconnected the same way. Idle subscribers hold no thread, only their
+ * emitter and an empty buffer.
+ *
+ * Events are named after the change: created, updated and completed carry the task, deleted only its ID.
+ * A subscriber is sent "removed" with the task ID when a change takes a task its filter matched before
+ * outside the filter; the client drops the task. Deletions only go to subscribers whose filter matched
+ * the task.
+ */
+@Component
+public class TaskEventHub {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskEventHub.class);
+
+    private final TodoRepository todoRepository;
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final long timeoutMillis;
+    private final ExecutorService dispatcher;
+    private final ExecutorService sender;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Counter evictions;
+
+    public TaskEventHub(TodoRepository todoRepository,
+                        ObjectMapper objectMapper,
+                        MeterRegistry meterRegistry,
+                        @Value("${todo.push.buffer-size:256}") int bufferSize,
+                        @Value("${todo.push.max-subscribers:10000}") int maxSubscribers,
+                        @Value("${todo.push.timeout-ms:1800000}") long timeoutMillis,
+                        @Value("${todo.push.sender-threads:2}") int senderThreads,
+                        @Value("${todo.push.dispatch-queue-size:10000}") int dispatchQueueSize) {
+        if (bufferSize < 1 || maxSubscribers < 1 || timeoutMillis < 1 || senderThreads < 1 || dispatchQueueSize < 1) {
+            throw new IllegalArgumentException("todo.push.buffer-size, max-subscribers, timeout-ms, sender-threads "
+                    + "and dispatch-queue-size must be at least 1");
+        }
+        this.todoRepository = todoRepository;
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMillis = timeoutMillis;
+        this.dispatcher = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(dispatchQueueSize), new CustomizableThreadFactory("sse-dispatcher-"));
+        this.sender = Executors.newFixedThreadPool(senderThreads, new CustomizableThreadFactory("sse-sender-"));
+        this.evictions = Counter.builder("todo.push.evictions")
+                .description("Event subscribers disconnected for falling behind")
+                .register(meterRegistry);
+        Gauge.builder("todo.push.subscribers", subscribers, Set::size)
+                .description("Connected task event subscribers")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens an event stream for the tasks matching the filter.
+     *
+     * @param priority  the priority level to filter by (nullable)
+     * @param completed the completion status to filter by (nullable)
+     * @return the emitter of the stream, or null if the hub is at its subscriber limit
+     */
+    public SseEmitter subscribe(Integer priority, Boolean completed) {
+        if (subscribers.size() >= maxSubscribers) {
+            return null;
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(priority, completed, emitter, bufferSize);
+        subscribers.add(subscriber);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> subscribers.remove(subscriber));
+        return emitter;
+    }
+
+    /**
+     * Queues a committed change for the dispatcher, which offers it to the matching subscribers.
+     *
+     * @param event the change that was committed
+     */
+    @EventListener
+    public void onTodoChange(TodoChangeEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        try {
+            dispatcher.execute(() -> dispatch(event));
+        } catch (RejectedExecutionException e) {
+            if (!dispatcher.isShutdown()) {
+                // Every subscriber misses this event, so all of them reconnect and reload
+                logger.warn("Task event dispatch fell behind; disconnecting {} subscribers", subscribers.size());
+                subscribers.forEach(this::evict);
+            }
+        }
+    }
+
+    /**
+     * Sends a comment to every subscriber, so proxies keep idle streams open and closed ones are detected.
+     */
+    @Scheduled(fixedDelayString = "${todo.push.heartbeat-ms:30000}")
+    public void heartbeat() {
+        subscribers.forEach(subscriber -> offer(subscriber, null, "heartbeat"));
+    }
+
+    /**
+     * Closes every stream and stops the sender pool on shutdown.
+     */
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+        dispatcher.shutdownNow();
+        sender.shutdownNow();
+    }
+
+    /**
+     * Offers a change to the matching subscribers, on the dispatcher thread.
+     */
+    private void dispatch(TodoChangeEvent event) {
+        try {
+            switch (event.getType()) {
+                case DELETED:
+                    for (Long id : event.getIds()) {
+                        TodoItemState previous = event.getPrevious(id);
+                        String data = null;
+                        for (Subscriber subscriber : subscribers) {
+                            if (subscriber.matched(previous)) {
+                                if (data == null) {
+                                    data = serialize(new TaskEventDTO("deleted", id, null));
+                                }
+                                offer(subscriber, "deleted", data);
+                            }
+                        }
+                    }
+                    break;
+                case COMPLETED:
+                    // Sweep completions carry only IDs; the tasks are read once for all subscribers
+                    fanOut("completed", todoRepository.findAllById(event.getIds()), event);
+                    break;
+                default:
+                    fanOut(event.getType() == TodoChangeEvent.Type.CREATED ? "created" : "updated",
+                            event.getTasks(), event);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Could not dispatch {} task event: {}", event.getType(), e.getMessage());
+        }
+    }
+
+    private void fanOut(String type, List<TodoItem> tasks, TodoChangeEvent event) {
+        for (TodoItem task : tasks) {
+            TodoItemState previous = event.getPrevious(task.getId());
+            String data = null;
+            String removed = null;
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.matches(task.getPriority(), task.isCompleted())) {
+                    if (data == null) {
+                        data = serialize(new TaskEventDTO(type, task.getId(), TodoItemResponseDTO.from(task)));
+                    }
+                    offer(subscriber, type, data);
+                } else if (subscriber.matched(previous)) {
+                    if (removed == null) {
+                        removed = serialize(new TaskEventDTO("removed", task.getId(), null));
+                    }
+                    offer(subscriber, "removed", removed);
+                }
+            }
+        }
+    }
+
+    /**
+     * Buffers an event for a subscriber and schedules delivery; a null name marks a comment.
+     * Disconnects the subscriber if its buffer is full.
+     */
+    private void offer(Subscriber subscriber, String name, String data) {
+        if (!subscriber.buffer.offer(new String[]{name, data})) {
+            evict(subscriber);
+            return;
+        }
+        if (subscriber.scheduled.compareAndSet(false, true)) {
+            try {
+                sender.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                subscriber.scheduled.set(false);
+            }
+        }
+    }
+
+    /**
+     * Writes a subscriber's buffered events, on a sender thread. Only one drain per subscriber runs at a time.
+     */
+    private void drain(Subscriber subscriber) {
+        try {
+            String[] message;
+            while ((message = subscriber.buffer.poll()) != null) {
+                SseEmitter.SseEventBuilder builder = message[0] == null
+                        ? SseEmitter.event().comment(message[1])
+                        : SseEmitter.event().name(message[0]).data(message[1]);
+                subscriber.emitter.send(builder);
+            }
+        } catch (IOException | IllegalStateException e) {
+            // The client went away or the emitter already completed
+            subscribers.remove(subscriber);
+            subscriber.buffer.clear();
+            return;
+        } finally {
+            subscriber.scheduled.set(false);
+        }
+        // An event offered after the last poll but before the flag was cleared still needs a drain
+        if (!subscriber.buffer.isEmpty() && subscriber.scheduled.compareAndSet(false, true)) {
+            try {
+                sender.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                subscriber.scheduled.set(false);
+            }
+        }
+    }
+
+    private void evict(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            evictions.increment();
+            subscriber.buffer.clear();
+            subscriber.emitter.complete();
+            logger.debug("Disconnected task event subscriber that fell {} events behind", bufferSize);
+        }
+    }
+
+    private String serialize(TaskEventDTO event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static final class Subscriber {
+
+        private final Integer priority;
+        private final Boolean completed;
+        private final SseEmitter emitter;
+        // Event name (null for a comment) and serialized data
+        private final Queue<String[]> buffer;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private Subscriber(Integer priority, Boolean completed, SseEmitter emitter, int bufferSize) {
+            this.priority = priority;
+            this.completed = completed;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        private boolean matches(int taskPriority, boolean taskCompleted) {
+            return (priority == null || priority == taskPriority)
+                    && (completed == null || completed == taskCompleted);
+        }
+
+        /**
+         * @param previous the state of a task before a change (nullable if it did not exist)
+         * @return true if the filter matched the task before the change
+         */
+        private boolean matched(TodoItemState previous) {
+            return previous != null && matches(previous.getPriority(), previous.isCompleted());
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.todolist.app.repository;
+
+import com.todolist.app.model.JobLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repository interface for accessing JobLease entities.
+ */
+public interface JobLeaseRepository extends JpaRepository<JobLease, String> {
+
+    /**
+     * Take or extend a lease if it is held by the owner or has expired.
+     * The check and the write are one UPDATE, so two nodes can never both succeed.
+     *
+     * @param name      the name of the lease
+     * @param owner     the node taking the lease
+     * @param now       the current time
+     * @param expiresAt the new expiry of the lease
+     * @return 1 if the lease is now held by the owner, 0 otherwise
+     */
+    @Modifying
+    @Query("update JobLease l set l.owner = :owner, l.expiresAt = :expiresAt "
+            + "where l.name = :name and (l.owner = :owner or l.expiresAt < :now)")
+    int take(@Param("name") String name, @Param("owner") String owner, @Param("now") LocalDateTime now,
+             @Param("expiresAt") LocalDateTime expiresAt);
+
+    /**
+     * Create a lease that has never been taken. Fails with a DataIntegrityViolationException
+     * if another node created it first.
+     *
+     * @param name      the name of the lease
+     * @param owner     the node taking the lease
+     * @param expiresAt the expiry of the lease
+     * @return 1 once the lease is created
+     */
+    @Modifying
+    @Query(value = "insert into job_leases (name, owner, expires_at) values (:name, :owner, :expiresAt)",
+            nativeQuery = true)
+    int create(@Param("name") String name, @Param("owner") String owner,
+               @Param("expiresAt") LocalDateTime expiresAt);
+
+    /**
+     * Expire a lease held by the owner.
+     *
+     * @param name  the name of the lease
+     * @param owner the node holding the lease
+     * @param now   the current time
+     * @return 1 if the lease was released, 0 if the owner did not hold it
+     */
+    @Modifying
+    @Query("update JobLease l set l.expiresAt = :now where l.name = :name and l.owner = :owner")
+    int release(@Param("name") String name, @Param("owner") String owner, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,110 @@
+package com.todolist.app.repository;
+
+import com.todolist.app.event.TodoChangeEvent;
+import com.todolist.app.model.TodoChange;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JDBC access to the todo_changes outbox.
+ *
+ * Writes join the surrounding JPA transaction, since JpaTransactionManager exposes its
+ * connection to JdbcTemplate.
+ */
+@Repository
+public class TodoChangeRepository {
+
+    private static final RowMapper<TodoChange> CHANGE_ROW_MAPPER = (rs, rowNum) -> new TodoChange(
+            rs.getLong("seq"),
+            rs.getLong("task_id"),
+            TodoChangeEvent.Type.valueOf(rs.getString("change_type")),
+            (Long) rs.getObject("version"),
+            rs.getTimestamp("changed_at").toLocalDateTime());
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TodoChangeRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Append unpublished changes with one JDBC batch.
+     *
+     * @param changes the changes to append; their seq is ignored
+     */
+    public void insertAll(List<TodoChange> changes) {
+        List<Object[]> rows = new ArrayList<>(changes.size());
+        for (TodoChange change : changes) {
+            rows.add(new Object[]{change.getTaskId(), change.getType().name(), change.getVersion(),
+                    Timestamp.valueOf(change.getChangedAt())});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO todo_changes (task_id, change_type, version, changed_at) "
+                + "VALUES (?, ?, ?, ?)", rows);
+    }
+
+    /**
+     * @param limit the maximum number of IDs
+     * @return the IDs of the oldest unpublished changes, in write order
+     */
+    public List<Long> findUnpublishedIds(int limit) {
+        return jdbcTemplate.queryForList("SELECT id FROM todo_changes WHERE seq IS NULL ORDER BY id LIMIT ?",
+                Long.class, limit);
+    }
+
+    /**
+     * @return the highest published seq, or 0 if nothing was published
+     */
+    public long findMaxSeq() {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(seq) FROM todo_changes", Long.class);
+        return max != null ? max : 0L;
+    }
+
+    /**
+     * @return the lowest retained published seq, or null if nothing was published
+     */
+    public Long findMinSeq() {
+        return jdbcTemplate.queryForObject("SELECT MIN(seq) FROM todo_changes", Long.class);
+    }
+
+    /**
+     * Publish changes by giving them consecutive seq values, in the given order.
+     *
+     * @param ids      the IDs of the changes to publish
+     * @param firstSeq the seq of the first change
+     */
+    public void assignSeqs(List<Long> ids, long firstSeq) {
+        List<Object[]> rows = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            rows.add(new Object[]{firstSeq + i, ids.get(i)});
+        }
+        jdbcTemplate.batchUpdate("UPDATE todo_changes SET seq = ? WHERE id = ?", rows);
+    }
+
+    /**
+     * @param since the seq after which changes are returned
+     * @param limit the maximum number of changes
+     * @return the published changes after since, in seq order
+     */
+    public List<TodoChange> findSince(long since, int limit) {
+        return jdbcTemplate.query("SELECT seq, task_id, change_type, version, changed_at FROM todo_changes "
+                + "WHERE seq > ? ORDER BY seq LIMIT ?", CHANGE_ROW_MAPPER, since, limit);
+    }
+
+    /**
+     * Delete published changes older than the cutoff. The latest change is always kept,
+     * so the relay continues numbering after it.
+     *
+     * @param cutoff the time before which published changes are deleted
+     * @return the number of changes deleted
+     */
+    public int deletePublishedBefore(LocalDateTime cutoff) {
+        return jdbcTemplate.update("DELETE FROM todo_changes WHERE seq < (SELECT MAX(seq) FROM todo_changes) "
+                + "AND changed_at < ?", Timestamp.valueOf(cutoff));
+    }
+}
@@ -0,0 +1,40 @@
+package com.todolist.app.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * A TodoItem row completed by a due-task update, as the update left it.
+ */
+public final class TodoCompletion {
+
+    private final Long id;
+    private final long version;
+    private final int priority;
+    private final LocalDateTime dueDate;
+
+    public TodoCompletion(Long id, long version, int priority, LocalDateTime dueDate) {
+        this.id = id;
+        this.version = version;
+        this.priority = priority;
+        this.dueDate = dueDate;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * @return the version the update wrote
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public LocalDateTime getDueDate() {
+        return dueDate;
+    }
+}
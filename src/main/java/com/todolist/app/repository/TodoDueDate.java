@@ -0,0 +1,13 @@
+package com.todolist.app.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of the ID and due date of a single TodoItem.
+ */
+public interface TodoDueDate {
+
+    Long getId();
+
+    LocalDateTime getDueDate();
+}
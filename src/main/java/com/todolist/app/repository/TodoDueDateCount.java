@@ -0,0 +1,13 @@
+package com.todolist.app.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of the number of tasks due at one due date.
+ */
+public interface TodoDueDateCount {
+
+    LocalDateTime getDueDate();
+
+    Long getTasks();
+}
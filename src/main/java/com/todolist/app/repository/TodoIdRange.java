@@ -0,0 +1,11 @@
+package com.todolist.app.repository;
+
+/**
+ * Projection of the lowest and highest TodoItem IDs.
+ */
+public interface TodoIdRange {
+
+    Long getMinId();
+
+    Long getMaxId();
+}
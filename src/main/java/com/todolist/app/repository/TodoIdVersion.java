@@ -0,0 +1,11 @@
+package com.todolist.app.repository;
+
+/**
+ * Projection of the ID and version of a TodoItem.
+ */
+public interface TodoIdVersion {
+
+    Long getId();
+
+    Long getVersion();
+}
@@ -0,0 +1,29 @@
+package com.todolist.app.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Aggregate version of a filtered task listing: how many tasks match and when the latest one changed.
+ * Any create, update or delete of a matching task changes at least one of the two.
+ */
+public class TodoListStamp {
+
+    private final long count;
+    private final LocalDateTime lastUpdatedAt;
+
+    public TodoListStamp(long count, LocalDateTime lastUpdatedAt) {
+        this.count = count;
+        this.lastUpdatedAt = lastUpdatedAt;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return the latest updatedAt of the matching tasks, or null if none match
+     */
+    public LocalDateTime getLastUpdatedAt() {
+        return lastUpdatedAt;
+    }
+}
@@ -0,0 +1,13 @@
+package com.todolist.app.repository;
+
+/**
+ * Projection of the number of tasks with one priority and completion status.
+ */
+public interface TodoPriorityCount {
+
+    Integer getPriority();
+
+    Boolean getCompleted();
+
+    Long getTasks();
+}
@@ -0,0 +1,149 @@
+package com.todolist.app.repository;
+
+import com.todolist.app.dto.response.TodoItemResponseDTO;
+import com.todolist.app.specification.TodoCursor;
+import com.todolist.app.specification.TodoQuery;
+
+import javax.persistence.Query;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiles TodoQuery filters into parameterized JPQL, once per query shape.
+ *
+ * A shape is the set of predicates a query uses and its ordering, without their values, so the
+ * handful of shapes clients actually send each map to one JPQL string. Hibernate caches query
+ * plans by their JPQL string, so a repeated shape skips both query construction here and plan
+ * compilation in Hibernate; only the parameters are bound per request.
+ */
+final class TodoQueryCompiler {
+
+    /**
+     * What the compiled query selects.
+     */
+    enum Kind {
+        /** The matching tasks, ordered. */
+        TASKS,
+        /** The matching tasks projected into response DTOs, ordered, without hydrating entities. */
+        RESPONSES
+    }
+
+    private static final Map<Kind, String> SELECTS = new EnumMap<>(Kind.class);
+
+    static {
+        SELECTS.put(Kind.TASKS, "select t from TodoItem t");
+        SELECTS.put(Kind.RESPONSES, "select new " + TodoItemResponseDTO.class.getName()
+                + "(t.id, t.title, t.description, t.dueDate, t.completed, t.priority, t.createdAt, t.updatedAt, "
+                + "t.version) from TodoItem t");
+    }
+
+    private final ConcurrentHashMap<String, String> plans = new ConcurrentHashMap<>();
+
+    /**
+     * @param query the filter and ordering
+     * @param seek  true to start after a cursor
+     * @param kind  what to select
+     * @return the JPQL for the shape of the query
+     */
+    String compile(TodoQuery query, boolean seek, Kind kind) {
+        String shape = kind + "|" + (seek ? "seek|" : "") + query.shapeKey();
+        return plans.computeIfAbsent(shape, key -> build(query, seek, kind));
+    }
+
+    /**
+     * Binds the values of a query to a compiled plan of its shape.
+     *
+     * @param jpqlQuery the query created from the compiled JPQL
+     * @param query     the filter and ordering
+     * @param cursor    the position to seek past (nullable when the plan does not seek)
+     */
+    static void bind(Query jpqlQuery, TodoQuery query, TodoCursor cursor) {
+        if (query.getPriorities().size() == 1) {
+            jpqlQuery.setParameter("priority", query.getPriorities().iterator().next());
+        } else if (!query.getPriorities().isEmpty()) {
+            jpqlQuery.setParameter("priorities", query.getPriorities());
+        }
+        if (query.getCompleted() != null) {
+            jpqlQuery.setParameter("completed", query.getCompleted());
+        }
+        if (query.getDueFrom() != null) {
+            jpqlQuery.setParameter("dueFrom", query.getDueFrom());
+        }
+        if (query.getDueTo() != null) {
+            jpqlQuery.setParameter("dueTo", query.getDueTo());
+        }
+        if (query.getCreatedFrom() != null) {
+            jpqlQuery.setParameter("createdFrom", query.getCreatedFrom());
+        }
+        if (query.getCreatedTo() != null) {
+            jpqlQuery.setParameter("createdTo", query.getCreatedTo());
+        }
+        if (query.getTitlePrefix() != null) {
+            jpqlQuery.setParameter("titlePrefix", escapeLike(query.getTitlePrefix()) + "%");
+        }
+        if (cursor != null) {
+            jpqlQuery.setParameter("cursorValue", cursor.getValue());
+            jpqlQuery.setParameter("cursorId", cursor.getId());
+        }
+    }
+
+    /**
+     * @return the number of compiled shapes
+     */
+    int size() {
+        return plans.size();
+    }
+
+    private static String build(TodoQuery query, boolean seek, Kind kind) {
+        List<String> predicates = new ArrayList<>();
+        if (query.getPriorities().size() == 1) {
+            predicates.add("t.priority = :priority");
+        } else if (!query.getPriorities().isEmpty()) {
+            predicates.add("t.priority in :priorities");
+        }
+        if (query.getCompleted() != null) {
+            predicates.add("t.completed = :completed");
+        }
+        if (query.getDueFrom() != null) {
+            predicates.add("t.dueDate >= :dueFrom");
+        }
+        if (query.getDueTo() != null) {
+            predicates.add("t.dueDate < :dueTo");
+        }
+        if (query.getCreatedFrom() != null) {
+            predicates.add("t.createdAt >= :createdFrom");
+        }
+        if (query.getCreatedTo() != null) {
+            predicates.add("t.createdAt < :createdTo");
+        }
+        if (query.getTitlePrefix() != null) {
+            predicates.add("t.title like :titlePrefix escape '\\'");
+        }
+
+        String key = "t." + query.getSortKey().getProperty();
+        String direction = query.isAscending() ? "asc" : "desc";
+        if (seek) {
+            // Keyset seek past the last (key, id) returned, in the direction of the ordering. The leading
+            // inclusive bound on the key alone gives H2 an index range to start from; the OR that breaks
+            // ties on id is then only checked against rows inside that range.
+            String comparison = query.isAscending() ? ">" : "<";
+            predicates.add(key + " " + comparison + "= :cursorValue");
+            predicates.add("(" + key + " " + comparison + " :cursorValue or t.id " + comparison + " :cursorId)");
+        }
+
+        StringBuilder jpql = new StringBuilder(SELECTS.get(kind));
+        if (!predicates.isEmpty()) {
+            jpql.append(" where ").append(String.join(" and ", predicates));
+        }
+        jpql.append(" order by ").append(key).append(' ').append(direction)
+                .append(", t.id ").append(direction);
+        return jpql.toString();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
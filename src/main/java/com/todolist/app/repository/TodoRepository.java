@@ -1,12 +1,206 @@
 package com.todolist.app.repository;
 
+import com.todolist.app.event.TodoItemState;
 import com.todolist.app.model.TodoItem;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 /**
  * Repository interface for accessing TodoItem entities.
  */
-public interface TodoRepository extends JpaRepository<TodoItem, Long>, JpaSpecificationExecutor<TodoItem> {
+public interface TodoRepository extends JpaRepository<TodoItem, Long>, TodoRepositoryCustom {
+
+    /**
+     * Find the IDs of incomplete tasks that are due at or before the cutoff, in ID order.
+     * Only IDs are selected so a sweep chunk never hydrates entities.
+     *
+     * @param completed the completion status to match; false for due tasks
+     * @param cutoff    the due date cutoff
+     * @param afterId   only IDs greater than this are returned (keyset position)
+     * @param toId      only IDs up to and including this are returned (end of the partition)
+     * @param pageable  the chunk size
+     * @return the IDs of the due tasks in the chunk
+     */
+    @Query("select t.id from TodoItem t where t.completed = :completed and t.dueDate <= :cutoff "
+            + "and t.id > :afterId and t.id <= :toId order by t.id")
+    List<Long> findDueTaskIds(@Param("completed") boolean completed, @Param("cutoff") LocalDateTime cutoff,
+                              @Param("afterId") Long afterId, @Param("toId") Long toId, Pageable pageable);
+
+    /**
+     * Find the IDs of incomplete tasks in one shard that are due at or before the cutoff, in ID order.
+     * A task belongs to shard {@code id % shardCount}.
+     *
+     * @param completed  the completion status to match; false for due tasks
+     * @param cutoff     the due date cutoff
+     * @param afterId    only IDs greater than this are returned (keyset position)
+     * @param toId       only IDs up to and including this are returned (end of the partition)
+     * @param shardCount the number of shards
+     * @param shard      the shard to select, from 0 to shardCount - 1
+     * @param pageable   the chunk size
+     * @return the IDs of the due tasks of the shard in the chunk
+     */
+    @Query("select t.id from TodoItem t where t.completed = :completed and t.dueDate <= :cutoff "
+            + "and t.id > :afterId and t.id <= :toId and mod(t.id, :shardCount) = :shard order by t.id")
+    List<Long> findDueTaskIdsInShard(@Param("completed") boolean completed, @Param("cutoff") LocalDateTime cutoff,
+                                     @Param("afterId") Long afterId, @Param("toId") Long toId,
+                                     @Param("shardCount") int shardCount, @Param("shard") int shard,
+                                     Pageable pageable);
+
+    /**
+     * Find the lowest and highest task IDs, from the primary key index.
+     * The sweep splits this range into partitions.
+     *
+     * @return the ID range; both bounds are null when there are no tasks
+     */
+    @Query("select min(t.id) as minId, max(t.id) as maxId from TodoItem t")
+    TodoIdRange findIdRange();
+
+    /**
+     * Find the IDs and due dates of incomplete tasks due at or before a time, in ID order.
+     * Used to load the due-date scheduler without hydrating entities.
+     *
+     * @param completed the completion status to match; false for tasks still to complete
+     * @param until     the latest due date included
+     * @param afterId   only IDs greater than this are returned (keyset position)
+     * @param pageable  the chunk size
+     * @return the IDs and due dates in the chunk
+     */
+    @Query("select t.id as id, t.dueDate as dueDate from TodoItem t "
+            + "where t.completed = :completed and t.dueDate <= :until and t.id > :afterId order by t.id")
+    List<TodoDueDate> findDueDates(@Param("completed") boolean completed, @Param("until") LocalDateTime until,
+                                   @Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Find the IDs and versions of the tasks in an ID range, in ID order.
+     * Used to find the tasks the search index is missing or holds an old version of.
+     *
+     * @param afterId  only IDs greater than this are returned (keyset position)
+     * @param toId     only IDs up to and including this are returned (end of the partition)
+     * @param pageable the chunk size
+     * @return the IDs and versions in the chunk
+     */
+    @Query("select t.id as id, t.version as version from TodoItem t "
+            + "where t.id > :afterId and t.id <= :toId order by t.id")
+    List<TodoIdVersion> findIdVersions(@Param("afterId") Long afterId, @Param("toId") Long toId, Pageable pageable);
+
+    /**
+     * Read only the searchable text of the given tasks.
+     *
+     * @param ids the IDs of the tasks
+     * @return the text of the tasks that exist, in no particular order
+     */
+    @Query("select t.id as id, t.version as version, t.title as title, t.description as description "
+            + "from TodoItem t where t.id in :ids")
+    List<TodoText> findTexts(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Count the tasks of one completion status due at each due date from a bound on.
+     *
+     * @param completed the completion status to match; false for tasks not overdue yet
+     * @param from      the due date bound, included
+     * @return one count per due date that has tasks
+     */
+    @Query("select t.dueDate as dueDate, count(t) as tasks from TodoItem t "
+            + "where t.completed = :completed and t.dueDate >= :from group by t.dueDate")
+    List<TodoDueDateCount> countByDueDateFrom(@Param("completed") boolean completed,
+                                              @Param("from") LocalDateTime from);
+
+    /**
+     * Count the tasks of each priority and completion status.
+     *
+     * @return one count per priority and completion status that has tasks
+     */
+    @Query("select t.priority as priority, t.completed as completed, count(t) as tasks "
+            + "from TodoItem t group by t.priority, t.completed")
+    List<TodoPriorityCount> countByPriorityAndCompleted();
+
+    /**
+     * Count the tasks of a completion status due before a time.
+     *
+     * @param completed the completion status to match; false for overdue tasks
+     * @param before    the due date bound, excluded
+     * @return the number of matching tasks
+     */
+    @Query("select count(t) from TodoItem t where t.completed = :completed and t.dueDate < :before")
+    long countDueBefore(@Param("completed") boolean completed, @Param("before") LocalDateTime before);
+
+    /**
+     * Count the tasks of a completion status last updated at or after a time.
+     *
+     * @param completed the completion status to match; true for tasks completed since
+     * @param since     the updatedAt bound, included
+     * @return the number of matching tasks
+     */
+    @Query("select count(t) from TodoItem t where t.completed = :completed and t.updatedAt >= :since")
+    long countUpdatedSince(@Param("completed") boolean completed, @Param("since") LocalDateTime since);
+
+    /**
+     * Stream tasks filtered by priority and completion status in ID order.
+     * Rows are fetched from the JDBC cursor in blocks instead of being materialized as a list;
+     * the stream must be consumed and closed inside a transaction.
+     *
+     * @param priority  the priority level to filter by (nullable)
+     * @param completed the completion status to filter by (nullable)
+     * @return a stream of the matching tasks
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READONLY, value = "true")
+    })
+    @Query("select t from TodoItem t where (:priority is null or t.priority = :priority) "
+            + "and (:completed is null or t.completed = :completed) order by t.id")
+    Stream<TodoItem> streamTasks(@Param("priority") Integer priority, @Param("completed") Boolean completed);
+
+    /**
+     * Read the filtered and counted columns of the given tasks and lock their rows until the transaction ends,
+     * so the states returned are the ones a change made in the same transaction starts from.
+     *
+     * @param ids the IDs of the tasks
+     * @return the states of the tasks that exist, in no particular order
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select new com.todolist.app.event.TodoItemState(t.id, t.version, t.priority, t.completed, t.dueDate, "
+            + "t.updatedAt) "
+            + "from TodoItem t where t.id in :ids")
+    List<TodoItemState> findStatesForUpdate(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Read only the version and updatedAt of a task, without hydrating the entity.
+     *
+     * @param id the ID of the task
+     * @return the version stamp of the task, or empty if it does not exist
+     */
+    @Query("select t.version as version, t.updatedAt as updatedAt from TodoItem t where t.id = :id")
+    Optional<TodoVersionStamp> findVersionStampById(@Param("id") Long id);
 
+    /**
+     * Find incomplete tasks at or above a priority, most recently updated first.
+     * Used to warm the task cache after startup.
+     *
+     * @param completed   the completion status to match; false for the tasks worth warming
+     * @param minPriority the lowest priority included
+     * @param pageable    the maximum number of tasks
+     * @return the matching tasks
+     */
+    @QueryHints(@QueryHint(name = HINT_READONLY, value = "true"))
+    @Query("select t from TodoItem t where t.completed = :completed and t.priority >= :minPriority "
+            + "order by t.updatedAt desc")
+    List<TodoItem> findHotTasks(@Param("completed") boolean completed, @Param("minPriority") int minPriority,
+                                Pageable pageable);
 }
@@ -0,0 +1,79 @@
+package com.todolist.app.repository;
+
+import com.todolist.app.dto.response.TodoItemResponseDTO;
+import com.todolist.app.model.TodoItem;
+import com.todolist.app.model.TodoItemPatch;
+import com.todolist.app.specification.TodoCursor;
+import com.todolist.app.specification.TodoQuery;
+import org.springframework.data.domain.Slice;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Custom repository fragment for TodoItem queries that Spring Data cannot derive.
+ */
+public interface TodoRepositoryCustom {
+
+    /**
+     * Fetch every task matching the query, in its order.
+     *
+     * @param query the filter and ordering
+     * @return the matching tasks
+     */
+    List<TodoItem> findTasks(TodoQuery query);
+
+    /**
+     * Fetch at most {@code limit} tasks matching the query, without issuing a count query.
+     *
+     * @param query  the filter and ordering
+     * @param cursor the position to resume after (nullable for the first slice)
+     * @param limit  the maximum number of tasks to return
+     * @return the slice of tasks, with {@code hasNext} set when more rows match
+     */
+    Slice<TodoItem> findSlice(TodoQuery query, TodoCursor cursor, int limit);
+
+    /**
+     * Fetch every task matching the query as a response DTO, in its order.
+     * The rows are projected directly, so no entity is hydrated or tracked by the persistence context.
+     *
+     * @param query the filter and ordering
+     * @return the matching tasks
+     */
+    List<TodoItemResponseDTO> findResponses(TodoQuery query);
+
+    /**
+     * Fetch at most {@code limit} tasks matching the query as response DTOs, without hydrating entities.
+     *
+     * @param query  the filter and ordering
+     * @param cursor the position to resume after (nullable for the first slice)
+     * @param limit  the maximum number of tasks to return
+     * @return the slice of tasks, with {@code hasNext} set when more rows match
+     */
+    Slice<TodoItemResponseDTO> findResponseSlice(TodoQuery query, TodoCursor cursor, int limit);
+
+    /**
+     * Mark the given tasks as completed with a single bulk update, returning the rows it changed.
+     * The due and completion conditions are re-checked so rows changed since selection are skipped.
+     * Must be called inside a transaction.
+     *
+     * @param ids    the IDs of the tasks to complete
+     * @param cutoff the due date cutoff
+     * @param now    the timestamp to store as updatedAt
+     * @return the tasks the update completed
+     */
+    List<TodoCompletion> completeDueTasks(Collection<Long> ids, LocalDateTime cutoff, LocalDateTime now);
+
+    /**
+     * Apply a partial update with a single UPDATE statement touching only the changed columns.
+     * Must be called inside a transaction.
+     *
+     * @param id              the ID of the task to update
+     * @param patch           the changed fields
+     * @param expectedVersion the version the update is conditional on (nullable for an unconditional update)
+     * @param now             the timestamp to store as updatedAt
+     * @return the number of rows updated: 0 if the task does not exist or its version differs
+     */
+    int patch(Long id, TodoItemPatch patch, Long expectedVersion, LocalDateTime now);
+}
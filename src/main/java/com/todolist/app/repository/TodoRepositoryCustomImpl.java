@@ -0,0 +1,189 @@
+package com.todolist.app.repository;
+
+import com.todolist.app.dto.response.TodoItemResponseDTO;
+import com.todolist.app.model.TodoItem;
+import com.todolist.app.model.TodoItemPatch;
+import com.todolist.app.specification.TodoCursor;
+import com.todolist.app.specification.TodoQuery;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+import javax.persistence.TypedQuery;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Implementation of the TodoRepositoryCustom fragment.
+ */
+public class TodoRepositoryCustomImpl implements TodoRepositoryCustom {
+
+    private final TodoQueryCompiler compiler = new TodoQueryCompiler();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Fetch every task matching the query, in its order.
+     *
+     * @param query the filter and ordering
+     * @return the matching tasks
+     */
+    @Override
+    public List<TodoItem> findTasks(TodoQuery query) {
+        return fetch(query, null, TodoQueryCompiler.Kind.TASKS, TodoItem.class, -1);
+    }
+
+    /**
+     * Fetch at most {@code limit} tasks matching the query.
+     * One extra row is read to detect whether another slice follows.
+     *
+     * @param query  the filter and ordering
+     * @param cursor the position to resume after (nullable for the first slice)
+     * @param limit  the maximum number of tasks to return
+     * @return the slice of tasks
+     */
+    @Override
+    public Slice<TodoItem> findSlice(TodoQuery query, TodoCursor cursor, int limit) {
+        return toSlice(fetch(query, cursor, TodoQueryCompiler.Kind.TASKS, TodoItem.class, limit + 1), limit);
+    }
+
+    /**
+     * Fetch every task matching the query as a response DTO, in its order.
+     *
+     * @param query the filter and ordering
+     * @return the matching tasks
+     */
+    @Override
+    public List<TodoItemResponseDTO> findResponses(TodoQuery query) {
+        return fetch(query, null, TodoQueryCompiler.Kind.RESPONSES, TodoItemResponseDTO.class, -1);
+    }
+
+    /**
+     * Fetch at most {@code limit} tasks matching the query as response DTOs.
+     * One extra row is read to detect whether another slice follows.
+     *
+     * @param query  the filter and ordering
+     * @param cursor the position to resume after (nullable for the first slice)
+     * @param limit  the maximum number of tasks to return
+     * @return the slice of tasks
+     */
+    @Override
+    public Slice<TodoItemResponseDTO> findResponseSlice(TodoQuery query, TodoCursor cursor, int limit) {
+        return toSlice(fetch(query, cursor, TodoQueryCompiler.Kind.RESPONSES, TodoItemResponseDTO.class, limit + 1),
+                limit);
+    }
+
+    /**
+     * Mark the given tasks as completed with a single bulk update, returning the rows it changed.
+     * The UPDATE is read through H2's FINAL TABLE, the equivalent of UPDATE ... RETURNING, so only
+     * the rows that still matched the due and completion conditions are returned.
+     *
+     * FINAL TABLE is H2 syntax (DB2's data change delta table) and is kept to this method; on another
+     * database it becomes UPDATE ... RETURNING (PostgreSQL) or an OUTPUT clause (SQL Server).
+     *
+     * @param ids    the IDs of the tasks to complete
+     * @param cutoff the due date cutoff
+     * @param now    the timestamp to store as updatedAt
+     * @return the tasks the update completed
+     */
+    @Override
+    public List<TodoCompletion> completeDueTasks(Collection<Long> ids, LocalDateTime cutoff, LocalDateTime now) {
+        // H2 only, see above
+        List<?> rows = entityManager.createNativeQuery("SELECT id, version, priority, due_date FROM FINAL TABLE ("
+                        + "UPDATE todo_items SET completed = TRUE, updated_at = :now, version = version + 1 "
+                        + "WHERE id IN (:ids) AND completed = FALSE AND due_date <= :cutoff)")
+                .setParameter("ids", ids)
+                .setParameter("cutoff", cutoff)
+                .setParameter("now", now)
+                .getResultList();
+        // Loaded entities no longer match their rows
+        entityManager.clear();
+
+        List<TodoCompletion> completed = new ArrayList<>(rows.size());
+        for (Object row : rows) {
+            Object[] columns = (Object[]) row;
+            completed.add(new TodoCompletion(((Number) columns[0]).longValue(), ((Number) columns[1]).longValue(),
+                    ((Number) columns[2]).intValue(), ((Timestamp) columns[3]).toLocalDateTime()));
+        }
+        return completed;
+    }
+
+    private <T> List<T> fetch(TodoQuery query, TodoCursor cursor, TodoQueryCompiler.Kind kind,
+                              Class<T> resultClass, int maxResults) {
+        TypedQuery<T> rows = entityManager.createQuery(compiler.compile(query, cursor != null, kind), resultClass);
+        TodoQueryCompiler.bind(rows, query, cursor);
+        if (maxResults > 0) {
+            rows.setMaxResults(maxResults);
+        }
+        return rows.getResultList();
+    }
+
+    private static <T> Slice<T> toSlice(List<T> rows, int limit) {
+        boolean hasNext = rows.size() > limit;
+        List<T> content = hasNext ? new ArrayList<>(rows.subList(0, limit)) : rows;
+        return new SliceImpl<>(content, PageRequest.of(0, limit), hasNext);
+    }
+
+    /**
+     * Apply a partial update with a single UPDATE statement touching only the changed columns.
+     *
+     * @param id              the ID of the task to update
+     * @param patch           the changed fields
+     * @param expectedVersion the version the update is conditional on (nullable for an unconditional update)
+     * @param now             the timestamp to store as updatedAt
+     * @return the number of rows updated
+     */
+    @Override
+    public int patch(Long id, TodoItemPatch patch, Long expectedVersion, LocalDateTime now) {
+        StringBuilder jpql = new StringBuilder("update TodoItem t set t.version = t.version + 1, t.updatedAt = :now");
+        if (patch.getTitle() != null) {
+            jpql.append(", t.title = :title");
+        }
+        if (patch.getDescription() != null) {
+            jpql.append(", t.description = :description");
+        }
+        if (patch.getDueDate() != null) {
+            jpql.append(", t.dueDate = :dueDate");
+        }
+        if (patch.getPriority() != null) {
+            jpql.append(", t.priority = :priority");
+        }
+        if (patch.getCompleted() != null) {
+            jpql.append(", t.completed = :completed");
+        }
+        jpql.append(" where t.id = :id");
+        if (expectedVersion != null) {
+            jpql.append(" and t.version = :version");
+        }
+
+        Query query = entityManager.createQuery(jpql.toString())
+                .setParameter("now", now)
+                .setParameter("id", id);
+        if (patch.getTitle() != null) {
+            query.setParameter("title", patch.getTitle());
+        }
+        if (patch.getDescription() != null) {
+            query.setParameter("description", patch.getDescription());
+        }
+        if (patch.getDueDate() != null) {
+            query.setParameter("dueDate", patch.getDueDate());
+        }
+        if (patch.getPriority() != null) {
+            query.setParameter("priority", patch.getPriority());
+        }
+        if (patch.getCompleted() != null) {
+            query.setParameter("completed", patch.getCompleted());
+        }
+        if (expectedVersion != null) {
+            query.setParameter("version", expectedVersion);
+        }
+        return query.executeUpdate();
+    }
+}
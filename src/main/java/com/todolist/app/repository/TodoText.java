@@ -0,0 +1,15 @@
+package com.todolist.app.repository;
+
+/**
+ * Projection of the searchable text of a TodoItem, with the version it was read at.
+ */
+public interface TodoText {
+
+    Long getId();
+
+    Long getVersion();
+
+    String getTitle();
+
+    String getDescription();
+}
@@ -0,0 +1,13 @@
+package com.todolist.app.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of the concurrency columns of a single TodoItem.
+ */
+public interface TodoVersionStamp {
+
+    Long getVersion();
+
+    LocalDateTime getUpdatedAt();
+}
@@ -0,0 +1,405 @@
+package com.todolist.app.scheduler;
+
+import com.todolist.app.event.TodoChangeEvent;
+import com.todolist.app.model.TodoItem;
+import com.todolist.app.repository.TodoDueDate;
+import com.todolist.app.repository.TodoRepository;
+import com.todolist.app.service.JobLeaseService;
+import com.todolist.app.service.TaskSweepService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Completes tasks at their due time instead of waiting for the next sweep.
+ *
+ * Incomplete tasks due within the horizon are held in a min-heap keyed on the due date. A single
+ * thread sleeps until the earliest due date and completes the tasks due by then in batches of at
+ * most batch-size. The heap is loaded from the database at startup, kept in step with every
+ * TodoChangeEvent, and reloaded by each reconciliation run of TaskJobService, which also moves the
+ * horizon forward; the horizon must therefore be longer than the reconciliation interval.
+ *
+ * Heap entries are never removed in place: a rescheduled or removed task leaves a stale entry that
+ * is recognised, by comparing it with the due dates map, and skipped when it reaches the top.
+ * Completions re-check the due date in the database, so an entry that fires late or spuriously
+ * never completes a task that is not due.
+ *
+ * Every node holds the schedule, but with todo.sweep.cluster.mode set to leader or sharded only one
+ * fires each task: the node holding the scheduler lease, or the lease of the task's shard
+ * ({@code id % shards}). A node takes or renews the lease when its tasks fall due and drops the
+ * tasks whose lease another node holds. Tasks falling due while the holder is down, until its
+ * lease expires, are left to the reconciliation sweep.
+ */
+@Component
+@ConditionalOnProperty(name = "todo.scheduler.enabled", havingValue = "true")
+public class DueTaskScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(DueTaskScheduler.class);
+
+    private static final String SCHEDULER_LEASE = "due-task-scheduler";
+
+    private static final Comparator<Entry> BY_DUE_DATE =
+            Comparator.comparing((Entry entry) -> entry.dueDate).thenComparing(entry -> entry.id);
+
+    private final TodoRepository todoRepository;
+    private final TaskSweepService taskSweepService;
+    private final JobLeaseService jobLeaseService;
+    private final Duration horizon;
+    private final int batchSize;
+    private final String clusterMode;
+    private final int shardCount;
+    private final Duration leaseDuration;
+
+    // When each lease this node holds is next renewed; only used by the completion thread
+    private final Map<String, LocalDateTime> leaseRenewAfter = new HashMap<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+
+    // Guarded by lock
+    private PriorityQueue<Entry> heap = new PriorityQueue<>(BY_DUE_DATE);
+    private Map<Long, LocalDateTime> dueDates = new HashMap<>();
+    private LocalDateTime horizonEnd = LocalDateTime.MIN;
+    // Changes received while a reload is reading the database; a null value is a removal
+    private Map<Long, LocalDateTime> changesDuringReload;
+    private boolean running;
+
+    private Thread worker;
+
+    public DueTaskScheduler(TodoRepository todoRepository,
+                            TaskSweepService taskSweepService,
+                            JobLeaseService jobLeaseService,
+                            MeterRegistry meterRegistry,
+                            @Value("${todo.scheduler.horizon-ms:7200000}") long horizonMillis,
+                            @Value("${todo.scheduler.batch-size:500}") int batchSize,
+                            @Value("${todo.sweep.cluster.mode:single}") String clusterMode,
+                            @Value("${todo.sweep.cluster.shards:8}") int shardCount,
+                            @Value("${todo.scheduler.lease-ms:30000}") long leaseMillis) {
+        if (horizonMillis < 1 || batchSize < 1 || leaseMillis < 1) {
+            throw new IllegalArgumentException("todo.scheduler.horizon-ms, batch-size and lease-ms must be at least 1");
+        }
+        if (!clusterMode.equals("single") && !clusterMode.equals("leader") && !clusterMode.equals("sharded")) {
+            throw new IllegalArgumentException("todo.sweep.cluster.mode must be single, leader or sharded");
+        }
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("todo.sweep.cluster.shards must be at least 1");
+        }
+        this.todoRepository = todoRepository;
+        this.taskSweepService = taskSweepService;
+        this.jobLeaseService = jobLeaseService;
+        this.horizon = Duration.ofMillis(horizonMillis);
+        this.batchSize = batchSize;
+        this.clusterMode = clusterMode;
+        this.shardCount = shardCount;
+        this.leaseDuration = Duration.ofMillis(leaseMillis);
+        Gauge.builder("todo.scheduler.pending", this, DueTaskScheduler::pending)
+                .description("Tasks waiting in the due-date scheduler")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Loads the tasks due within the horizon and starts the completion thread.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        reload();
+        lock.lock();
+        try {
+            running = true;
+        } finally {
+            lock.unlock();
+        }
+        worker = new Thread(this::run, "due-task-scheduler");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Stops the completion thread; tasks still pending are left to the next sweep.
+     */
+    @PreDestroy
+    public void stop() {
+        lock.lock();
+        try {
+            running = false;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        if (worker != null) {
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Replaces the scheduled tasks with the incomplete tasks due within the horizon from now.
+     * Changes published while the database is read are applied on top of what was read;
+     * concurrent reloads run one after the other.
+     */
+    public synchronized void reload() {
+        LocalDateTime until = LocalDateTime.now().plus(horizon);
+        lock.lock();
+        try {
+            changesDuringReload = new HashMap<>();
+        } finally {
+            lock.unlock();
+        }
+
+        PriorityQueue<Entry> loadedHeap = new PriorityQueue<>(BY_DUE_DATE);
+        Map<Long, LocalDateTime> loadedDueDates = new HashMap<>();
+        try {
+            long lastId = 0L;
+            while (true) {
+                List<TodoDueDate> chunk = todoRepository.findDueDates(false, until, lastId, PageRequest.of(0, batchSize));
+                for (TodoDueDate task : chunk) {
+                    loadedHeap.add(new Entry(task.getId(), task.getDueDate()));
+                    loadedDueDates.put(task.getId(), task.getDueDate());
+                }
+                if (chunk.size() < batchSize) {
+                    break;
+                }
+                lastId = chunk.get(chunk.size() - 1).getId();
+            }
+        } catch (RuntimeException e) {
+            lock.lock();
+            try {
+                changesDuringReload = null;
+            } finally {
+                lock.unlock();
+            }
+            throw e;
+        }
+
+        lock.lock();
+        try {
+            Map<Long, LocalDateTime> changes = changesDuringReload;
+            changesDuringReload = null;
+            heap = loadedHeap;
+            dueDates = loadedDueDates;
+            horizonEnd = until;
+            changes.forEach(this::apply);
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        logger.info("Due-task scheduler loaded {} tasks due before {}", loadedDueDates.size(), until);
+    }
+
+    /**
+     * Keeps the schedule in step with created, updated, deleted and completed tasks.
+     *
+     * @param event the change that was committed
+     */
+    @EventListener
+    public void onTodoChange(TodoChangeEvent event) {
+        lock.lock();
+        try {
+            if (event.getType() == TodoChangeEvent.Type.CREATED || event.getType() == TodoChangeEvent.Type.UPDATED) {
+                for (TodoItem task : event.getTasks()) {
+                    record(task.getId(), task.isCompleted() ? null : task.getDueDate());
+                }
+            } else {
+                for (Long id : event.getIds()) {
+                    record(id, null);
+                }
+            }
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of tasks currently scheduled
+     */
+    public int pending() {
+        lock.lock();
+        try {
+            return dueDates.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void record(Long id, LocalDateTime dueDate) {
+        if (changesDuringReload != null) {
+            changesDuringReload.put(id, dueDate);
+        }
+        apply(id, dueDate);
+    }
+
+    /**
+     * Schedules, reschedules or, for a null due date, unschedules a task. Called with the lock held.
+     */
+    private void apply(Long id, LocalDateTime dueDate) {
+        if (dueDate == null || dueDate.isAfter(horizonEnd)) {
+            dueDates.remove(id);
+            return;
+        }
+        if (!dueDate.equals(dueDates.put(id, dueDate))) {
+            heap.add(new Entry(id, dueDate));
+        }
+        // Stale entries are only dropped when they reach the top; rebuild if they dominate the heap
+        if (heap.size() > 2 * dueDates.size() + batchSize) {
+            PriorityQueue<Entry> compacted = new PriorityQueue<>(Math.max(1, dueDates.size()), BY_DUE_DATE);
+            dueDates.forEach((taskId, taskDueDate) -> compacted.add(new Entry(taskId, taskDueDate)));
+            heap = compacted;
+        }
+    }
+
+    private void run() {
+        while (true) {
+            List<Long> ids;
+            LocalDateTime cutoff;
+            lock.lock();
+            try {
+                if (!awaitNextDue()) {
+                    return;
+                }
+                cutoff = LocalDateTime.now();
+                ids = pollDue(cutoff);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            if (!ids.isEmpty()) {
+                try {
+                    List<Long> owned = owned(ids);
+                    if (!owned.isEmpty()) {
+                        taskSweepService.completeDueTasks(owned, cutoff);
+                    }
+                } catch (RuntimeException e) {
+                    // The tasks are no longer scheduled; the next reconciliation sweep completes them
+                    logger.warn("Scheduled completion of {} tasks failed: {}", ids.size(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Keeps the due tasks this node completes: all of them in single mode, all or none depending
+     * on the scheduler lease in leader mode, and those of the shards whose lease it holds in
+     * sharded mode.
+     */
+    private List<Long> owned(List<Long> ids) {
+        if (clusterMode.equals("leader")) {
+            return holdLease(SCHEDULER_LEASE) ? ids : Collections.emptyList();
+        }
+        if (clusterMode.equals("sharded")) {
+            Map<Integer, Boolean> held = new HashMap<>();
+            List<Long> owned = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                int shard = (int) Math.floorMod(id, (long) shardCount);
+                if (held.computeIfAbsent(shard, key -> holdLease(SCHEDULER_LEASE + "/shard-" + key))) {
+                    owned.add(id);
+                }
+            }
+            return owned;
+        }
+        return ids;
+    }
+
+    /**
+     * Takes or keeps a lease. A held lease is only renewed once half of it has run out, so firing
+     * does not write to the leases table every time.
+     */
+    private boolean holdLease(String lease) {
+        LocalDateTime now = LocalDateTime.now();
+        if (now.isBefore(leaseRenewAfter.getOrDefault(lease, LocalDateTime.MIN))) {
+            return true;
+        }
+        if (jobLeaseService.tryAcquire(lease, leaseDuration)) {
+            leaseRenewAfter.put(lease, now.plus(leaseDuration.dividedBy(2)));
+            return true;
+        }
+        leaseRenewAfter.remove(lease);
+        return false;
+    }
+
+    /**
+     * Waits until the earliest scheduled task is due. Called with the lock held.
+     *
+     * @return false if the scheduler was stopped
+     */
+    private boolean awaitNextDue() throws InterruptedException {
+        while (running) {
+            Entry head = peekLive();
+            if (head == null) {
+                changed.await();
+                continue;
+            }
+            long waitMillis = Duration.between(LocalDateTime.now(), head.dueDate).toMillis();
+            if (waitMillis <= 0) {
+                return true;
+            }
+            changed.await(waitMillis, TimeUnit.MILLISECONDS);
+        }
+        return false;
+    }
+
+    /**
+     * Removes and returns up to batch-size tasks due at or before the cutoff. Called with the lock held.
+     */
+    private List<Long> pollDue(LocalDateTime cutoff) {
+        List<Long> ids = new ArrayList<>();
+        Entry head;
+        while (ids.size() < batchSize && (head = peekLive()) != null && !head.dueDate.isAfter(cutoff)) {
+            heap.poll();
+            dueDates.remove(head.id);
+            ids.add(head.id);
+        }
+        return ids;
+    }
+
+    /**
+     * Drops stale entries from the top of the heap. Called with the lock held.
+     *
+     * @return the earliest live entry, or null if none is scheduled
+     */
+    private Entry peekLive() {
+        Entry head;
+        while ((head = heap.peek()) != null && !head.dueDate.equals(dueDates.get(head.id))) {
+            heap.poll();
+        }
+        return head;
+    }
+
+    private static final class Entry {
+
+        private final Long id;
+        private final LocalDateTime dueDate;
+
+        private Entry(Long id, LocalDateTime dueDate) {
+            this.id = id;
+            this.dueDate = dueDate;
+        }
+    }
+}
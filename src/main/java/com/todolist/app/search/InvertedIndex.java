@@ -0,0 +1,387 @@
+package com.todolist.app.search;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index of task text, ranked with BM25.
+ *
+ * The term dictionary is a sorted map, so a prefix term is a range scan of the dictionary. Each
+ * document keeps its own terms and frequencies, so it can be replaced or removed without scanning
+ * the postings. Searches share a read lock; every change takes the write lock for one document.
+ */
+public class InvertedIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final int SNAPSHOT_MAGIC = 0x54534958;
+    private static final int SNAPSHOT_FORMAT = 1;
+
+    private static final Comparator<SearchHit> BY_SCORE =
+            Comparator.comparingDouble(SearchHit::getScore).thenComparingLong(SearchHit::getId);
+
+    private final int maxPrefixTerms;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock
+    private final TreeMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    private final TreeMap<Long, Document> documents = new TreeMap<>();
+    private long totalLength;
+
+    /**
+     * @param maxPrefixTerms the most dictionary terms a prefix term expands to, in dictionary order
+     */
+    public InvertedIndex(int maxPrefixTerms) {
+        if (maxPrefixTerms < 1) {
+            throw new IllegalArgumentException("maxPrefixTerms must be at least 1");
+        }
+        this.maxPrefixTerms = maxPrefixTerms;
+    }
+
+    /**
+     * Adds a document, or replaces it if the index holds an older version.
+     *
+     * @param id              the task ID
+     * @param version         the task version the terms were read at
+     * @param termFrequencies the weighted frequency of each term of the task
+     * @return false if the index already holds this or a newer version
+     */
+    public boolean put(long id, long version, Map<String, Integer> termFrequencies) {
+        Document document = new Document(version, termFrequencies);
+        lock.writeLock().lock();
+        try {
+            Document existing = documents.get(id);
+            if (existing != null) {
+                if (existing.version >= version) {
+                    return false;
+                }
+                unlink(id, existing);
+            }
+            link(id, document);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Moves a document to a new version of the task whose text did not change.
+     *
+     * @param id              the task ID
+     * @param previousVersion the version the task changed from
+     * @param version         the version the task changed to
+     * @return false if the index does not hold the previous version, so the text may be out of date
+     */
+    public boolean advance(long id, long previousVersion, long version) {
+        lock.writeLock().lock();
+        try {
+            Document existing = documents.get(id);
+            if (existing == null || existing.version != previousVersion) {
+                return false;
+            }
+            existing.version = version;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @param id the task ID
+     * @return false if the task was not indexed
+     */
+    public boolean remove(long id) {
+        lock.writeLock().lock();
+        try {
+            Document existing = documents.remove(id);
+            if (existing == null) {
+                return false;
+            }
+            unlink(id, existing);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @param id the task ID
+     * @return the indexed version of the task, or null if it is not indexed
+     */
+    public Long version(long id) {
+        lock.readLock().lock();
+        try {
+            Document document = documents.get(id);
+            return document != null ? document.version : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param afterId the lower bound, excluded
+     * @param toId    the upper bound, included
+     * @return the indexed task IDs in the range, in ascending order
+     */
+    public List<Long> idsBetween(long afterId, long toId) {
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(documents.subMap(afterId, false, toId, true).keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the number of indexed tasks
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the documents matching every query term, best first. A document's score for a prefix
+     * term is its best score among the terms the prefix expands to.
+     *
+     * @param query the query terms
+     * @param limit the maximum number of hits
+     * @return the hits, by descending score and then descending ID
+     */
+    public List<SearchHit> search(List<QueryTerm> query, int limit) {
+        if (query.isEmpty() || limit < 1) {
+            return Collections.emptyList();
+        }
+        lock.readLock().lock();
+        try {
+            if (documents.isEmpty()) {
+                return Collections.emptyList();
+            }
+            double averageLength = (double) totalLength / documents.size();
+            Map<Long, Double> scores = null;
+            for (QueryTerm term : query) {
+                Map<Long, Double> termScores = score(term, averageLength);
+                scores = scores == null ? termScores : intersect(scores, termScores);
+                if (scores.isEmpty()) {
+                    return Collections.emptyList();
+                }
+            }
+            return top(scores, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Writes every document to a snapshot: a term dictionary, then each document's term ordinals
+     * and frequencies.
+     *
+     * @param out the snapshot output
+     * @throws IOException if the snapshot cannot be written
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        lock.readLock().lock();
+        try {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_FORMAT);
+            Map<String, Integer> ordinals = new HashMap<>(postings.size() * 2);
+            out.writeInt(postings.size());
+            for (String term : postings.keySet()) {
+                ordinals.put(term, ordinals.size());
+                out.writeUTF(term);
+            }
+            out.writeInt(documents.size());
+            for (Map.Entry<Long, Document> entry : documents.entrySet()) {
+                Document document = entry.getValue();
+                out.writeLong(entry.getKey());
+                out.writeLong(document.version);
+                out.writeInt(document.terms.length);
+                for (int i = 0; i < document.terms.length; i++) {
+                    out.writeInt(ordinals.get(document.terms[i]));
+                    out.writeInt(document.frequencies[i]);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the contents of the index with a snapshot written by {@link #writeTo}.
+     *
+     * @param in the snapshot input
+     * @throws IOException if the snapshot cannot be read or has an unknown format
+     */
+    public void readFrom(DataInput in) throws IOException {
+        if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_FORMAT) {
+            throw new IOException("Not a search index snapshot, or written by an incompatible version");
+        }
+        String[] dictionary = new String[in.readInt()];
+        for (int i = 0; i < dictionary.length; i++) {
+            dictionary[i] = in.readUTF();
+        }
+        int documentCount = in.readInt();
+        Map<Long, Document> loaded = new HashMap<>(documentCount * 2);
+        for (int i = 0; i < documentCount; i++) {
+            long id = in.readLong();
+            long version = in.readLong();
+            Map<String, Integer> termFrequencies = new HashMap<>();
+            int termCount = in.readInt();
+            for (int j = 0; j < termCount; j++) {
+                termFrequencies.put(dictionary[in.readInt()], in.readInt());
+            }
+            loaded.put(id, new Document(version, termFrequencies));
+        }
+
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            totalLength = 0;
+            loaded.forEach(this::link);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a document to the documents and postings. Called with the write lock held.
+     */
+    private void link(long id, Document document) {
+        documents.put(id, document);
+        for (int i = 0; i < document.terms.length; i++) {
+            postings.computeIfAbsent(document.terms[i], term -> new HashMap<>()).put(id, document.frequencies[i]);
+        }
+        totalLength += document.length;
+    }
+
+    /**
+     * Removes a document from the postings. Called with the write lock held.
+     */
+    private void unlink(long id, Document document) {
+        for (String term : document.terms) {
+            Map<Long, Integer> termPostings = postings.get(term);
+            termPostings.remove(id);
+            if (termPostings.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+        totalLength -= document.length;
+    }
+
+    /**
+     * Scores the documents containing a term. Called with the read lock held.
+     */
+    private Map<Long, Double> score(QueryTerm term, double averageLength) {
+        Map<Long, Double> scores = new HashMap<>();
+        if (!term.isPrefix()) {
+            Map<Long, Integer> termPostings = postings.get(term.getTerm());
+            if (termPostings != null) {
+                addScores(scores, termPostings, averageLength);
+            }
+            return scores;
+        }
+        NavigableMap<String, Map<Long, Integer>> expansions =
+                postings.subMap(term.getTerm(), true, term.getTerm() + Character.MAX_VALUE, false);
+        int expanded = 0;
+        for (Map<Long, Integer> termPostings : expansions.values()) {
+            if (expanded++ == maxPrefixTerms) {
+                break;
+            }
+            addScores(scores, termPostings, averageLength);
+        }
+        return scores;
+    }
+
+    private void addScores(Map<Long, Double> scores, Map<Long, Integer> termPostings, double averageLength) {
+        int documentCount = documents.size();
+        int documentFrequency = termPostings.size();
+        double idf = Math.log(1 + (documentCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+        for (Map.Entry<Long, Integer> posting : termPostings.entrySet()) {
+            int frequency = posting.getValue();
+            int length = documents.get(posting.getKey()).length;
+            double score = idf * frequency * (K1 + 1)
+                    / (frequency + K1 * (1 - B + B * length / averageLength));
+            scores.merge(posting.getKey(), score, Math::max);
+        }
+    }
+
+    /**
+     * Keeps the documents present in both maps, summing their scores.
+     */
+    private static Map<Long, Double> intersect(Map<Long, Double> left, Map<Long, Double> right) {
+        Map<Long, Double> smaller = left.size() <= right.size() ? left : right;
+        Map<Long, Double> larger = smaller == left ? right : left;
+        Map<Long, Double> result = new HashMap<>();
+        for (Map.Entry<Long, Double> entry : smaller.entrySet()) {
+            Double other = larger.get(entry.getKey());
+            if (other != null) {
+                result.put(entry.getKey(), entry.getValue() + other);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Selects the best hits with a min-heap of at most limit entries.
+     */
+    private static List<SearchHit> top(Map<Long, Double> scores, int limit) {
+        PriorityQueue<SearchHit> best = new PriorityQueue<>(Math.min(limit, scores.size()) + 1, BY_SCORE);
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            SearchHit hit = new SearchHit(entry.getKey(), entry.getValue());
+            if (best.size() < limit) {
+                best.add(hit);
+            } else if (BY_SCORE.compare(hit, best.peek()) > 0) {
+                best.poll();
+                best.add(hit);
+            }
+        }
+        List<SearchHit> hits = new ArrayList<>(best);
+        hits.sort(BY_SCORE.reversed());
+        return hits;
+    }
+
+    /**
+     * The indexed terms of one task, as parallel arrays to keep the per-document overhead small.
+     */
+    private static final class Document {
+
+        // Guarded by the index lock
+        private long version;
+        private final String[] terms;
+        private final int[] frequencies;
+        private final int length;
+
+        private Document(long version, Map<String, Integer> termFrequencies) {
+            this.version = version;
+            this.terms = new String[termFrequencies.size()];
+            this.frequencies = new int[termFrequencies.size()];
+            int i = 0;
+            int total = 0;
+            for (Map.Entry<String, Integer> entry : termFrequencies.entrySet()) {
+                terms[i] = entry.getKey();
+                frequencies[i] = entry.getValue();
+                total += entry.getValue();
+                i++;
+            }
+            this.length = total;
+        }
+    }
+}
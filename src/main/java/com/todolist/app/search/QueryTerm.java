@@ -0,0 +1,23 @@
+package com.todolist.app.search;
+
+/**
+ * One term of a search query, matched exactly or as a prefix.
+ */
+public final class QueryTerm {
+
+    private final String term;
+    private final boolean prefix;
+
+    public QueryTerm(String term, boolean prefix) {
+        this.term = term;
+        this.prefix = prefix;
+    }
+
+    public String getTerm() {
+        return term;
+    }
+
+    public boolean isPrefix() {
+        return prefix;
+    }
+}
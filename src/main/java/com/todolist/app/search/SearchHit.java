@@ -0,0 +1,23 @@
+package com.todolist.app.search;
+
+/**
+ * A task matching a search query, with its relevance score.
+ */
+public final class SearchHit {
+
+    private final long id;
+    private final double score;
+
+    public SearchHit(long id, double score) {
+        this.id = id;
+        this.score = score;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public double getScore() {
+        return score;
+    }
+}
@@ -0,0 +1,341 @@
+package com.todolist.app.search;
+
+import com.todolist.app.event.TodoChangeEvent;
+import com.todolist.app.model.TodoItem;
+import com.todolist.app.repository.TodoIdRange;
+import com.todolist.app.repository.TodoIdVersion;
+import com.todolist.app.repository.TodoRepository;
+import com.todolist.app.repository.TodoText;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Full-text search over task titles and descriptions.
+ *
+ * The index lives in memory and follows every committed create, update, delete and automatic
+ * completion through TodoChangeEvent. Completions do not change the text, so they only move the
+ * indexed version forward, and the next rebuild does not re-read the completed tasks.
+ *
+ * A rebuild compares the ID and version of every task with the index, in ID-range partitions on
+ * rebuild-parallelism threads, and only reads and tokenizes the text of tasks that are missing or
+ * out of date. With a snapshot path configured the index is written to disk on shutdown and on
+ * snapshot-cron, and loaded before the startup rebuild, so a restart only re-reads what changed.
+ * Searches are answered from the partial index while the startup rebuild runs.
+ */
+@Component
+@ConditionalOnProperty(name = "todo.search.enabled", havingValue = "true", matchIfMissing = true)
+public class TaskSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskSearchIndex.class);
+
+    private final TodoRepository todoRepository;
+    private final InvertedIndex index;
+    private final Path snapshotPath;
+    private final int parallelism;
+    private final int batchSize;
+
+    // Orders event updates and rebuild writes, so a rebuild never overwrites a newer event
+    private final Object writeMonitor = new Object();
+    // Guarded by writeMonitor: tasks changed by events while a rebuild runs, which the rebuild leaves alone
+    private Set<Long> changedDuringRebuild;
+
+    private volatile boolean ready;
+
+    public TaskSearchIndex(TodoRepository todoRepository,
+                           MeterRegistry meterRegistry,
+                           @Value("${todo.search.snapshot-path:}") String snapshotPath,
+                           @Value("${todo.search.rebuild-parallelism:4}") int parallelism,
+                           @Value("${todo.search.batch-size:1000}") int batchSize,
+                           @Value("${todo.search.max-prefix-terms:64}") int maxPrefixTerms) {
+        if (parallelism < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("todo.search.rebuild-parallelism and batch-size must be at least 1");
+        }
+        this.todoRepository = todoRepository;
+        this.index = new InvertedIndex(maxPrefixTerms);
+        this.snapshotPath = snapshotPath.isEmpty() ? null : Paths.get(snapshotPath);
+        this.parallelism = parallelism;
+        this.batchSize = batchSize;
+        Gauge.builder("todo.search.documents", index, InvertedIndex::size)
+                .description("Tasks in the full-text search index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Loads the snapshot, if any, and rebuilds the index in the background.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        Thread loader = new Thread(() -> {
+            loadSnapshot();
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                logger.error("Search index rebuild failed; the index only holds tasks changed since startup", e);
+            }
+        }, "search-index-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * Writes the index to the snapshot path, if one is configured.
+     */
+    @PreDestroy
+    @Scheduled(cron = "${todo.search.snapshot-cron:-}")
+    public void saveSnapshot() {
+        if (snapshotPath == null || !ready) {
+            return;
+        }
+        Path temporary = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+        try {
+            Path directory = snapshotPath.toAbsolutePath().getParent();
+            if (directory != null) {
+                Files.createDirectories(directory);
+            }
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                index.writeTo(out);
+            }
+            Files.move(temporary, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.info("Search index snapshot of {} tasks written to {}", index.size(), snapshotPath);
+        } catch (IOException e) {
+            logger.warn("Search index snapshot could not be written to {}: {}", snapshotPath, e.getMessage());
+        }
+    }
+
+    /**
+     * @param query the query text; every term must match, a word ending in {@code *} matches as a prefix
+     * @param limit the maximum number of hits
+     * @return the matching task IDs, best first
+     */
+    public List<SearchHit> search(String query, int limit) {
+        return index.search(Tokenizer.parseQuery(query), limit);
+    }
+
+    /**
+     * @return false while the startup rebuild is running, when results may be incomplete
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Brings the index in line with the database: indexes missing and out-of-date tasks and drops
+     * deleted ones. Concurrent rebuilds run one after the other.
+     */
+    public synchronized void rebuild() {
+        long started = System.nanoTime();
+        synchronized (writeMonitor) {
+            changedDuringRebuild = new HashSet<>();
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, new CustomizableThreadFactory("search-rebuild-"));
+        try {
+            TodoIdRange range = todoRepository.findIdRange();
+            List<Future<Integer>> partitions = new ArrayList<>();
+            if (range.getMinId() == null) {
+                partitions.add(executor.submit(() -> rebuildRange(Long.MIN_VALUE, Long.MAX_VALUE)));
+            } else {
+                // More partitions than threads, so one dense ID range does not hold up the rebuild
+                int partitionCount = parallelism * 4;
+                long span = Math.max(1, (range.getMaxId() - range.getMinId() + partitionCount) / partitionCount);
+                long afterId = Long.MIN_VALUE;
+                for (int i = 0; i < partitionCount && afterId != Long.MAX_VALUE; i++) {
+                    // The last partition is open-ended, so tasks created during the rebuild are not dropped
+                    long toId = i == partitionCount - 1 || range.getMinId() - 1 + (i + 1) * span >= range.getMaxId()
+                            ? Long.MAX_VALUE
+                            : range.getMinId() - 1 + (i + 1) * span;
+                    long from = afterId;
+                    partitions.add(executor.submit(() -> rebuildRange(from, toId)));
+                    afterId = toId;
+                }
+            }
+            int indexed = 0;
+            for (Future<Integer> partition : partitions) {
+                indexed += partition.get();
+            }
+            ready = true;
+            logger.info("Search index rebuilt in {} ms: {} tasks indexed, {} tasks re-read",
+                    (System.nanoTime() - started) / 1_000_000, index.size(), indexed);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Search index rebuild interrupted", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException
+                    ? (RuntimeException) e.getCause()
+                    : new IllegalStateException("Search index rebuild failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+            synchronized (writeMonitor) {
+                changedDuringRebuild = null;
+            }
+        }
+    }
+
+    /**
+     * Keeps the index in step with created, updated, deleted and completed tasks.
+     *
+     * @param event the change that was committed
+     */
+    @EventListener
+    public void onTodoChange(TodoChangeEvent event) {
+        switch (event.getType()) {
+            case CREATED:
+            case UPDATED:
+                List<IndexedText> texts = new ArrayList<>(event.getTasks().size());
+                for (TodoItem task : event.getTasks()) {
+                    texts.add(new IndexedText(task.getId(), task.getVersion(),
+                            Tokenizer.termFrequencies(task.getTitle(), task.getDescription())));
+                }
+                synchronized (writeMonitor) {
+                    for (IndexedText text : texts) {
+                        recordChange(text.id);
+                        index.put(text.id, text.version, text.termFrequencies);
+                    }
+                }
+                break;
+            case DELETED:
+                synchronized (writeMonitor) {
+                    for (Long id : event.getIds()) {
+                        recordChange(id);
+                        index.remove(id);
+                    }
+                }
+                break;
+            case COMPLETED:
+                // The sweep increments the version by one; a task indexed at another version is left to the rebuild
+                synchronized (writeMonitor) {
+                    for (Long id : event.getIds()) {
+                        long previousVersion = event.getPrevious(id).getVersion();
+                        if (index.advance(id, previousVersion, previousVersion + 1)) {
+                            recordChange(id);
+                        }
+                    }
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void loadSnapshot() {
+        if (snapshotPath == null || !Files.exists(snapshotPath)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotPath)))) {
+            index.readFrom(in);
+            logger.info("Search index snapshot of {} tasks loaded from {}", index.size(), snapshotPath);
+        } catch (IOException e) {
+            logger.warn("Search index snapshot {} could not be read, rebuilding from scratch: {}",
+                    snapshotPath, e.getMessage());
+        }
+    }
+
+    /**
+     * Reconciles one ID range with the database, a chunk at a time.
+     *
+     * @return the number of tasks re-read
+     */
+    private int rebuildRange(long afterId, long toId) {
+        int reread = 0;
+        long position = afterId;
+        while (!Thread.currentThread().isInterrupted()) {
+            List<TodoIdVersion> chunk = todoRepository.findIdVersions(position, toId, PageRequest.of(0, batchSize));
+            long chunkEnd = chunk.size() < batchSize ? toId : chunk.get(chunk.size() - 1).getId();
+
+            Set<Long> present = new HashSet<>(chunk.size() * 2);
+            List<Long> stale = new ArrayList<>();
+            for (TodoIdVersion task : chunk) {
+                present.add(task.getId());
+                Long indexedVersion = index.version(task.getId());
+                if (indexedVersion == null || !indexedVersion.equals(task.getVersion())) {
+                    stale.add(task.getId());
+                }
+            }
+
+            List<IndexedText> texts = new ArrayList<>(stale.size());
+            if (!stale.isEmpty()) {
+                for (TodoText task : todoRepository.findTexts(stale)) {
+                    texts.add(new IndexedText(task.getId(), task.getVersion(),
+                            Tokenizer.termFrequencies(task.getTitle(), task.getDescription())));
+                }
+            }
+            List<Long> deleted = new ArrayList<>();
+            for (Long id : index.idsBetween(position, chunkEnd)) {
+                if (!present.contains(id)) {
+                    deleted.add(id);
+                }
+            }
+
+            synchronized (writeMonitor) {
+                for (IndexedText text : texts) {
+                    if (!changedDuringRebuild.contains(text.id)) {
+                        index.put(text.id, text.version, text.termFrequencies);
+                    }
+                }
+                for (Long id : deleted) {
+                    if (!changedDuringRebuild.contains(id)) {
+                        index.remove(id);
+                    }
+                }
+            }
+            reread += texts.size();
+
+            if (chunk.size() < batchSize) {
+                break;
+            }
+            position = chunkEnd;
+        }
+        return reread;
+    }
+
+    /**
+     * Called with writeMonitor held.
+     */
+    private void recordChange(Long id) {
+        if (changedDuringRebuild != null) {
+            changedDuringRebuild.add(id);
+        }
+    }
+
+    private static final class IndexedText {
+
+        private final long id;
+        private final long version;
+        private final Map<String, Integer> termFrequencies;
+
+        private IndexedText(long id, long version, Map<String, Integer> termFrequencies) {
+            this.id = id;
+            this.version = version;
+            this.termFrequencies = termFrequencies;
+        }
+    }
+}
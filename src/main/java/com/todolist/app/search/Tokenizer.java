@@ -0,0 +1,82 @@
+package com.todolist.app.search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Splits task text into lower-case terms on anything that is not a letter or digit.
+ */
+public final class Tokenizer {
+
+    /**
+     * Title terms count this many times, so a match in the title ranks above one in the description.
+     */
+    public static final int TITLE_WEIGHT = 2;
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final int MAX_TERM_LENGTH = 64;
+
+    private Tokenizer() {
+    }
+
+    /**
+     * @param text the text to split (nullable)
+     * @return the terms of the text, in order
+     */
+    public static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        for (String token : SEPARATORS.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                terms.add(token.length() > MAX_TERM_LENGTH ? token.substring(0, MAX_TERM_LENGTH) : token);
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Parses a search query. Every term must match; a word ending in {@code *} matches any term it
+     * is a prefix of.
+     *
+     * @param query the query text (nullable)
+     * @return the terms of the query, in order
+     */
+    public static List<QueryTerm> parseQuery(String query) {
+        List<QueryTerm> terms = new ArrayList<>();
+        if (query == null) {
+            return terms;
+        }
+        for (String word : query.trim().split("\\s+")) {
+            boolean prefix = word.endsWith("*");
+            List<String> wordTerms = tokenize(word);
+            for (int i = 0; i < wordTerms.size(); i++) {
+                // "e-mail*" splits into "e" and "mail"; only the last part is a prefix
+                terms.add(new QueryTerm(wordTerms.get(i), prefix && i == wordTerms.size() - 1));
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * @param title       the task title
+     * @param description the task description
+     * @return the weighted frequency of each term of the task
+     */
+    public static Map<String, Integer> termFrequencies(String title, String description) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String term : tokenize(title)) {
+            frequencies.merge(term, TITLE_WEIGHT, Integer::sum);
+        }
+        for (String term : tokenize(description)) {
+            frequencies.merge(term, 1, Integer::sum);
+        }
+        return frequencies;
+    }
+}
@@ -0,0 +1,30 @@
+package com.todolist.app.service;
+
+import java.time.Duration;
+
+/**
+ * Service interface for the database-backed leases that keep cluster-wide jobs on one node at a time.
+ */
+public interface JobLeaseService {
+
+    /**
+     * Take a lease for this node, or extend it if this node already holds it.
+     *
+     * @param name the name of the lease
+     * @param ttl  how long the lease is held unless extended
+     * @return true if this node now holds the lease
+     */
+    boolean tryAcquire(String name, Duration ttl);
+
+    /**
+     * Release a lease held by this node, so another node may take it immediately.
+     *
+     * @param name the name of the lease
+     */
+    void release(String name);
+
+    /**
+     * @return the identifier of this node in the leases table
+     */
+    String getNodeId();
+}
@@ -1,42 +1,85 @@
 package com.todolist.app.service;
 
-import com.todolist.app.model.TodoItem;
+import com.todolist.app.scheduler.DueTaskScheduler;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Service
 public class TaskJobService {
 
-    private final TodoService todoService;
+    private static final String SWEEP_LEASE = "due-task-sweep";
+
+    private final TaskSweepService taskSweepService;
+    private final JobLeaseService jobLeaseService;
+    private final ObjectProvider<DueTaskScheduler> dueTaskScheduler;
+    private final String clusterMode;
+    private final int shardCount;
+    private final Duration leaseDuration;
 
     @Autowired
-    public TaskJobService(TodoService todoService) {
-        this.todoService = todoService;
+    public TaskJobService(TaskSweepService taskSweepService,
+                          JobLeaseService jobLeaseService,
+                          ObjectProvider<DueTaskScheduler> dueTaskScheduler,
+                          @Value("${todo.sweep.cluster.mode:single}") String clusterMode,
+                          @Value("${todo.sweep.cluster.shards:8}") int shardCount,
+                          @Value("${todo.sweep.cluster.lease-ms:600000}") long leaseMillis) {
+        if (!clusterMode.equals("single") && !clusterMode.equals("leader") && !clusterMode.equals("sharded")) {
+            throw new IllegalArgumentException("todo.sweep.cluster.mode must be single, leader or sharded");
+        }
+        if (shardCount < 1 || leaseMillis < 1) {
+            throw new IllegalArgumentException("todo.sweep.cluster.shards and lease-ms must be at least 1");
+        }
+        this.taskSweepService = taskSweepService;
+        this.jobLeaseService = jobLeaseService;
+        this.dueTaskScheduler = dueTaskScheduler;
+        this.clusterMode = clusterMode;
+        this.shardCount = shardCount;
+        this.leaseDuration = Duration.ofMillis(leaseMillis);
     }
 
-    // Scheduled job to run every hour (you can adjust the frequency)
-    @Scheduled(cron = "0 0 * * * *")  // Runs at the top of every hour
+    // Reconciliation job: DueTaskScheduler completes tasks at their due time, this run is the safety net
+    @Scheduled(cron = "${todo.sweep.cron:0 */15 * * * *}")
     public void markDueTasksAsCompleted() {
-        // Fetch all tasks with dueDate not null
-        List<TodoItem> tasks = todoService.getAllTasks();
-
-        for (TodoItem task : tasks) {
-            // Check if the task is due (dueDate is not null and is in the past or present)
-            if (task.getDueDate() != null && task.getDueDate().isBefore(LocalDateTime.now()) || task.getDueDate().isEqual(LocalDateTime.now())) {
-                if (!task.isCompleted()) {
-                    // Mark the task as completed
-                    task.setCompleted(true);
-
-                    // Save the task after updating the completed status
-                    todoService.updateTask(task.getId(), task);
-                    System.out.println("Task " + task.getId() + " marked as completed");
-                }
-            }
+        // Complete every task that is due as of now, in bounded chunks
+        LocalDateTime cutoff = LocalDateTime.now();
+        if (clusterMode.equals("leader")) {
+            sweepUnderLease(SWEEP_LEASE, cutoff, 0, 1);
+        } else if (clusterMode.equals("sharded")) {
+            sweepShards(cutoff);
+        } else {
+            taskSweepService.sweepDueTasks(cutoff);
+        }
+        // Move the scheduler's horizon forward and repair anything it missed; every node holds its own
+        dueTaskScheduler.ifAvailable(DueTaskScheduler::reload);
+    }
+
+    /**
+     * Sweeps every shard whose lease this node can take. Nodes start at a random shard, so nodes
+     * firing together mostly take different shards and a single node still covers them all.
+     */
+    private void sweepShards(LocalDateTime cutoff) {
+        int first = ThreadLocalRandom.current().nextInt(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            int shard = (first + i) % shardCount;
+            sweepUnderLease(SWEEP_LEASE + "/shard-" + shard, cutoff, shard, shardCount);
         }
     }
-}
 
+    /**
+     * Sweeps if this node takes the lease, extending it before every chunk. The lease is left to
+     * expire rather than released, so no other node repeats the work within the same run.
+     */
+    private void sweepUnderLease(String lease, LocalDateTime cutoff, int shard, int shards) {
+        if (!jobLeaseService.tryAcquire(lease, leaseDuration)) {
+            return;
+        }
+        taskSweepService.sweepDueTasks(cutoff, shard, shards, () -> jobLeaseService.tryAcquire(lease, leaseDuration));
+    }
+}
@@ -0,0 +1,55 @@
+package com.todolist.app.service;
+
+import com.todolist.app.dto.response.SweepReport;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Service interface for completing tasks whose due date has passed.
+ */
+public interface TaskSweepService {
+
+    /**
+     * Complete every incomplete task that is due now.
+     *
+     * @return the metrics for the run
+     */
+    SweepReport sweepDueTasks();
+
+    /**
+     * Complete every incomplete task that is due at or before the cutoff.
+     *
+     * @param cutoff the due date cutoff, taken once for the whole run
+     * @return the metrics for the run
+     */
+    SweepReport sweepDueTasks(LocalDateTime cutoff);
+
+    /**
+     * Complete the incomplete tasks of one shard that are due at or before the cutoff.
+     * A task belongs to shard {@code id % shardCount}.
+     *
+     * @param cutoff        the due date cutoff, taken once for the whole run
+     * @param shard         the shard to sweep, from 0 to shardCount - 1
+     * @param shardCount    the number of shards; 1 sweeps every task
+     * @param continueSweep checked before each chunk; the run stops early once it returns false
+     * @return the metrics for the run
+     */
+    SweepReport sweepDueTasks(LocalDateTime cutoff, int shard, int shardCount, BooleanSupplier continueSweep);
+
+    /**
+     * Stop every running sweep after its current chunks; completed chunks stay committed.
+     */
+    void cancelRunningSweeps();
+
+    /**
+     * Complete the given tasks if they are still incomplete and due at or before the cutoff.
+     * Tasks changed since they were selected are skipped.
+     *
+     * @param ids    the IDs of the candidate tasks
+     * @param cutoff the due date cutoff
+     * @return the metrics for the run
+     */
+    SweepReport completeDueTasks(Collection<Long> ids, LocalDateTime cutoff);
+}
@@ -1,8 +1,19 @@
 package com.todolist.app.service;
 
+import com.todolist.app.dto.response.TodoItemResponseDTO;
 import com.todolist.app.model.TodoItem;
+import com.todolist.app.model.TodoItemPatch;
+import com.todolist.app.model.TodoItemSnapshot;
+import com.todolist.app.repository.TodoVersionStamp;
+import com.todolist.app.specification.TodoCursor;
+import com.todolist.app.specification.TodoQuery;
+import org.springframework.data.domain.Slice;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Service interface for managing Todo tasks.
@@ -10,14 +21,58 @@ import java.util.List;
 public interface TodoService {
 
     /**
-     * Retrieve a list of tasks filtered by priority and completion status.
+     * Retrieve the tasks matching a query, in its order.
+     *
+     * @param query the filter and ordering
+     * @return a list of tasks matching the query
+     */
+    List<TodoItem> getTasks(TodoQuery query);
+
+    /**
+     * Retrieve one page of tasks matching a query, seeking past the cursor in the query's order.
+     *
+     * @param query  the filter and ordering
+     * @param cursor the position after which the page starts (nullable for the first page)
+     * @param limit  the maximum number of tasks in the page
+     * @return the page of tasks, indicating whether more tasks follow
+     */
+    Slice<TodoItem> getTasksPage(TodoQuery query, TodoCursor cursor, int limit);
+
+    /**
+     * Retrieve the tasks matching a query as response DTOs, in its order, without hydrating entities.
+     *
+     * @param query the filter and ordering
+     * @return the matching tasks
+     */
+    List<TodoItemResponseDTO> getTaskResponses(TodoQuery query);
+
+    /**
+     * Retrieve one page of tasks matching a query as response DTOs, without hydrating entities.
+     *
+     * @param query  the filter and ordering
+     * @param cursor the position after which the page starts (nullable for the first page)
+     * @param limit  the maximum number of tasks in the page
+     * @return the page of tasks, indicating whether more tasks follow
+     */
+    Slice<TodoItemResponseDTO> getTaskResponsesPage(TodoQuery query, TodoCursor cursor, int limit);
+
+    /**
+     * Retrieve only the version and last modification time of a task.
+     *
+     * @param id the ID of the task
+     * @return the version stamp of the task, or null if not found
+     */
+    TodoVersionStamp getTaskVersionStamp(Long id);
+
+    /**
+     * Stream tasks filtered by priority and completion status to a consumer, one at a time.
+     * Tasks handed to the consumer are detached shortly afterwards and must not be retained.
      *
      * @param priority  the priority level to filter by (nullable)
      * @param completed the completion status to filter by (nullable)
-     * @return a list of tasks matching the filter criteria
+     * @param consumer  the callback receiving each task in ID order
      */
-    List<TodoItem> getTasks(Integer priority, Boolean completed);
-
+    void streamTasks(Integer priority, Boolean completed, Consumer<TodoItem> consumer);
 
     /**
      * Retrieve all tasks from the repository.
@@ -38,9 +93,17 @@ public interface TodoService {
      * Retrieve a task by its ID.
      *
      * @param id the ID of the task to retrieve
-     * @return the task if found, or null if not found
+     * @return an immutable copy of the task if found, or null if not found
      */
-    TodoItem getTaskById(Long id);
+    TodoItemSnapshot getTaskById(Long id);
+
+    /**
+     * Retrieve several tasks by ID, in the order of the IDs.
+     *
+     * @param ids the IDs of the tasks to retrieve
+     * @return the tasks that exist, in the order of the IDs
+     */
+    List<TodoItem> getTasksByIds(List<Long> ids);
 
     /**
      * Update an existing task.
@@ -51,10 +114,46 @@ public interface TodoService {
      */
     TodoItem updateTask(Long id, TodoItem todoItem);
 
+    /**
+     * Apply a partial update to a task with a single targeted UPDATE, without loading it first.
+     *
+     * @param id              the ID of the task to update
+     * @param patch           the changed fields
+     * @param expectedVersion the version the update is conditional on (nullable for an unconditional update)
+     * @return the updated task, or null if not found
+     * @throws com.todolist.app.exception.TaskConflictException if the task's version differs from expectedVersion
+     */
+    TodoItem patchTask(Long id, TodoItemPatch patch, Long expectedVersion);
+
     /**
      * Delete a task by its ID.
      *
      * @param id the ID of the task to delete
      */
     void deleteTask(Long id);
+
+    /**
+     * Create many tasks, committing them in chunked transactions.
+     *
+     * @param todoItems the tasks to create
+     * @return the created tasks, in the same order
+     */
+    List<TodoItem> createTasks(List<TodoItem> todoItems);
+
+    /**
+     * Update many tasks, committing them in chunked transactions.
+     * Each update is applied to the current state of its task inside the transaction.
+     *
+     * @param updates the update to apply, keyed by task ID
+     * @return the updated tasks keyed by ID; IDs without a task are absent
+     */
+    Map<Long, TodoItem> updateTasks(Map<Long, Consumer<TodoItem>> updates);
+
+    /**
+     * Delete many tasks, committing them in chunked transactions.
+     *
+     * @param ids the IDs of the tasks to delete
+     * @return the IDs that belonged to a task and were deleted
+     */
+    Set<Long> deleteTasks(Collection<Long> ids);
 }
@@ -0,0 +1,83 @@
+package com.todolist.app.service.impl;
+
+import com.todolist.app.repository.JobLeaseRepository;
+import com.todolist.app.service.JobLeaseService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Implementation of the JobLeaseService on the job_leases table.
+ *
+ * Expiry times are written and compared with each node's own clock, so node clocks must agree
+ * to well within the lease duration.
+ */
+@Service
+public class JobLeaseServiceImpl implements JobLeaseService {
+
+    private final JobLeaseRepository jobLeaseRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final String nodeId;
+
+    @Autowired
+    public JobLeaseServiceImpl(JobLeaseRepository jobLeaseRepository,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${todo.cluster.node-id:}") String nodeId) {
+        this.jobLeaseRepository = jobLeaseRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // pid@host identifies the process in the table; the suffix keeps restarts with a reused pid apart
+        this.nodeId = nodeId.isBlank()
+                ? ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID().toString().substring(0, 8)
+                : nodeId;
+    }
+
+    /**
+     * Take a lease for this node, or extend it if this node already holds it.
+     * A lease that has never been taken is created; if another node creates it first, this node loses.
+     *
+     * @param name the name of the lease
+     * @param ttl  how long the lease is held unless extended
+     * @return true if this node now holds the lease
+     */
+    @Override
+    public boolean tryAcquire(String name, Duration ttl) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plus(ttl);
+        Integer taken = transactionTemplate.execute(status -> jobLeaseRepository.take(name, nodeId, now, expiresAt));
+        if (taken != null && taken > 0) {
+            return true;
+        }
+        if (jobLeaseRepository.existsById(name)) {
+            return false;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> jobLeaseRepository.create(name, nodeId, expiresAt));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Release a lease held by this node, so another node may take it immediately.
+     *
+     * @param name the name of the lease
+     */
+    @Override
+    public void release(String name) {
+        transactionTemplate.executeWithoutResult(status -> jobLeaseRepository.release(name, nodeId, LocalDateTime.now()));
+    }
+
+    @Override
+    public String getNodeId() {
+        return nodeId;
+    }
+}
@@ -0,0 +1,366 @@
+package com.todolist.app.service.impl;
+
+import com.todolist.app.dto.response.SweepPartitionReport;
+import com.todolist.app.dto.response.SweepReport;
+import com.todolist.app.event.TodoChangeEvent;
+import com.todolist.app.event.TodoItemState;
+import com.todolist.app.outbox.TodoChangeOutbox;
+import com.todolist.app.repository.TodoCompletion;
+import com.todolist.app.repository.TodoIdRange;
+import com.todolist.app.repository.TodoRepository;
+import com.todolist.app.service.TaskSweepService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Implementation of the TaskSweepService that completes due tasks in bounded chunks.
+ *
+ * Each chunk selects the next batch of due task IDs by keyset on the ID and completes them
+ * with one bulk update in its own transaction, so a run never loads the table into memory.
+ * A run splits the ID range into partitions swept in parallel on a pool of todo.sweep.parallelism
+ * threads; each thread holds a pooled connection while it works, so the pool size bounds the
+ * connections a sweep takes from request handling.
+ */
+@Service
+public class TaskSweepServiceImpl implements TaskSweepService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskSweepServiceImpl.class);
+
+    private static final long RETRY_BACKOFF_MILLIS = 100;
+
+    private static final int PROGRESS_LOG_INTERVAL = 100;
+
+    private final TodoRepository todoRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TodoChangeOutbox todoChangeOutbox;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int partitions;
+    private final int maxAttempts;
+    private final ExecutorService sweepExecutor;
+    private final Set<AtomicBoolean> activeRuns = ConcurrentHashMap.newKeySet();
+    private final Timer sweepTimer;
+    private final Counter rowsScannedCounter;
+    private final Counter rowsUpdatedCounter;
+
+    @Autowired
+    public TaskSweepServiceImpl(TodoRepository todoRepository,
+                                ApplicationEventPublisher eventPublisher,
+                                TodoChangeOutbox todoChangeOutbox,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry,
+                                @Value("${todo.sweep.batch-size:500}") int batchSize,
+                                @Value("${todo.sweep.parallelism:4}") int parallelism,
+                                @Value("${todo.sweep.partitions:16}") int partitions,
+                                @Value("${todo.sweep.max-attempts:3}") int maxAttempts) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("todo.sweep.batch-size must be at least 1");
+        }
+        if (parallelism < 1 || partitions < 1 || maxAttempts < 1) {
+            throw new IllegalArgumentException("todo.sweep.parallelism, partitions and max-attempts must be at least 1");
+        }
+        this.todoRepository = todoRepository;
+        this.eventPublisher = eventPublisher;
+        this.todoChangeOutbox = todoChangeOutbox;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.partitions = partitions;
+        this.maxAttempts = maxAttempts;
+        this.sweepExecutor = Executors.newFixedThreadPool(parallelism, new CustomizableThreadFactory("sweep-"));
+        this.sweepTimer = Timer.builder("todo.sweep.duration")
+                .description("Duration of due-task sweep runs")
+                .register(meterRegistry);
+        this.rowsScannedCounter = Counter.builder("todo.sweep.rows.scanned")
+                .description("Due tasks selected by sweep runs")
+                .register(meterRegistry);
+        this.rowsUpdatedCounter = Counter.builder("todo.sweep.rows.updated")
+                .description("Tasks completed by sweep runs")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Complete every incomplete task that is due now.
+     *
+     * @return the metrics for the run
+     */
+    @Override
+    public SweepReport sweepDueTasks() {
+        return sweepDueTasks(LocalDateTime.now());
+    }
+
+    /**
+     * Complete every incomplete task that is due at or before the cutoff.
+     *
+     * @param cutoff the due date cutoff, taken once for the whole run
+     * @return the metrics for the run
+     */
+    @Override
+    public SweepReport sweepDueTasks(LocalDateTime cutoff) {
+        return sweepDueTasks(cutoff, 0, 1, () -> true);
+    }
+
+    /**
+     * Complete the incomplete tasks of one shard that are due at or before the cutoff.
+     *
+     * The task ID range is split into partitions that are swept concurrently on the sweep pool.
+     * Each partition commits its chunks in their own transactions, retries a chunk that fails
+     * transiently, and reports on its own: a failed partition does not stop the others.
+     *
+     * @param cutoff        the due date cutoff, taken once for the whole run
+     * @param shard         the shard to sweep, from 0 to shardCount - 1
+     * @param shardCount    the number of shards; 1 sweeps every task
+     * @param continueSweep checked before each chunk; the run stops early once it returns false
+     * @return the metrics for the run
+     */
+    @Override
+    public SweepReport sweepDueTasks(LocalDateTime cutoff, int shard, int shardCount, BooleanSupplier continueSweep) {
+        if (shardCount < 1 || shard < 0 || shard >= shardCount) {
+            throw new IllegalArgumentException("Shard " + shard + " is outside 0.." + (shardCount - 1));
+        }
+        long start = System.nanoTime();
+        List<SweepPartitionReport> partitionReports = new ArrayList<>();
+
+        TodoIdRange range = todoRepository.findIdRange();
+        if (range != null && range.getMinId() != null) {
+            AtomicBoolean cancelled = new AtomicBoolean();
+            BooleanSupplier keepGoing = () -> !cancelled.get() && continueSweep.getAsBoolean();
+            activeRuns.add(cancelled);
+            try {
+                List<Future<SweepPartitionReport>> futures = new ArrayList<>();
+                long minId = range.getMinId();
+                long maxId = range.getMaxId();
+                long span = maxId - minId + 1;
+                long count = Math.min(partitions, (span + batchSize - 1) / batchSize);
+                long size = (span + count - 1) / count;
+                for (int partition = 0; partition < count; partition++) {
+                    int index = partition;
+                    long fromId = minId + partition * size;
+                    long toId = Math.min(fromId + size - 1, maxId);
+                    futures.add(sweepExecutor.submit(() ->
+                            sweepPartition(index, fromId, toId, cutoff, shard, shardCount, keepGoing)));
+                }
+                for (Future<SweepPartitionReport> future : futures) {
+                    partitionReports.add(awaitPartition(future, cancelled));
+                }
+            } finally {
+                activeRuns.remove(cancelled);
+            }
+        }
+
+        long rowsScanned = 0;
+        long rowsUpdated = 0;
+        int batches = 0;
+        for (SweepPartitionReport partitionReport : partitionReports) {
+            rowsScanned += partitionReport.getRowsScanned();
+            rowsUpdated += partitionReport.getRowsUpdated();
+            batches += partitionReport.getBatches();
+        }
+        SweepReport report = new SweepReport(cutoff, rowsScanned, rowsUpdated, batches,
+                (System.nanoTime() - start) / 1_000_000, partitionReports);
+        sweepTimer.record(report.getDurationMillis(), TimeUnit.MILLISECONDS);
+        if (shardCount == 1) {
+            logger.info("Due-task sweep finished: {}", report);
+        } else {
+            logger.info("Due-task sweep of shard {}/{} finished: {}", shard, shardCount, report);
+        }
+        return report;
+    }
+
+    /**
+     * Stop every running sweep after its current chunks; completed chunks stay committed.
+     */
+    @Override
+    public void cancelRunningSweeps() {
+        activeRuns.forEach(cancelled -> cancelled.set(true));
+    }
+
+    /**
+     * Cancels running sweeps and stops the sweep pool on shutdown.
+     */
+    @PreDestroy
+    public void shutdown() {
+        cancelRunningSweeps();
+        sweepExecutor.shutdown();
+        try {
+            sweepExecutor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Sweeps the due tasks of one shard with IDs from fromId to toId, inclusive, by keyset on the ID.
+     */
+    private SweepPartitionReport sweepPartition(int partition, long fromId, long toId, LocalDateTime cutoff,
+                                                int shard, int shardCount, BooleanSupplier keepGoing) {
+        long start = System.nanoTime();
+        long rowsScanned = 0;
+        long rowsUpdated = 0;
+        int batches = 0;
+        int retries = 0;
+        long lastId = fromId - 1;
+        SweepPartitionReport.Status status = SweepPartitionReport.Status.COMPLETED;
+
+        try {
+            chunks:
+            while (true) {
+                if (!keepGoing.getAsBoolean()) {
+                    status = SweepPartitionReport.Status.CANCELLED;
+                    break;
+                }
+                PageRequest chunk = PageRequest.of(0, batchSize);
+                List<Long> ids = shardCount == 1
+                        ? todoRepository.findDueTaskIds(false, cutoff, lastId, toId, chunk)
+                        : todoRepository.findDueTaskIdsInShard(false, cutoff, lastId, toId, shardCount, shard, chunk);
+                if (ids.isEmpty()) {
+                    break;
+                }
+
+                List<TodoItemState> completed;
+                for (int attempt = 1; ; attempt++) {
+                    try {
+                        completed = transactionTemplate.execute(tx -> complete(ids, cutoff));
+                        break;
+                    } catch (TransientDataAccessException e) {
+                        if (attempt >= maxAttempts) {
+                            throw e;
+                        }
+                        retries++;
+                        logger.debug("Retrying sweep partition {} chunk after {}: {}", partition, ids.get(0), e.getMessage());
+                        try {
+                            Thread.sleep(RETRY_BACKOFF_MILLIS * attempt);
+                        } catch (InterruptedException interrupted) {
+                            Thread.currentThread().interrupt();
+                            status = SweepPartitionReport.Status.CANCELLED;
+                            break chunks;
+                        }
+                    }
+                }
+                int updated = completed == null ? 0 : completed.size();
+                if (updated > 0) {
+                    // Only the rows the update changed: rows changed since selection were skipped
+                    eventPublisher.publishEvent(TodoChangeEvent.completed(completed));
+                }
+
+                batches++;
+                rowsScanned += ids.size();
+                rowsUpdated += updated;
+                rowsScannedCounter.increment(ids.size());
+                rowsUpdatedCounter.increment(updated);
+                lastId = ids.get(ids.size() - 1);
+                if (batches % PROGRESS_LOG_INTERVAL == 0) {
+                    logger.info("Sweep partition {} at ID {} of {}..{}: {} rows updated", partition, lastId,
+                            fromId, toId, rowsUpdated);
+                }
+
+                if (ids.size() < batchSize) {
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            status = SweepPartitionReport.Status.FAILED;
+            logger.warn("Sweep partition {} failed after ID {}; the next run picks it up: {}", partition, lastId,
+                    e.getMessage());
+        }
+
+        return new SweepPartitionReport(partition, fromId, toId, rowsScanned, rowsUpdated, batches, retries, status,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Waits for a partition to finish. An interrupt cancels the run, and waiting continues so
+     * the report still covers every partition.
+     */
+    private static SweepPartitionReport awaitPartition(Future<SweepPartitionReport> future, AtomicBoolean cancelled) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return future.get();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                    cancelled.set(true);
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Sweep partition did not complete", e.getCause());
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Complete the given tasks if they are still incomplete and due at or before the cutoff.
+     * Runs as one chunk; used by the due-date scheduler, so the report is only logged at debug level.
+     *
+     * @param ids    the IDs of the candidate tasks
+     * @param cutoff the due date cutoff
+     * @return the metrics for the run
+     */
+    @Override
+    public SweepReport completeDueTasks(Collection<Long> ids, LocalDateTime cutoff) {
+        long start = System.nanoTime();
+        List<TodoItemState> completed = transactionTemplate.execute(status -> complete(ids, cutoff));
+        long rowsUpdated = completed == null ? 0 : completed.size();
+        if (rowsUpdated > 0) {
+            eventPublisher.publishEvent(TodoChangeEvent.completed(completed));
+        }
+
+        SweepReport report = new SweepReport(cutoff, ids.size(), rowsUpdated, 1,
+                (System.nanoTime() - start) / 1_000_000);
+        rowsScannedCounter.increment(ids.size());
+        rowsUpdatedCounter.increment(rowsUpdated);
+        logger.debug("Scheduled completion finished: {}", report);
+        return report;
+    }
+
+    /**
+     * Completes the due tasks among the candidates and records the ones it completed in the outbox.
+     * Must run inside a transaction.
+     *
+     * @return the state of the tasks completed before the update: incomplete, one version earlier, with
+     * the priority and due date they kept
+     */
+    private List<TodoItemState> complete(Collection<Long> ids, LocalDateTime cutoff) {
+        List<TodoCompletion> completed = todoRepository.completeDueTasks(ids, cutoff, cutoff);
+        if (!completed.isEmpty()) {
+            todoChangeOutbox.appendCompletions(completed, cutoff);
+        }
+        List<TodoItemState> previous = new ArrayList<>(completed.size());
+        for (TodoCompletion task : completed) {
+            // The update increments the version by one
+            previous.add(new TodoItemState(task.getId(), task.getVersion() - 1, task.getPriority(), false,
+                    task.getDueDate(), null));
+        }
+        return previous;
+    }
+}
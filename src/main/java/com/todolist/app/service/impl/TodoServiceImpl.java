@@ -1,41 +1,208 @@
 package com.todolist.app.service.impl;
 
+import com.todolist.app.cache.TodoCacheNames;
+import com.todolist.app.dto.response.TodoItemResponseDTO;
+import com.todolist.app.event.TodoChangeEvent;
+import com.todolist.app.event.TodoItemState;
+import com.todolist.app.exception.TaskConflictException;
 import com.todolist.app.model.TodoItem;
+import com.todolist.app.model.TodoItemPatch;
+import com.todolist.app.model.TodoItemSnapshot;
+import com.todolist.app.outbox.TodoChangeOutbox;
+import com.todolist.app.repository.TodoVersionStamp;
 import com.todolist.app.repository.TodoRepository;
 import com.todolist.app.service.TodoService;
-import com.todolist.app.specification.TodoSpecification;
+import com.todolist.app.specification.TodoCursor;
+import com.todolist.app.specification.TodoQuery;
+import com.todolist.app.writebehind.TaskWriteBuffer;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Sort;
-import org.springframework.data.jpa.domain.Specification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Implementation of the TodoService interface for managing tasks.
+ *
+ * Every mutation records its changes in the outbox inside its own transaction, and publishes
+ * the TodoChangeEvent once that transaction has committed. When write-behind is enabled, partial
+ * updates are acknowledged from TaskWriteBuffer instead, and written by its flushes.
  */
 @Service
 public class TodoServiceImpl implements TodoService {
 
+    /**
+     * Timer recording the latency of every TodoService method, tagged by class and method.
+     */
+    private static final String TIMER_NAME = "todo.service";
+
+    /**
+     * Number of streamed tasks after which the persistence context is cleared.
+     * Matches the JDBC fetch size of TodoRepository#streamTasks.
+     */
+    private static final int STREAM_CLEAR_INTERVAL = 500;
+
     private final TodoRepository todoRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TodoChangeOutbox todoChangeOutbox;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskWriteBuffer taskWriteBuffer;
+    private final int batchChunkSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Autowired
-    public TodoServiceImpl(TodoRepository todoRepository) {
+    public TodoServiceImpl(TodoRepository todoRepository,
+                           ApplicationEventPublisher eventPublisher,
+                           TodoChangeOutbox todoChangeOutbox,
+                           PlatformTransactionManager transactionManager,
+                           TaskWriteBuffer taskWriteBuffer,
+                           @Value("${todo.batch.chunk-size:500}") int batchChunkSize) {
+        if (batchChunkSize < 1) {
+            throw new IllegalArgumentException("todo.batch.chunk-size must be at least 1");
+        }
         this.todoRepository = todoRepository;
+        this.eventPublisher = eventPublisher;
+        this.todoChangeOutbox = todoChangeOutbox;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.taskWriteBuffer = taskWriteBuffer;
+        this.batchChunkSize = batchChunkSize;
     }
 
     /**
-     * Get a list of tasks filtered by priority and completion status.
+     * Get the tasks matching a query, in its order.
+     *
+     * @param query the filter and ordering
+     * @return a list of tasks matching the query
+     */
+    @Override
+    @Timed(TIMER_NAME)
+    public List<TodoItem> getTasks(TodoQuery query) {
+        return todoRepository.findTasks(query);
+    }
+
+    /**
+     * Get one page of tasks matching a query.
+     *
+     * The page seeks on (sort key, id) instead of using an offset, so reading a page
+     * costs the same regardless of how deep into the listing it is.
+     *
+     * @param query  the filter and ordering
+     * @param cursor the position after which the page starts (nullable for the first page)
+     * @param limit  the maximum number of tasks in the page
+     * @return the page of tasks
+     */
+    @Override
+    @Timed(TIMER_NAME)
+    public Slice<TodoItem> getTasksPage(TodoQuery query, TodoCursor cursor, int limit) {
+        return todoRepository.findSlice(query, cursor, limit);
+    }
+
+    /**
+     * Get the tasks matching a query as response DTOs.
+     *
+     * The rows are projected straight into DTOs inside a read-only transaction, in which Spring sets
+     * the Hibernate flush mode to manual: no entity is hydrated, snapshotted or dirty-checked.
+     *
+     * @param query the filter and ordering
+     * @return the matching tasks
+     */
+    @Override
+    @Timed(TIMER_NAME)
+    @Transactional(readOnly = true)
+    public List<TodoItemResponseDTO> getTaskResponses(TodoQuery query) {
+        return todoRepository.findResponses(query);
+    }
+
+    /**
+     * Get one page of tasks matching a query as response DTOs, in a read-only transaction.
+     *
+     * @param query  the filter and ordering
+     * @param cursor the position after which the page starts (nullable for the first page)
+     * @param limit  the maximum number of tasks in the page
+     * @return the page of tasks
+     */
+    @Override
+    @Timed(TIMER_NAME)
+    @Transactional(readOnly = true)
+    public Slice<TodoItemResponseDTO> getTaskResponsesPage(TodoQuery query, TodoCursor cursor, int limit) {
+        return todoRepository.findResponseSlice(query, cursor, limit);
+    }
+
+    /**
+     * Retrieve only the version and last modification time of a task.
+     *
+     * @param id the ID of the task
+     * @return the version stamp of the task, or null if not found
+     */
+    @Override
+    @Timed(TIMER_NAME)
+    public TodoVersionStamp getTaskVersionStamp(Long id) {
+        TodoItem buffered = taskWriteBuffer.get(id);
+        if (buffered != null) {
+            return new TodoVersionStamp() {
+                @Override
+                public Long getVersion() {
+                    return buffered.getVersion();
+                }
+
+                @Override
+                public LocalDateTime getUpdatedAt() {
+                    return buffered.getUpdatedAt();
+                }
+            };
+        }
+        return todoRepository.findVersionStampById(id).orElse(null);
+    }
+
+    /**
+     * Stream tasks filtered by priority and completion status to a consumer.
+     *
+     * The persistence context is cleared every few hundred rows so the heap stays flat
+     * however many tasks are streamed.
      *
      * @param priority  the priority level to filter by (nullable)
      * @param completed the completion status to filter by (nullable)
-     * @return a list of tasks matching the criteria
+     * @param consumer  the callback receiving each task in ID order
      */
     @Override
-    public List<TodoItem> getTasks(Integer priority, Boolean completed) {
-        Specification<TodoItem> specification = TodoSpecification.filterByPriorityAndCompleted(priority, completed);
-        Sort sort = Sort.by(Sort.Direction.DESC, "updatedAt"); // Sort by updatedAt in ascending order
-        return todoRepository.findAll(specification, sort);
+    @Timed(TIMER_NAME)
+    @Transactional(readOnly = true)
+    public void streamTasks(Integer priority, Boolean completed, Consumer<TodoItem> consumer) {
+        try (Stream<TodoItem> tasks = todoRepository.streamTasks(priority, completed)) {
+            Iterator<TodoItem> iterator = tasks.iterator();
+            int streamed = 0;
+            while (iterator.hasNext()) {
+                consumer.accept(iterator.next());
+                if (++streamed % STREAM_CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
     }
 
     /**
@@ -45,6 +212,7 @@ public class TodoServiceImpl implements TodoService {
      * @return a list of all TodoItem objects
      */
     @Override
+    @Timed(TIMER_NAME)
     public List<TodoItem> getAllTasks() {
         // Fetch all tasks from the repository
         return todoRepository.findAll();
@@ -57,8 +225,12 @@ public class TodoServiceImpl implements TodoService {
      * @return the created task
      */
     @Override
+    @Timed(TIMER_NAME)
     public TodoItem createTask(TodoItem todoItem) {
-        return todoRepository.save(todoItem);
+        TodoChangeEvent event = transactionTemplate.execute(status ->
+                todoChangeOutbox.append(TodoChangeEvent.created(Collections.singletonList(todoRepository.save(todoItem)))));
+        eventPublisher.publishEvent(event);
+        return event.getTasks().get(0);
     }
 
     /**
@@ -69,20 +241,101 @@ public class TodoServiceImpl implements TodoService {
      * @return the updated task
      */
     @Override
+    @Timed(TIMER_NAME)
     public TodoItem updateTask(Long id, TodoItem todoItem) {
         todoItem.setId(id); // Ensure the task ID is set for update
-        return todoRepository.save(todoItem);
+        taskWriteBuffer.flush(Collections.singletonList(id));
+        // Flushed inside the transaction so the outbox records the new version
+        TodoChangeEvent event = transactionTemplate.execute(status -> {
+            List<TodoItemState> previous = todoRepository.findStatesForUpdate(Collections.singletonList(id));
+            return todoChangeOutbox.append(TodoChangeEvent.updated(previous,
+                    Collections.singletonList(todoRepository.saveAndFlush(todoItem))));
+        });
+        eventPublisher.publishEvent(event);
+        return event.getTasks().get(0);
+    }
+
+    /**
+     * Apply a partial update to a task.
+     *
+     * The update is one UPDATE of the changed columns guarded by the expected version, followed
+     * by a read of the new state; the existence check only runs when no row was updated.
+     * With write-behind enabled the update is merged into the task's buffered state instead.
+     *
+     * @param id              the ID of the task to update
+     * @param patch           the changed fields
+     * @param expectedVersion the version the update is conditional on (nullable for an unconditional update)
+     * @return the updated task, or null if not found
+     */
+    @Override
+    @Timed(TIMER_NAME)
+    public TodoItem patchTask(Long id, TodoItemPatch patch, Long expectedVersion) {
+        if (taskWriteBuffer.accepts(id)) {
+            return taskWriteBuffer.update(id, patch, expectedVersion);
+        }
+        // Buffered updates that could not be taken (the buffer is full or closing) are written first
+        taskWriteBuffer.flush(Collections.singletonList(id));
+        TodoChangeEvent event = transactionTemplate.execute(status -> {
+            // The row stays locked until commit, so its state is read before and after the update
+            List<TodoItemState> previous = todoRepository.findStatesForUpdate(Collections.singletonList(id));
+            if (previous.isEmpty() || todoRepository.patch(id, patch, expectedVersion, LocalDateTime.now()) == 0) {
+                return null;
+            }
+            TodoItem task = todoRepository.findById(id).orElseThrow();
+            return todoChangeOutbox.append(TodoChangeEvent.updated(previous, Collections.singletonList(task)));
+        });
+        if (event == null) {
+            if (!todoRepository.existsById(id)) {
+                return null;
+            }
+            throw new TaskConflictException(id);
+        }
+
+        eventPublisher.publishEvent(event);
+        return event.getTasks().get(0);
     }
 
     /**
      * Retrieve a task by its ID.
      *
+     * Results are cached as immutable copies; entries are evicted by TodoCacheInvalidator whenever
+     * the task changes, on this node or another. Tasks with buffered updates bypass the cache and
+     * are answered from TaskWriteBuffer.
+     *
      * @param id the ID of the task to retrieve
-     * @return the task if found, or null if not found
+     * @return an immutable copy of the task if found, or null if not found
      */
     @Override
-    public TodoItem getTaskById(Long id) {
-        return todoRepository.findById(id).orElse(null);
+    @Timed(TIMER_NAME)
+    @Cacheable(cacheNames = TodoCacheNames.TASKS_BY_ID, key = "#id", unless = "#result == null",
+            condition = "!@taskWriteBuffer.isBuffered(#id)")
+    public TodoItemSnapshot getTaskById(Long id) {
+        TodoItem buffered = taskWriteBuffer.get(id);
+        if (buffered != null) {
+            return TodoItemSnapshot.of(buffered);
+        }
+        return todoRepository.findById(id).map(TodoItemSnapshot::of).orElse(null);
+    }
+
+    /**
+     * Retrieve several tasks by ID with one query, in the order of the IDs.
+     * Tasks with buffered updates are answered from TaskWriteBuffer.
+     *
+     * @param ids the IDs of the tasks to retrieve
+     * @return the tasks that exist, in the order of the IDs
+     */
+    @Override
+    @Timed(TIMER_NAME)
+    public List<TodoItem> getTasksByIds(List<Long> ids) {
+        Map<Long, TodoItem> tasks = new HashMap<>();
+        todoRepository.findAllById(ids).forEach(task -> tasks.put(task.getId(), task));
+        return ids.stream()
+                .map(id -> {
+                    TodoItem buffered = taskWriteBuffer.get(id);
+                    return buffered != null ? buffered : tasks.get(id);
+                })
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
     }
 
     /**
@@ -91,7 +344,111 @@ public class TodoServiceImpl implements TodoService {
      * @param id the ID of the task to delete
      */
     @Override
+    @Timed(TIMER_NAME)
     public void deleteTask(Long id) {
-        todoRepository.deleteById(id);
+        taskWriteBuffer.discard(Collections.singletonList(id));
+        TodoChangeEvent event = transactionTemplate.execute(status -> {
+            List<TodoItemState> previous = todoRepository.findStatesForUpdate(Collections.singletonList(id));
+            todoRepository.deleteById(id);
+            return todoChangeOutbox.append(TodoChangeEvent.deleted(previous));
+        });
+        eventPublisher.publishEvent(event);
+    }
+
+    /**
+     * Create many tasks.
+     *
+     * Each chunk is saved in its own transaction so Hibernate can send the inserts as
+     * JDBC batches, with IDs taken from the pooled sequence.
+     *
+     * @param todoItems the tasks to create
+     * @return the created tasks, in the same order
+     */
+    @Override
+    @Timed(TIMER_NAME)
+    public List<TodoItem> createTasks(List<TodoItem> todoItems) {
+        List<TodoItem> created = new ArrayList<>(todoItems.size());
+        for (List<TodoItem> chunk : chunks(todoItems)) {
+            TodoChangeEvent event = transactionTemplate.execute(status ->
+                    todoChangeOutbox.append(TodoChangeEvent.created(todoRepository.saveAll(chunk))));
+            eventPublisher.publishEvent(event);
+            created.addAll(event.getTasks());
+        }
+        return created;
+    }
+
+    /**
+     * Update many tasks.
+     *
+     * Each chunk loads its tasks with one query, applies the updates to the managed
+     * entities, and lets the flush at commit send the changes as JDBC batches.
+     *
+     * @param updates the update to apply, keyed by task ID
+     * @return the updated tasks keyed by ID; IDs without a task are absent
+     */
+    @Override
+    @Timed(TIMER_NAME)
+    public Map<Long, TodoItem> updateTasks(Map<Long, Consumer<TodoItem>> updates) {
+        taskWriteBuffer.flush(updates.keySet());
+        Map<Long, TodoItem> updated = new LinkedHashMap<>();
+        for (List<Long> chunk : chunks(new ArrayList<>(updates.keySet()))) {
+            TodoChangeEvent event = transactionTemplate.execute(status -> {
+                List<TodoItem> tasks = todoRepository.findAllById(chunk);
+                // The versions are checked at flush, so the loaded state is the one the updates start from
+                List<TodoItemState> previous = tasks.stream().map(TodoItemState::of).collect(Collectors.toList());
+                tasks.forEach(task -> updates.get(task.getId()).accept(task));
+                // Flush before commit so the outbox records the new versions; the updates still go out as batches
+                todoRepository.flush();
+                return todoChangeOutbox.append(TodoChangeEvent.updated(previous, tasks));
+            });
+            eventPublisher.publishEvent(event);
+            event.getTasks().forEach(task -> updated.put(task.getId(), task));
+        }
+        return updated;
+    }
+
+    /**
+     * Delete many tasks.
+     *
+     * Each chunk checks which IDs exist and removes them with a single bulk delete.
+     *
+     * @param ids the IDs of the tasks to delete
+     * @return the IDs that belonged to a task and were deleted
+     */
+    @Override
+    @Timed(TIMER_NAME)
+    public Set<Long> deleteTasks(Collection<Long> ids) {
+        taskWriteBuffer.discard(ids);
+        Set<Long> deleted = new HashSet<>();
+        for (List<Long> chunk : chunks(new ArrayList<>(new HashSet<>(ids)))) {
+            TodoChangeEvent event = transactionTemplate.execute(status -> {
+                List<TodoItemState> existing = todoRepository.findStatesForUpdate(chunk);
+                if (existing.isEmpty()) {
+                    return null;
+                }
+                todoRepository.deleteAllByIdInBatch(
+                        existing.stream().map(TodoItemState::getId).collect(Collectors.toList()));
+                return todoChangeOutbox.append(TodoChangeEvent.deleted(existing));
+            });
+            if (event != null) {
+                eventPublisher.publishEvent(event);
+                deleted.addAll(event.getIds());
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * Split a list into consecutive chunks of the configured batch chunk size.
+     *
+     * @param items the list to split
+     * @return the chunks, as views of the list
+     */
+    private <T> List<List<T>> chunks(List<T> items) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int start = 0; start < items.size(); start += batchChunkSize) {
+            chunks.add(items.subList(start, Math.min(start + batchChunkSize, items.size())));
+        }
+        return chunks;
     }
 }
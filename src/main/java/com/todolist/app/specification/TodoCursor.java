@@ -0,0 +1,87 @@
+package com.todolist.app.specification;
+
+import com.todolist.app.dto.response.TodoItemResponseDTO;
+import com.todolist.app.exception.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position in a task listing: the sort key value and ID of the last task returned.
+ * A cursor is only meaningful with the sort it was produced for.
+ */
+public final class TodoCursor {
+
+    private static final char SEPARATOR = '|';
+
+    private final LocalDateTime value;
+    private final long id;
+
+    public TodoCursor(LocalDateTime value, long id) {
+        this.value = value;
+        this.id = id;
+    }
+
+    /**
+     * Create a cursor positioned after the given task.
+     *
+     * @param task    the last task of a page
+     * @param sortKey the key the listing is sorted by
+     * @return the cursor for the next page
+     */
+    public static TodoCursor after(TodoItemResponseDTO task, TodoQuery.SortKey sortKey) {
+        switch (sortKey) {
+            case DUE_DATE:
+                return new TodoCursor(task.getDueDate(), task.getId());
+            case CREATED_AT:
+                return new TodoCursor(task.getCreatedAt(), task.getId());
+            default:
+                return new TodoCursor(task.getUpdatedAt(), task.getId());
+        }
+    }
+
+    /**
+     * Decode a cursor previously produced by {@link #encode()}.
+     *
+     * @param token the opaque cursor token
+     * @return the decoded cursor
+     * @throws InvalidRequestException if the token is malformed
+     */
+    public static TodoCursor decode(String token) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new InvalidRequestException("Invalid cursor");
+            }
+            return new TodoCursor(LocalDateTime.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            // IllegalArgumentException covers malformed Base64 and NumberFormatException
+            throw new InvalidRequestException("Invalid cursor", e);
+        }
+    }
+
+    /**
+     * Encode the cursor as an opaque, URL-safe token.
+     *
+     * @return the cursor token
+     */
+    public String encode() {
+        String token = value.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the sort key value of the last task returned
+     */
+    public LocalDateTime getValue() {
+        return value;
+    }
+
+    public long getId() {
+        return id;
+    }
+}
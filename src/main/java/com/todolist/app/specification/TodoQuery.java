@@ -0,0 +1,228 @@
+package com.todolist.app.specification;
+
+import com.todolist.app.exception.InvalidRequestException;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Filter and ordering of a task listing.
+ *
+ * Every field is optional; unset fields do not filter. Date ranges include their lower bound and
+ * exclude their upper bound. Listings are ordered by one of the indexed sort keys, with the ID as
+ * tie-breaker, so they can be paged with a TodoCursor.
+ */
+public class TodoQuery {
+
+    /**
+     * Largest priority set accepted, which keeps the number of distinct query shapes bounded.
+     */
+    public static final int MAX_PRIORITIES = 16;
+
+    /**
+     * The orderings backed by an index.
+     */
+    public enum SortKey {
+        UPDATED_AT("updatedAt"),
+        DUE_DATE("dueDate"),
+        CREATED_AT("createdAt");
+
+        private final String property;
+
+        SortKey(String property) {
+            this.property = property;
+        }
+
+        /**
+         * @return the TodoItem property the key sorts on
+         */
+        public String getProperty() {
+            return property;
+        }
+
+        /**
+         * @param property the property name, as used in the sort request parameter
+         * @return the sort key for the property
+         * @throws InvalidRequestException if the property is not a sort key
+         */
+        public static SortKey fromProperty(String property) {
+            for (SortKey key : values()) {
+                if (key.property.equals(property)) {
+                    return key;
+                }
+            }
+            throw new InvalidRequestException("Sort must be one of updatedAt, dueDate or createdAt");
+        }
+    }
+
+    private Set<Integer> priorities = Collections.emptySet();
+    private Boolean completed;
+    private LocalDateTime dueFrom;
+    private LocalDateTime dueTo;
+    private LocalDateTime createdFrom;
+    private LocalDateTime createdTo;
+    private String titlePrefix;
+    private SortKey sortKey = SortKey.UPDATED_AT;
+    private boolean ascending;
+
+    /**
+     * @param priority  the priority to filter by (nullable)
+     * @param completed the completion status to filter by (nullable)
+     * @return the query for the filter, newest updates first
+     */
+    public static TodoQuery of(Integer priority, Boolean completed) {
+        TodoQuery query = new TodoQuery();
+        if (priority != null) {
+            query.setPriorities(Collections.singleton(priority));
+        }
+        query.setCompleted(completed);
+        return query;
+    }
+
+    /**
+     * Checks that every range is ordered.
+     *
+     * @return this query
+     * @throws InvalidRequestException if a range ends before it starts
+     */
+    public TodoQuery validate() {
+        if (dueFrom != null && dueTo != null && !dueFrom.isBefore(dueTo)) {
+            throw new InvalidRequestException("dueFrom must be before dueTo");
+        }
+        if (createdFrom != null && createdTo != null && !createdFrom.isBefore(createdTo)) {
+            throw new InvalidRequestException("createdFrom must be before createdTo");
+        }
+        return this;
+    }
+
+    /**
+     * @return a key identifying the filter and ordering, equal for equal queries
+     */
+    public String cacheKey() {
+        return priorities + "|" + completed + "|" + dueFrom + "|" + dueTo + "|" + createdFrom + "|" + createdTo
+                + "|" + titlePrefix + "|" + sortKey + "|" + (ascending ? "asc" : "desc");
+    }
+
+    /**
+     * @return a key identifying which predicates and ordering the query uses, but not their values
+     */
+    public String shapeKey() {
+        StringBuilder shape = new StringBuilder();
+        shape.append(priorities.isEmpty() ? '-' : priorities.size() == 1 ? 'p' : 'P');
+        shape.append(completed != null ? 'c' : '-');
+        shape.append(dueFrom != null ? 'd' : '-').append(dueTo != null ? 'D' : '-');
+        shape.append(createdFrom != null ? 'r' : '-').append(createdTo != null ? 'R' : '-');
+        shape.append(titlePrefix != null ? 't' : '-');
+        shape.append('|').append(sortKey.name()).append(ascending ? "|asc" : "|desc");
+        return shape.toString();
+    }
+
+    // Getters and Setters
+    public Set<Integer> getPriorities() {
+        return priorities;
+    }
+
+    /**
+     * @param priorities the priorities to filter by; empty or null for any priority
+     * @throws InvalidRequestException if more than MAX_PRIORITIES priorities are given
+     */
+    public void setPriorities(Collection<Integer> priorities) {
+        Set<Integer> sorted = priorities == null ? Collections.emptySet() : new TreeSet<>(priorities);
+        if (sorted.size() > MAX_PRIORITIES) {
+            throw new InvalidRequestException("At most " + MAX_PRIORITIES + " priorities can be given");
+        }
+        this.priorities = Collections.unmodifiableSet(sorted);
+    }
+
+    public Boolean getCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(Boolean completed) {
+        this.completed = completed;
+    }
+
+    public LocalDateTime getDueFrom() {
+        return dueFrom;
+    }
+
+    public void setDueFrom(LocalDateTime dueFrom) {
+        this.dueFrom = dueFrom;
+    }
+
+    public LocalDateTime getDueTo() {
+        return dueTo;
+    }
+
+    public void setDueTo(LocalDateTime dueTo) {
+        this.dueTo = dueTo;
+    }
+
+    public LocalDateTime getCreatedFrom() {
+        return createdFrom;
+    }
+
+    public void setCreatedFrom(LocalDateTime createdFrom) {
+        this.createdFrom = createdFrom;
+    }
+
+    public LocalDateTime getCreatedTo() {
+        return createdTo;
+    }
+
+    public void setCreatedTo(LocalDateTime createdTo) {
+        this.createdTo = createdTo;
+    }
+
+    public String getTitlePrefix() {
+        return titlePrefix;
+    }
+
+    /**
+     * @param titlePrefix the case-sensitive start of the title; empty or null for any title
+     */
+    public void setTitlePrefix(String titlePrefix) {
+        this.titlePrefix = titlePrefix == null || titlePrefix.isEmpty() ? null : titlePrefix;
+    }
+
+    public SortKey getSortKey() {
+        return sortKey;
+    }
+
+    public void setSortKey(SortKey sortKey) {
+        this.sortKey = sortKey != null ? sortKey : SortKey.UPDATED_AT;
+    }
+
+    public boolean isAscending() {
+        return ascending;
+    }
+
+    public void setAscending(boolean ascending) {
+        this.ascending = ascending;
+    }
+
+    /**
+     * Parses a sort parameter of the form {@code property} or {@code property,asc|desc}.
+     *
+     * @param sort the sort parameter (nullable for the default, updatedAt descending)
+     * @throws InvalidRequestException if the property or direction is unknown
+     */
+    public void setSort(String sort) {
+        if (sort == null || sort.isEmpty()) {
+            return;
+        }
+        String[] parts = sort.split(",", 2);
+        setSortKey(SortKey.fromProperty(parts[0].trim()));
+        if (parts.length > 1) {
+            String direction = parts[1].trim().toLowerCase(Locale.ROOT);
+            if (!direction.equals("asc") && !direction.equals("desc")) {
+                throw new InvalidRequestException("Sort direction must be asc or desc");
+            }
+            setAscending(direction.equals("asc"));
+        }
+    }
+}
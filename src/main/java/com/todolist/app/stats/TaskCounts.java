@@ -0,0 +1,174 @@
+package com.todolist.app.stats;
+
+import com.todolist.app.dto.response.TaskStatsDTO;
+import com.todolist.app.event.TodoItemState;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * One generation of task counters, changed by the state a task had before and after a change.
+ *
+ * The counts by priority and completion status are LongAdders, which stripe their cells across
+ * threads, so concurrent changes do not contend on them. The overdue and completed-today counts
+ * depend on the clock as well: open tasks that are not overdue yet are counted by due minute and
+ * move to the overdue count as the clock passes their minute, and the completed-today count starts
+ * over each day. Those are kept under the monitor of the instance.
+ *
+ * Times are minutes and days of the local date-time, as stored in the database.
+ */
+final class TaskCounts {
+
+    private final ConcurrentHashMap<Integer, LongAdder> openByPriority = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, LongAdder> completedByPriority = new ConcurrentHashMap<>();
+
+    // Open tasks due at or after overdueFrom, by due minute
+    private final TreeMap<Integer, Long> dueMinutes = new TreeMap<>();
+    private int overdueFrom;
+    private long overdue;
+    private long day;
+    private long completedToday;
+
+    TaskCounts(int nowMinute, long today) {
+        this.overdueFrom = nowMinute;
+        this.day = today;
+    }
+
+    /**
+     * Adds tasks of one priority and completion status, as counted by the database.
+     */
+    void addTasks(int priority, boolean completed, long tasks) {
+        counter(priority, completed).add(tasks);
+    }
+
+    /**
+     * Adds open tasks due before the current minute, as counted by the database.
+     */
+    synchronized void addOverdue(long tasks, int nowMinute, long today) {
+        roll(nowMinute, today);
+        overdue += tasks;
+    }
+
+    /**
+     * Adds open tasks due at one due date, as counted by the database.
+     */
+    synchronized void addOpenDue(LocalDateTime dueDate, long tasks, int nowMinute, long today) {
+        roll(nowMinute, today);
+        countDue(minuteOf(dueDate), tasks);
+    }
+
+    /**
+     * Adds completed tasks last updated today, as counted by the database.
+     */
+    synchronized void addCompletedToday(long tasks, int nowMinute, long today) {
+        roll(nowMinute, today);
+        completedToday += tasks;
+    }
+
+    /**
+     * Moves a task from the counts of its previous state to those of its current state.
+     *
+     * @param previous the state before the change, or null for a created task
+     * @param current  the state after the change, or null for a deleted task
+     */
+    void change(TodoItemState previous, TodoItemState current, int nowMinute, long today) {
+        if (previous != null) {
+            counter(previous.getPriority(), previous.isCompleted()).decrement();
+        }
+        if (current != null) {
+            counter(current.getPriority(), current.isCompleted()).increment();
+        }
+        synchronized (this) {
+            roll(nowMinute, today);
+            if (previous != null) {
+                countTimed(previous, -1);
+            }
+            if (current != null) {
+                countTimed(current, 1);
+            }
+        }
+    }
+
+    /**
+     * @return the counts at the given time
+     */
+    TaskStatsDTO snapshot(int nowMinute, long today, LocalDateTime asOf) {
+        long currentOverdue;
+        long currentCompletedToday;
+        synchronized (this) {
+            roll(nowMinute, today);
+            currentOverdue = overdue;
+            currentCompletedToday = completedToday;
+        }
+        return new TaskStatsDTO(currentOverdue, currentCompletedToday, sums(openByPriority),
+                sums(completedByPriority), asOf);
+    }
+
+    static int minuteOf(LocalDateTime dateTime) {
+        long minute = Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), 60);
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, minute));
+    }
+
+    static LocalDateTime startOfMinute(int minute) {
+        return LocalDateTime.ofEpochSecond(minute * 60L, 0, ZoneOffset.UTC);
+    }
+
+    static long dayOf(LocalDateTime dateTime) {
+        return dateTime.toLocalDate().toEpochDay();
+    }
+
+    private LongAdder counter(int priority, boolean completed) {
+        return (completed ? completedByPriority : openByPriority).computeIfAbsent(priority, key -> new LongAdder());
+    }
+
+    /**
+     * Adds a task state to, or with a delta of -1 removes it from, the overdue, due-minute and
+     * completed-today counts. Called with the monitor held.
+     */
+    private void countTimed(TodoItemState state, long delta) {
+        if (state.isCompleted()) {
+            if (state.getUpdatedAt() != null && dayOf(state.getUpdatedAt()) == day) {
+                completedToday += delta;
+            }
+        } else {
+            countDue(minuteOf(state.getDueDate()), delta);
+        }
+    }
+
+    private void countDue(int dueMinute, long delta) {
+        if (dueMinute < overdueFrom) {
+            overdue += delta;
+        } else {
+            dueMinutes.merge(dueMinute, delta, (count, change) -> count + change == 0 ? null : count + change);
+        }
+    }
+
+    /**
+     * Moves the counts forward to the current minute and day. Called with the monitor held.
+     */
+    private void roll(int nowMinute, long today) {
+        if (today > day) {
+            day = today;
+            completedToday = 0;
+        }
+        while (!dueMinutes.isEmpty() && dueMinutes.firstKey() < nowMinute) {
+            overdue += dueMinutes.pollFirstEntry().getValue();
+        }
+        overdueFrom = Math.max(overdueFrom, nowMinute);
+    }
+
+    private static Map<Integer, Long> sums(Map<Integer, LongAdder> counters) {
+        Map<Integer, Long> sums = new TreeMap<>();
+        counters.forEach((priority, counter) -> {
+            long sum = counter.sum();
+            if (sum != 0) {
+                sums.put(priority, sum);
+            }
+        });
+        return sums;
+    }
+}
@@ -0,0 +1,240 @@
+package com.todolist.app.stats;
+
+import com.todolist.app.dto.response.TaskStatsDTO;
+import com.todolist.app.event.TodoChangeEvent;
+import com.todolist.app.event.TodoItemState;
+import com.todolist.app.model.TodoItem;
+import com.todolist.app.repository.TodoDueDateCount;
+import com.todolist.app.repository.TodoPriorityCount;
+import com.todolist.app.repository.TodoRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Task counts for dashboards, maintained in memory from TodoChangeEvent.
+ *
+ * The counts by priority and completion status, the overdue count (incomplete tasks due before
+ * the current minute) and the completed-today count (completed tasks last updated today) are read
+ * without touching the database. Events carry the state each task had before the change, so every
+ * change is applied to TaskCounts as a move from one state to another, without keeping a copy of
+ * the tasks.
+ *
+ * The counts are loaded from the database with GROUP BY and count queries at startup. On
+ * reconcile-cron the same queries are compared with the counts, which are reloaded if they differ
+ * twice in a row; this also picks up changes made by other instances. A change committed while a
+ * reload reads the database may be counted twice or not at all; the next reconciliation corrects it.
+ */
+@Component
+@ConditionalOnProperty(name = "todo.stats.enabled", havingValue = "true", matchIfMissing = true)
+public class TaskStatistics {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskStatistics.class);
+
+    private static final int MAX_RELOAD_ATTEMPTS = 3;
+
+    private final TodoRepository todoRepository;
+    private final Counter drift;
+
+    // Events take the read lock to apply a change, a reload takes the write lock to swap in new counts
+    private final ReentrantReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private volatile TaskCounts counts;
+    private final LongAdder appliedChanges = new LongAdder();
+
+    private volatile boolean ready;
+
+    public TaskStatistics(TodoRepository todoRepository, MeterRegistry meterRegistry) {
+        this.todoRepository = todoRepository;
+        this.drift = Counter.builder("todo.stats.drift")
+                .description("Reloads of the task statistics after they differed from the database")
+                .register(meterRegistry);
+        LocalDateTime now = LocalDateTime.now();
+        this.counts = new TaskCounts(TaskCounts.minuteOf(now), TaskCounts.dayOf(now));
+    }
+
+    /**
+     * Loads the counts from the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        reload();
+    }
+
+    /**
+     * @return false until the counts have been loaded
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * @return the current task counts
+     */
+    public TaskStatsDTO getStatistics() {
+        LocalDateTime now = LocalDateTime.now();
+        return counts.snapshot(TaskCounts.minuteOf(now), TaskCounts.dayOf(now), now);
+    }
+
+    /**
+     * Replaces the counts with counts read from the database. The read is repeated if changes were
+     * applied meanwhile, since the counts read may or may not include them; concurrent reloads run
+     * one after the other.
+     */
+    public synchronized void reload() {
+        for (int attempt = 1; ; attempt++) {
+            long changesBefore = appliedChanges.sum();
+            TaskCounts loaded = load(LocalDateTime.now());
+            swapLock.writeLock().lock();
+            try {
+                if (appliedChanges.sum() == changesBefore || attempt == MAX_RELOAD_ATTEMPTS) {
+                    counts = loaded;
+                    ready = true;
+                    break;
+                }
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+        }
+        TaskStatsDTO loaded = getStatistics();
+        logger.info("Task statistics loaded: open {}, completed {}, overdue {}", loaded.getOpenByPriority(),
+                loaded.getCompletedByPriority(), loaded.getOverdue());
+    }
+
+    /**
+     * Compares the counts with the database, and reloads them if they differ twice in a row.
+     * A check that overlaps a change applied by this instance is skipped.
+     */
+    @Scheduled(cron = "${todo.stats.reconcile-cron:0 */5 * * * *}")
+    public void reconcile() {
+        if (!ready) {
+            return;
+        }
+        String difference = difference();
+        if (difference == null) {
+            return;
+        }
+        // A change committed just before the queries may not have been applied yet; look again
+        difference = difference();
+        if (difference != null) {
+            logger.warn("Task statistics differ from the database ({}), reloading", difference);
+            drift.increment();
+            reload();
+        }
+    }
+
+    /**
+     * Keeps the counts in step with created, updated, deleted and completed tasks.
+     *
+     * @param event the change that was committed
+     */
+    @EventListener
+    public void onTodoChange(TodoChangeEvent event) {
+        swapLock.readLock().lock();
+        try {
+            apply(counts, event);
+            appliedChanges.increment();
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    private static void apply(TaskCounts target, TodoChangeEvent event) {
+        LocalDateTime now = LocalDateTime.now();
+        int nowMinute = TaskCounts.minuteOf(now);
+        long today = TaskCounts.dayOf(now);
+        switch (event.getType()) {
+            case CREATED:
+            case UPDATED:
+                for (TodoItem task : event.getTasks()) {
+                    target.change(event.getPrevious(task.getId()), TodoItemState.of(task), nowMinute, today);
+                }
+                break;
+            case DELETED:
+                for (Long id : event.getIds()) {
+                    target.change(event.getPrevious(id), null, nowMinute, today);
+                }
+                break;
+            case COMPLETED:
+                // The sweep completes open tasks and keeps their priority and due date
+                for (Long id : event.getIds()) {
+                    TodoItemState previous = event.getPrevious(id);
+                    target.change(previous, new TodoItemState(id, previous.getVersion() + 1, previous.getPriority(),
+                            true, previous.getDueDate(), now), nowMinute, today);
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Reads the counts from the database as of the given time.
+     */
+    private TaskCounts load(LocalDateTime now) {
+        int nowMinute = TaskCounts.minuteOf(now);
+        long today = TaskCounts.dayOf(now);
+        LocalDateTime minuteStart = TaskCounts.startOfMinute(nowMinute);
+        TaskCounts loaded = new TaskCounts(nowMinute, today);
+        for (TodoPriorityCount group : todoRepository.countByPriorityAndCompleted()) {
+            loaded.addTasks(group.getPriority(), group.getCompleted(), group.getTasks());
+        }
+        loaded.addOverdue(todoRepository.countDueBefore(false, minuteStart), nowMinute, today);
+        for (TodoDueDateCount group : todoRepository.countByDueDateFrom(false, minuteStart)) {
+            loaded.addOpenDue(group.getDueDate(), group.getTasks(), nowMinute, today);
+        }
+        loaded.addCompletedToday(todoRepository.countUpdatedSince(true, LocalDate.ofEpochDay(today).atStartOfDay()),
+                nowMinute, today);
+        return loaded;
+    }
+
+    /**
+     * @return a description of how the counts differ from the database, or null if they match
+     * or changes were applied while the database was read
+     */
+    private String difference() {
+        long changesBefore = appliedChanges.sum();
+        LocalDateTime now = LocalDateTime.now();
+        int nowMinute = TaskCounts.minuteOf(now);
+        long today = TaskCounts.dayOf(now);
+        TaskStatsDTO counted = counts.snapshot(nowMinute, today, now);
+
+        Map<Integer, Long> open = new TreeMap<>();
+        Map<Integer, Long> completed = new TreeMap<>();
+        for (TodoPriorityCount group : todoRepository.countByPriorityAndCompleted()) {
+            (group.getCompleted() ? completed : open).put(group.getPriority(), group.getTasks());
+        }
+        long overdue = todoRepository.countDueBefore(false, TaskCounts.startOfMinute(nowMinute));
+        long completedToday = todoRepository.countUpdatedSince(true, LocalDate.ofEpochDay(today).atStartOfDay());
+
+        if (appliedChanges.sum() != changesBefore) {
+            return null;
+        }
+        if (!open.equals(counted.getOpenByPriority())) {
+            return "open by priority " + counted.getOpenByPriority() + ", database " + open;
+        }
+        if (!completed.equals(counted.getCompletedByPriority())) {
+            return "completed by priority " + counted.getCompletedByPriority() + ", database " + completed;
+        }
+        if (overdue != counted.getOverdue()) {
+            return "overdue " + counted.getOverdue() + ", database " + overdue;
+        }
+        if (completedToday != counted.getCompletedToday()) {
+            return "completed today " + counted.getCompletedToday() + ", database " + completedToday;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,519 @@
+package com.todolist.app.writebehind;
+
+import com.todolist.app.event.TodoChangeEvent;
+import com.todolist.app.event.TodoItemState;
+import com.todolist.app.exception.TaskConflictException;
+import com.todolist.app.model.TodoItem;
+import com.todolist.app.model.TodoItemPatch;
+import com.todolist.app.outbox.TodoChangeOutbox;
+import com.todolist.app.repository.TodoRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Optional write-behind buffer for partial task updates.
+ *
+ * With todo.write-behind.enabled, TodoService acknowledges a partial update from an in-memory
+ * entry per task instead of running a transaction for it. Updates to the same task are merged into
+ * its entry, which is written once it has been idle for window-ms or buffered for max-staleness-ms.
+ * Each flush writes its entries as one JDBC batch per transaction, records them in the outbox and
+ * publishes the change event, so the rest of the application sees one update per flush.
+ *
+ * A flush only writes the columns the merged updates changed, and adds the number of merged
+ * updates to the version, so the versions acknowledged while buffering are the ones the database
+ * ends up with unless the task is also changed outside the buffer. Point reads through TodoService
+ * see buffered state; listings and the change stream see it once flushed.
+ *
+ * The buffer only suits a single node serving writes, or writes to a task always routed to the
+ * same node. Buffered state lives in the memory of the node that acknowledged it: other nodes read
+ * and check versions against the database, and a flush adds its updates on top of whatever the row
+ * holds without checking its version, so a change made to the same task on another node meanwhile
+ * is overwritten column by column and the versions acknowledged by the two nodes diverge.
+ * Acknowledged updates are also lost if the node dies before flushing them.
+ *
+ * On shutdown, flushes are retried until shutdown-timeout-ms has passed. If updates remain
+ * unwritten by then, each is logged with its fields and the shutdown fails with an
+ * IllegalStateException rather than dropping them silently.
+ */
+@Component
+public class TaskWriteBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskWriteBuffer.class);
+
+    private static final long SHUTDOWN_RETRY_MAX_MILLIS = 1000;
+
+    // One statement shape for every entry, so the whole flush is a single batch; a null leaves the column as is
+    private static final String UPDATE_SQL = "UPDATE todo_items SET title = COALESCE(?, title), "
+            + "description = COALESCE(?, description), due_date = COALESCE(?, due_date), "
+            + "priority = COALESCE(?, priority), completed = COALESCE(?, completed), "
+            + "updated_at = ?, version = version + ? WHERE id = ?";
+
+    private final TodoRepository todoRepository;
+    private final TodoChangeOutbox todoChangeOutbox;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final long windowNanos;
+    private final long maxStalenessNanos;
+    private final int maxEntries;
+    private final int batchSize;
+    private final long shutdownTimeoutMillis;
+    private final Counter acknowledgedUpdates;
+    private final Counter writtenRows;
+
+    private final ConcurrentHashMap<Long, Entry> entries = new ConcurrentHashMap<>();
+    // Serializes flushes, so two writes of the same task never commit out of order
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final ScheduledExecutorService flusher;
+
+    private volatile boolean closed;
+
+    public TaskWriteBuffer(TodoRepository todoRepository,
+                           TodoChangeOutbox todoChangeOutbox,
+                           ApplicationEventPublisher eventPublisher,
+                           JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry,
+                           @Value("${todo.write-behind.enabled:false}") boolean enabled,
+                           @Value("${todo.write-behind.window-ms:250}") long windowMillis,
+                           @Value("${todo.write-behind.max-staleness-ms:1000}") long maxStalenessMillis,
+                           @Value("${todo.write-behind.max-entries:10000}") int maxEntries,
+                           @Value("${todo.write-behind.batch-size:500}") int batchSize,
+                           @Value("${todo.write-behind.shutdown-timeout-ms:30000}") long shutdownTimeoutMillis) {
+        if (windowMillis < 1 || maxStalenessMillis < windowMillis) {
+            throw new IllegalArgumentException(
+                    "todo.write-behind.window-ms must be at least 1 and no greater than max-staleness-ms");
+        }
+        if (maxEntries < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("todo.write-behind.max-entries and batch-size must be at least 1");
+        }
+        this.todoRepository = todoRepository;
+        this.todoChangeOutbox = todoChangeOutbox;
+        this.eventPublisher = eventPublisher;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        this.maxStalenessNanos = TimeUnit.MILLISECONDS.toNanos(maxStalenessMillis);
+        this.maxEntries = maxEntries;
+        this.batchSize = batchSize;
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+        this.acknowledgedUpdates = Counter.builder("todo.write-behind.updates")
+                .description("Task updates acknowledged from the write-behind buffer")
+                .register(meterRegistry);
+        this.writtenRows = Counter.builder("todo.write-behind.rows")
+                .description("Task rows written by write-behind flushes")
+                .register(meterRegistry);
+        Gauge.builder("todo.write-behind.pending", entries, ConcurrentHashMap::size)
+                .description("Tasks with updates in the write-behind buffer")
+                .register(meterRegistry);
+
+        if (enabled) {
+            // Checking twice per window keeps an entry's delay within window-ms and max-staleness-ms plus half a window
+            long tickMillis = Math.max(1, windowMillis / 2);
+            this.flusher = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("write-behind-"));
+            this.flusher.scheduleWithFixedDelay(this::flushDue, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.flusher = null;
+        }
+    }
+
+    /**
+     * @param id the task ID
+     * @return true if an update of the task should be buffered: the buffer is enabled and open,
+     * and the task is already buffered or there is room for it
+     */
+    public boolean accepts(Long id) {
+        return enabled && !closed && (entries.containsKey(id) || entries.size() < maxEntries);
+    }
+
+    /**
+     * @param id the task ID
+     * @return true if the task has buffered updates
+     */
+    public boolean isBuffered(Long id) {
+        return enabled && entries.containsKey(id);
+    }
+
+    /**
+     * @param id the task ID
+     * @return the task with its buffered updates applied, or null if it has none
+     */
+    public TodoItem get(Long id) {
+        Entry entry = entries.get(id);
+        if (entry == null) {
+            return null;
+        }
+        synchronized (entry) {
+            return entry.removed ? null : entry.snapshot();
+        }
+    }
+
+    /**
+     * Merges a partial update into the task's entry, loading the task on its first update.
+     *
+     * @param id              the ID of the task to update
+     * @param patch           the changed fields
+     * @param expectedVersion the version the update is conditional on (nullable for an unconditional update)
+     * @return the task as it will be written, or null if not found
+     * @throws TaskConflictException if the task is not at the expected version
+     */
+    public TodoItem update(Long id, TodoItemPatch patch, Long expectedVersion) {
+        while (true) {
+            Entry entry = entries.get(id);
+            if (entry == null) {
+                TodoItem task = todoRepository.findById(id).orElse(null);
+                if (task == null) {
+                    return null;
+                }
+                Entry loaded = new Entry(task);
+                entry = entries.putIfAbsent(id, loaded);
+                if (entry == null) {
+                    entry = loaded;
+                }
+            }
+            synchronized (entry) {
+                // Flushed and released since it was looked up; start again from the database
+                if (entry.removed) {
+                    continue;
+                }
+                if (expectedVersion != null && expectedVersion != entry.version) {
+                    throw new TaskConflictException(id);
+                }
+                entry.merge(patch, LocalDateTime.now(), System.nanoTime());
+                acknowledgedUpdates.increment();
+                return entry.snapshot();
+            }
+        }
+    }
+
+    /**
+     * Writes the buffered updates of the given tasks now. Called before a synchronous write of the
+     * same tasks, so it reads and builds on their buffered state.
+     *
+     * @param ids the task IDs
+     */
+    public void flush(Collection<Long> ids) {
+        if (!enabled) {
+            return;
+        }
+        List<Entry> buffered = new ArrayList<>();
+        for (Long id : ids) {
+            Entry entry = entries.get(id);
+            if (entry != null) {
+                buffered.add(entry);
+            }
+        }
+        if (!buffered.isEmpty()) {
+            flush(buffered, false);
+        }
+    }
+
+    /**
+     * Drops the buffered updates of tasks about to be deleted.
+     *
+     * @param ids the task IDs
+     */
+    public void discard(Collection<Long> ids) {
+        if (!enabled) {
+            return;
+        }
+        for (Long id : ids) {
+            Entry entry = entries.get(id);
+            if (entry != null) {
+                synchronized (entry) {
+                    entry.removed = true;
+                    entries.remove(id, entry);
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops buffering and writes every buffered update; later updates are written synchronously.
+     * Failed flushes are retried, backing off up to a second between attempts, until
+     * shutdown-timeout-ms has passed.
+     *
+     * @throws IllegalStateException if updates are still unwritten once the timeout has passed
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (!enabled) {
+            return;
+        }
+        closed = true;
+        flusher.shutdown();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(shutdownTimeoutMillis);
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+            long backoffMillis = 50;
+            while (true) {
+                flush(new ArrayList<>(entries.values()), true);
+                long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (entries.isEmpty() || remainingMillis <= 0) {
+                    break;
+                }
+                Thread.sleep(Math.min(backoffMillis, remainingMillis));
+                backoffMillis = Math.min(backoffMillis * 2, SHUTDOWN_RETRY_MAX_MILLIS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!entries.isEmpty()) {
+            List<Long> unwritten = new ArrayList<>();
+            for (Entry entry : entries.values()) {
+                synchronized (entry) {
+                    if (!entry.removed && entry.pendingUpdates > 0) {
+                        // Enough to re-apply the update by hand
+                        logger.error("Write-behind update of task {} not written: {} updates to version {} setting {}",
+                                entry.id, entry.pendingUpdates, entry.version, entry.pending);
+                        unwritten.add(entry.id);
+                    }
+                }
+            }
+            if (!unwritten.isEmpty()) {
+                throw new IllegalStateException("Write-behind buffer closed with " + unwritten.size()
+                        + " tasks not written: " + unwritten);
+            }
+        }
+    }
+
+    private void flushDue() {
+        long now = System.nanoTime();
+        List<Entry> due = new ArrayList<>();
+        for (Entry entry : entries.values()) {
+            synchronized (entry) {
+                if (entry.isDue(now, windowNanos, maxStalenessNanos)) {
+                    due.add(entry);
+                }
+            }
+        }
+        if (!due.isEmpty()) {
+            flush(due, false);
+        }
+    }
+
+    /**
+     * Writes the pending updates of the entries, a batch per transaction. A batch that fails is put
+     * back into its entries and retried by the next flush.
+     *
+     * @param closing true during shutdown, when change events are no longer published
+     */
+    private void flush(List<Entry> toFlush, boolean closing) {
+        flushLock.lock();
+        try {
+            for (int start = 0; start < toFlush.size(); start += batchSize) {
+                List<Drained> batch = new ArrayList<>();
+                for (Entry entry : toFlush.subList(start, Math.min(start + batchSize, toFlush.size()))) {
+                    synchronized (entry) {
+                        if (!entry.removed && entry.pendingUpdates > 0) {
+                            batch.add(entry.drain());
+                        }
+                    }
+                }
+                if (batch.isEmpty()) {
+                    continue;
+                }
+                try {
+                    write(batch, closing);
+                } catch (RuntimeException e) {
+                    logger.warn("Write-behind flush of {} tasks failed, retrying with the next flush: {}",
+                            batch.size(), e.getMessage());
+                    batch.forEach(Drained::restore);
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void write(List<Drained> batch, boolean closing) {
+        Set<Drained> written = new HashSet<>();
+        TodoChangeEvent event = transactionTemplate.execute(status -> {
+            List<Long> batchIds = new ArrayList<>(batch.size());
+            batch.forEach(drained -> batchIds.add(drained.id));
+            List<TodoItemState> previous = todoRepository.findStatesForUpdate(batchIds);
+            int[] counts = jdbcTemplate.batchUpdate(UPDATE_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement statement, int i) throws SQLException {
+                    batch.get(i).bind(statement);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return batch.size();
+                }
+            });
+            List<Long> ids = new ArrayList<>(batch.size());
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO) {
+                    written.add(batch.get(i));
+                    ids.add(batch.get(i).id);
+                }
+            }
+            return ids.isEmpty() ? null
+                    : todoChangeOutbox.append(TodoChangeEvent.updated(previous, todoRepository.findAllById(ids)));
+        });
+
+        // Entries whose row is gone belong to tasks deleted outside the buffer
+        batch.forEach(drained -> drained.release(written.contains(drained)));
+        writtenRows.increment(written.size());
+        if (event != null && !closing) {
+            eventPublisher.publishEvent(event);
+        }
+    }
+
+    /**
+     * The buffered state of one task. Guarded by its own monitor.
+     */
+    private final class Entry {
+
+        private final Long id;
+        // The task with every acknowledged update applied; its own version and updatedAt are not kept current
+        private final TodoItem task;
+        private long version;
+        private LocalDateTime updatedAt;
+        // The columns changed, and the number of updates merged, since the last drain
+        private TodoItemPatch pending = new TodoItemPatch();
+        private int pendingUpdates;
+        private long firstPendingNanos;
+        private long lastPendingNanos;
+        private boolean removed;
+
+        private Entry(TodoItem task) {
+            this.id = task.getId();
+            this.task = new TodoItem(task, task.getVersion(), task.getUpdatedAt());
+            this.version = task.getVersion();
+            this.updatedAt = task.getUpdatedAt();
+        }
+
+        private TodoItem snapshot() {
+            return new TodoItem(task, version, updatedAt);
+        }
+
+        private void merge(TodoItemPatch patch, LocalDateTime now, long nowNanos) {
+            patch.applyTo(task);
+            pending = combine(pending, patch);
+            version++;
+            updatedAt = now;
+            if (pendingUpdates == 0) {
+                firstPendingNanos = nowNanos;
+            }
+            lastPendingNanos = nowNanos;
+            pendingUpdates++;
+        }
+
+        private boolean isDue(long nowNanos, long windowNanos, long maxStalenessNanos) {
+            return !removed && pendingUpdates > 0
+                    && (closed
+                    || nowNanos - lastPendingNanos >= windowNanos
+                    || nowNanos - firstPendingNanos >= maxStalenessNanos);
+        }
+
+        private Drained drain() {
+            Drained drained = new Drained(this, pending, pendingUpdates, updatedAt, firstPendingNanos);
+            pending = new TodoItemPatch();
+            pendingUpdates = 0;
+            return drained;
+        }
+    }
+
+    /**
+     * The updates taken from an entry by one flush.
+     */
+    private final class Drained {
+
+        private final Entry entry;
+        private final Long id;
+        private final TodoItemPatch patch;
+        private final int updates;
+        private final LocalDateTime updatedAt;
+        private final long firstPendingNanos;
+
+        private Drained(Entry entry, TodoItemPatch patch, int updates, LocalDateTime updatedAt, long firstPendingNanos) {
+            this.entry = entry;
+            this.id = entry.id;
+            this.patch = patch;
+            this.updates = updates;
+            this.updatedAt = updatedAt;
+            this.firstPendingNanos = firstPendingNanos;
+        }
+
+        private void bind(PreparedStatement statement) throws SQLException {
+            statement.setObject(1, patch.getTitle(), Types.VARCHAR);
+            statement.setObject(2, patch.getDescription(), Types.VARCHAR);
+            statement.setObject(3, patch.getDueDate() != null ? Timestamp.valueOf(patch.getDueDate()) : null, Types.TIMESTAMP);
+            statement.setObject(4, patch.getPriority(), Types.INTEGER);
+            statement.setObject(5, patch.getCompleted(), Types.BOOLEAN);
+            statement.setTimestamp(6, Timestamp.valueOf(updatedAt));
+            statement.setLong(7, updates);
+            statement.setLong(8, id);
+        }
+
+        /**
+         * Puts the updates back in front of any merged since the drain.
+         */
+        private void restore() {
+            synchronized (entry) {
+                entry.pending = combine(patch, entry.pending);
+                entry.pendingUpdates += updates;
+                entry.firstPendingNanos = firstPendingNanos;
+            }
+        }
+
+        /**
+         * Releases the entry once written if nothing was merged since the drain, or drops it if the task is gone.
+         */
+        private void release(boolean written) {
+            synchronized (entry) {
+                if (!written || entry.pendingUpdates == 0) {
+                    entry.removed = true;
+                    entries.remove(id, entry);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return a patch with the fields of both, the later one winning where both are set
+     */
+    private static TodoItemPatch combine(TodoItemPatch earlier, TodoItemPatch later) {
+        TodoItemPatch combined = new TodoItemPatch();
+        combined.setTitle(later.getTitle() != null ? later.getTitle() : earlier.getTitle());
+        combined.setDescription(later.getDescription() != null ? later.getDescription() : earlier.getDescription());
+        combined.setDueDate(later.getDueDate() != null ? later.getDueDate() : earlier.getDueDate());
+        combined.setPriority(later.getPriority() != null ? later.getPriority() : earlier.getPriority());
+        combined.setCompleted(later.getCompleted() != null ? later.getCompleted() : earlier.getCompleted());
+        return combined;
+    }
+}
@@ -0,0 +1,25 @@
+-- Baseline schema, matching the TodoItem mapping
+
+CREATE SEQUENCE todo_item_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE todo_items (
+    id          BIGINT       NOT NULL,
+    title       VARCHAR(255) NOT NULL,
+    description VARCHAR(255) NOT NULL,
+    due_date    TIMESTAMP    NOT NULL,
+    completed   BOOLEAN      NOT NULL,
+    priority    INTEGER      NOT NULL,
+    created_at  TIMESTAMP,
+    updated_at  TIMESTAMP,
+    version     BIGINT       NOT NULL,
+    CONSTRAINT pk_todo_items PRIMARY KEY (id)
+);
+
+-- Filtered listings: completed and/or priority equality, ordered by updatedAt
+CREATE INDEX idx_todo_items_completed_priority_updated ON todo_items (completed, priority, updated_at);
+
+-- Due-task sweep: incomplete tasks with a due date at or before the cutoff
+CREATE INDEX idx_todo_items_completed_due_date ON todo_items (completed, due_date);
+
+-- Unfiltered listing and keyset pagination on (updatedAt, id)
+CREATE INDEX idx_todo_items_updated_at_id ON todo_items (updated_at, id);
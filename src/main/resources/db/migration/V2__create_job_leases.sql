@@ -0,0 +1,8 @@
+-- Time-limited leases on cluster-wide jobs, such as the due-task sweep or one of its shards
+
+CREATE TABLE job_leases (
+    name       VARCHAR(100) NOT NULL,
+    owner      VARCHAR(255) NOT NULL,
+    expires_at TIMESTAMP    NOT NULL,
+    CONSTRAINT pk_job_leases PRIMARY KEY (name)
+);
@@ -0,0 +1,13 @@
+-- Outbox of task changes, written in the same transaction as the change itself.
+-- id records write order; seq is the publication order assigned by the relay, null until published.
+
+CREATE TABLE todo_changes (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    seq         BIGINT,
+    task_id     BIGINT      NOT NULL,
+    change_type VARCHAR(16) NOT NULL,
+    version     BIGINT,
+    changed_at  TIMESTAMP   NOT NULL,
+    CONSTRAINT pk_todo_changes PRIMARY KEY (id),
+    CONSTRAINT uq_todo_changes_seq UNIQUE (seq)
+);
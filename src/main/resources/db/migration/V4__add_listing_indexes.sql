@@ -0,0 +1,14 @@
+-- Newest-first listing and its keyset pages: H2 only walks an index in its declared order,
+-- so the ascending (updated_at, id) index of V1 cannot serve ORDER BY updated_at DESC, id DESC
+CREATE INDEX idx_todo_items_updated_at_id_desc ON todo_items (updated_at DESC, id DESC);
+
+-- Priority-only filter, newest first: the (completed, priority, updated_at) index of V1 cannot
+-- be used without a completed predicate, since priority is not its leading column
+CREATE INDEX idx_todo_items_priority_updated_at_id ON todo_items (priority, updated_at DESC, id DESC);
+
+-- Listings sorted by dueDate or createdAt, and keyset pagination on (key, id)
+CREATE INDEX idx_todo_items_due_date_id ON todo_items (due_date, id);
+CREATE INDEX idx_todo_items_created_at_id ON todo_items (created_at, id);
+
+-- Title prefix filter
+CREATE INDEX idx_todo_items_title ON todo_items (title);
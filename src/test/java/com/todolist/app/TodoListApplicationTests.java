@@ -0,0 +1,16 @@
+package com.todolist.app;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Boots the whole application against the in-memory database, so a mapping, migration or wiring
+ * error that prevents startup fails the build.
+ */
+@SpringBootTest
+class TodoListApplicationTests {
+
+    @Test
+    void contextLoads() {
+    }
+}
@@ -0,0 +1,117 @@
+package com.todolist.app.cache;
+
+import com.todolist.app.event.TodoChangeEvent;
+import com.todolist.app.model.TodoChange;
+import com.todolist.app.model.TodoItem;
+import com.todolist.app.model.TodoItemSnapshot;
+import com.todolist.app.repository.TodoChangeRepository;
+import com.todolist.app.repository.TodoRepository;
+import com.todolist.app.service.TodoService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that tasksById holds immutable copies, that a change committed by another node, which
+ * this node only learns about from the published outbox, evicts the cached copy, and that a load
+ * such as the warm-up does not put back a task changed while it was read.
+ */
+@SpringBootTest
+class TodoCacheInvalidatorTest {
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private TodoChangeRepository todoChangeRepository;
+
+    @Autowired
+    private TodoCacheInvalidator todoCacheInvalidator;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Long> seeded = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        todoRepository.deleteAllById(seeded);
+    }
+
+    @Test
+    void cachedTasksAreImmutableCopies() {
+        TodoItem task = seed("Cached");
+
+        TodoItemSnapshot first = todoService.getTaskById(task.getId());
+        assertThat(cache().get(task.getId(), Object.class)).isSameAs(first).isInstanceOf(TodoItemSnapshot.class);
+        assertThat(todoService.getTaskById(task.getId())).isSameAs(first);
+        assertThat(first.getTitle()).isEqualTo("Cached");
+        assertThat(first.getVersion()).isEqualTo(task.getVersion());
+    }
+
+    @Test
+    void changesPublishedByAnotherNodeEvictTheCachedTask() throws Exception {
+        TodoItem task = seed("Before");
+        assertThat(todoService.getTaskById(task.getId()).getTitle()).isEqualTo("Before");
+        todoCacheInvalidator.pollPublishedChanges();
+
+        // Another node updates the row and records the change; this node's relay publishes it
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update("UPDATE todo_items SET title = 'After', version = version + 1 WHERE id = ?", task.getId());
+        todoChangeRepository.insertAll(List.of(
+                new TodoChange(null, task.getId(), TodoChangeEvent.Type.UPDATED, task.getVersion() + 1, now)));
+
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (cache().get(task.getId()) != null) {
+            assertThat(System.nanoTime()).as("change published and polled in time").isLessThan(deadline);
+            Thread.sleep(50);
+            todoCacheInvalidator.pollPublishedChanges();
+        }
+        assertThat(todoService.getTaskById(task.getId()).getTitle()).isEqualTo("After");
+    }
+
+    @Test
+    void loadsDoNotCacheTasksChangedWhileTheyWereRead() {
+        TodoItem unchanged = seed("Unchanged");
+        TodoItem deleted = seed("Deleted");
+
+        int read = todoCacheInvalidator.putUnlessEvicted(() -> {
+            List<TodoItem> tasks = todoRepository.findAllById(List.of(unchanged.getId(), deleted.getId()));
+            todoService.deleteTask(deleted.getId());
+            seeded.remove(deleted.getId());
+            return tasks;
+        });
+
+        assertThat(read).isEqualTo(2);
+        assertThat(cache().get(unchanged.getId(), TodoItemSnapshot.class).getTitle()).isEqualTo("Unchanged");
+        assertThat(cache().get(deleted.getId())).isNull();
+        assertThat(todoService.getTaskById(deleted.getId())).isNull();
+    }
+
+    private TodoItem seed(String title) {
+        TodoItem task = todoRepository.save(new TodoItem(title, "Read through the cache",
+                LocalDateTime.of(2030, 1, 1, 12, 0), 2));
+        seeded.add(task.getId());
+        return task;
+    }
+
+    private Cache cache() {
+        return cacheManager.getCache(TodoCacheNames.TASKS_BY_ID);
+    }
+}
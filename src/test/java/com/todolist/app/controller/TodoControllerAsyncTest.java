@@ -0,0 +1,100 @@
+package com.todolist.app.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todolist.app.repository.TodoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks the async execution mode: handlers run on the request executor and answer exactly as in
+ * the sync mode, including status codes, conditional requests and errors.
+ */
+@SpringBootTest(properties = "todo.web.execution-mode=async")
+@AutoConfigureMockMvc
+class TodoControllerAsyncTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final List<Long> created = new ArrayList<>();
+
+    @AfterEach
+    void deleteCreatedTasks() {
+        todoRepository.deleteAllById(created);
+    }
+
+    @Test
+    void handlersRunAsynchronouslyWithTheSyncContract() throws Exception {
+        MvcResult createdResult = mockMvc.perform(asyncDispatch(dispatch(post("/api/todos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Async\",\"description\":\"Created in async mode\","
+                                + "\"dueDate\":\"2030-01-01\",\"priority\":3}"))))
+                .andExpect(status().isCreated())
+                .andReturn();
+        JsonNode body = objectMapper.readTree(createdResult.getResponse().getContentAsString());
+        long id = body.path("data").path("id").asLong();
+        created.add(id);
+
+        String eTag = mockMvc.perform(asyncDispatch(dispatch(get("/api/todos/" + id))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.title").value("Async"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(asyncDispatch(dispatch(get("/api/todos/" + id).header(HttpHeaders.IF_NONE_MATCH, eTag))))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag));
+    }
+
+    @Test
+    void errorsAreHandledAsInSyncMode() throws Exception {
+        // Arguments are resolved and validated before the hand-off
+        mockMvc.perform(post("/api/todos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"\",\"description\":\"Invalid\","
+                                + "\"dueDate\":\"2030-01-01\",\"priority\":3}"))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Validation failed for one or more fields"));
+
+        // Exceptions thrown by the handler reach the exception handlers on the async dispatch
+        mockMvc.perform(asyncDispatch(dispatch(get("/api/todos").param("cursor", "not a cursor!"))))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Performs the request, which must hand off to the request executor, and waits for the handler.
+     */
+    private MvcResult dispatch(RequestBuilder requestBuilder) throws Exception {
+        MvcResult result = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult();
+        return result;
+    }
+}
@@ -0,0 +1,138 @@
+package com.todolist.app.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import com.todolist.app.model.TodoItem;
+import com.todolist.app.repository.TodoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks the per-entry results of the batch endpoints, and that the valid entries of a batch are
+ * applied while the invalid ones are reported.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class TodoControllerBatchTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    private final List<Long> seeded = new ArrayList<>();
+
+    @AfterEach
+    void deleteSeededTasks() {
+        todoRepository.deleteAllById(seeded);
+    }
+
+    @Test
+    void batchCreateSavesTheValidEntries() throws Exception {
+        String dueDate = LocalDate.now().plusDays(7).toString();
+        MvcResult result = mockMvc.perform(post("/api/todos/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"title\": \"Batch created\", \"description\": \"First entry\", "
+                                + "\"dueDate\": \"" + dueDate + "\", \"priority\": 4}, "
+                                + "{\"title\": \"\", \"description\": \"No title\", "
+                                + "\"dueDate\": \"" + dueDate + "\", \"priority\": 2}, "
+                                + "null]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(3))
+                .andExpect(jsonPath("$.data[0].index").value(0))
+                .andExpect(jsonPath("$.data[0].statusCode").value(201))
+                .andExpect(jsonPath("$.data[0].data.title").value("Batch created"))
+                .andExpect(jsonPath("$.data[0].data.priority").value(4))
+                .andExpect(jsonPath("$.data[1].statusCode").value(400))
+                .andExpect(jsonPath("$.data[1].message").value("Title is mandatory"))
+                .andExpect(jsonPath("$.data[2].statusCode").value(400))
+                .andExpect(jsonPath("$.data[2].message").value("Batch entry must not be null"))
+                .andReturn();
+
+        long id = ((Number) JsonPath.read(result.getResponse().getContentAsString(), "$.data[0].id")).longValue();
+        seeded.add(id);
+        TodoItem created = todoRepository.findById(id).orElseThrow();
+        assertThat(created.getTitle()).isEqualTo("Batch created");
+        assertThat(created.getDueDate().toLocalDate()).isEqualTo(LocalDate.parse(dueDate));
+    }
+
+    @Test
+    void batchUpdateAppliesOnlyTheProvidedFieldsOfValidEntries() throws Exception {
+        TodoItem first = seed("First");
+        TodoItem second = seed("Second");
+        long missing = second.getId() + 1_000_000;
+
+        mockMvc.perform(put("/api/todos/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"id\": " + first.getId() + ", \"title\": \"First renamed\", \"description\": \" \"}, "
+                                + "{\"id\": " + second.getId() + ", \"priority\": 5, \"completed\": true}, "
+                                + "{\"id\": " + first.getId() + ", \"title\": \"Repeated\"}, "
+                                + "{\"id\": " + second.getId() + ", \"priority\": 9}, "
+                                + "{\"id\": " + missing + ", \"title\": \"Missing\"}, "
+                                + "{\"title\": \"No ID\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].statusCode").value(200))
+                .andExpect(jsonPath("$.data[0].data.title").value("First renamed"))
+                .andExpect(jsonPath("$.data[1].statusCode").value(200))
+                .andExpect(jsonPath("$.data[1].data.completed").value(true))
+                .andExpect(jsonPath("$.data[2].statusCode").value(400))
+                .andExpect(jsonPath("$.data[2].message").value("Duplicate ID in batch"))
+                .andExpect(jsonPath("$.data[3].statusCode").value(400))
+                .andExpect(jsonPath("$.data[3].message").value("Priority must be between 1 and 5"))
+                .andExpect(jsonPath("$.data[4].statusCode").value(404))
+                .andExpect(jsonPath("$.data[5].statusCode").value(400))
+                .andExpect(jsonPath("$.data[5].message").value("ID is mandatory"));
+
+        // A blank description is not an update; fields left out keep their values
+        TodoItem firstUpdated = todoRepository.findById(first.getId()).orElseThrow();
+        assertThat(firstUpdated.getTitle()).isEqualTo("First renamed");
+        assertThat(firstUpdated.getDescription()).isEqualTo(first.getDescription());
+        assertThat(firstUpdated.getPriority()).isEqualTo(first.getPriority());
+        assertThat(firstUpdated.getVersion()).isEqualTo(first.getVersion() + 1);
+        TodoItem secondUpdated = todoRepository.findById(second.getId()).orElseThrow();
+        assertThat(secondUpdated.getTitle()).isEqualTo("Second");
+        assertThat(secondUpdated.getPriority()).isEqualTo(5);
+        assertThat(secondUpdated.isCompleted()).isTrue();
+    }
+
+    @Test
+    void batchDeleteReportsARepeatedIdAsNotFound() throws Exception {
+        Long id = seed("Batch delete").getId();
+
+        mockMvc.perform(delete("/api/todos/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + id + ", " + id + "]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].statusCode").value(204))
+                .andExpect(jsonPath("$.data[1].id").value(id))
+                .andExpect(jsonPath("$.data[1].statusCode").value(404));
+
+        assertThat(todoRepository.existsById(id)).isFalse();
+        seeded.remove(id);
+    }
+
+    private TodoItem seed(String title) {
+        TodoItem task = todoRepository.save(new TodoItem(title, "Seeded by TodoControllerBatchTest",
+                LocalDateTime.of(2030, 1, 1, 12, 0), 3));
+        seeded.add(task.getId());
+        return task;
+    }
+}
@@ -0,0 +1,88 @@
+package com.todolist.app.controller;
+
+import com.todolist.app.model.TodoItem;
+import com.todolist.app.repository.TodoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks the exact bytes of the NDJSON export: one JSON object per line, each terminated by a
+ * newline and nothing else.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class TodoControllerExportTest {
+
+    /**
+     * A priority no other test seeds, so the export holds only the tasks seeded here.
+     */
+    private static final int PRIORITY = 9;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    private final List<Long> seeded = new ArrayList<>();
+
+    @AfterEach
+    void deleteSeededTasks() {
+        todoRepository.deleteAllById(seeded);
+    }
+
+    @Test
+    void exportWritesOneObjectPerLineWithoutSeparators() throws Exception {
+        TodoItem first = seed("First", "Exported first", LocalDateTime.of(2030, 1, 1, 12, 0));
+        TodoItem second = seed("Second", "Exported \"second\"", LocalDateTime.of(2030, 1, 2, 8, 30, 15));
+
+        MvcResult started = mockMvc.perform(get("/api/todos/export").param("priority", String.valueOf(PRIORITY)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        byte[] body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        String expected = "{\"id\":" + first.getId() + ",\"title\":\"First\",\"description\":\"Exported first\","
+                + "\"dueDate\":\"2030-01-01T12:00:00\",\"completed\":false,\"priority\":9,"
+                + "\"createdAt\":\"" + iso(first.getCreatedAt()) + "\","
+                + "\"updatedAt\":\"" + iso(first.getUpdatedAt()) + "\","
+                + "\"version\":" + first.getVersion() + "}\n"
+                + "{\"id\":" + second.getId() + ",\"title\":\"Second\",\"description\":\"Exported \\\"second\\\"\","
+                + "\"dueDate\":\"2030-01-02T08:30:15\",\"completed\":false,\"priority\":9,"
+                + "\"createdAt\":\"" + iso(second.getCreatedAt()) + "\","
+                + "\"updatedAt\":\"" + iso(second.getUpdatedAt()) + "\","
+                + "\"version\":" + second.getVersion() + "}\n";
+        assertThat(body).isEqualTo(expected.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Saves a task and reads it back, so its timestamps carry the precision the database stored.
+     */
+    private TodoItem seed(String title, String description, LocalDateTime dueDate) {
+        TodoItem saved = todoRepository.save(new TodoItem(title, description, dueDate, PRIORITY));
+        seeded.add(saved.getId());
+        return todoRepository.findById(saved.getId()).orElseThrow();
+    }
+
+    private static String iso(LocalDateTime value) {
+        return value.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+    }
+}
@@ -0,0 +1,148 @@
+package com.todolist.app.controller;
+
+import com.todolist.app.cache.TaskListCache;
+import com.todolist.app.event.TodoChangeEvent;
+import com.todolist.app.metrics.QueryCountStatementInspector;
+import com.todolist.app.model.TodoItem;
+import com.todolist.app.repository.TodoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks GET /api/todos: a cached task list answers plain and conditional requests without querying
+ * the database and is reloaded once a change from another node is published to the outbox, and
+ * invalid parameters are rejected as bad requests.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class TodoControllerListingTest {
+
+    /**
+     * A priority no other test seeds, so the listing holds only the tasks seeded here.
+     */
+    private static final int PRIORITY = 8;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private TaskListCache taskListCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Long> seeded = new ArrayList<>();
+
+    @BeforeEach
+    void invalidateCachedLists() throws InterruptedException {
+        // Listings loaded while changes of earlier tests wait for the relay are not tagged with a seq
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (taskListCache.settledSeq() == null) {
+            assertThat(System.nanoTime()).as("outbox published in time").isLessThan(deadline);
+            Thread.sleep(50);
+        }
+        // Tasks seeded and deleted through the repository publish no event, so earlier lists may be cached
+        taskListCache.pollPublishedChanges();
+        taskListCache.onTodoChange(TodoChangeEvent.deleted(Collections.emptyList()));
+    }
+
+    @AfterEach
+    void deleteSeededTasks() {
+        todoRepository.deleteAllById(seeded);
+        seeded.forEach(id -> jdbcTemplate.update("DELETE FROM todo_changes WHERE task_id = ?", id));
+    }
+
+    @Test
+    void cachedListingIsRevalidatedWithoutQueries() throws Exception {
+        seed("First");
+        TodoItem latest = seed("Second");
+
+        MvcResult loaded = mockMvc.perform(get("/api/todos").param("priority", String.valueOf(PRIORITY)))
+                .andExpect(status().isOk())
+                .andReturn();
+        String eTag = loaded.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(eTag).isEqualTo("\"seq-" + taskListCache.settledSeq() + "\"");
+        assertThat(loaded.getResponse().getDateHeader(HttpHeaders.LAST_MODIFIED))
+                .isEqualTo(latest.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() / 1000 * 1000);
+
+        mockMvc.perform(get("/api/todos").param("priority", String.valueOf(PRIORITY))
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+        assertThat(QueryCountStatementInspector.current()).isZero();
+
+        mockMvc.perform(get("/api/todos").param("priority", String.valueOf(PRIORITY)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().bytes(loaded.getResponse().getContentAsByteArray()));
+        assertThat(QueryCountStatementInspector.current()).isZero();
+    }
+
+    @Test
+    void changePublishedByAnotherNodeReloadsTheListing() throws Exception {
+        seed("First");
+        String eTag = mockMvc.perform(get("/api/todos").param("priority", String.valueOf(PRIORITY)))
+                .andExpect(jsonPath("$.data.length()").value(1))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Saved through the repository, the task publishes no event here, as if created on another node
+        TodoItem remote = seed("Created elsewhere");
+        mockMvc.perform(get("/api/todos").param("priority", String.valueOf(PRIORITY)))
+                .andExpect(header().string(HttpHeaders.ETAG, eTag));
+
+        jdbcTemplate.update("INSERT INTO todo_changes (seq, task_id, change_type, version, changed_at) "
+                        + "SELECT COALESCE(MAX(seq), 0) + 1, ?, 'CREATED', ?, ? FROM todo_changes",
+                remote.getId(), remote.getVersion(), remote.getUpdatedAt());
+        taskListCache.pollPublishedChanges();
+
+        mockMvc.perform(get("/api/todos").param("priority", String.valueOf(PRIORITY)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(2));
+    }
+
+    @Test
+    void invalidListingParametersAreBadRequests() throws Exception {
+        mockMvc.perform(get("/api/todos").param("cursor", "not a cursor!"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid cursor"));
+        mockMvc.perform(get("/api/todos").param("cursor", "bm8tc2VwYXJhdG9y"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/todos").param("sort", "title"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/todos").param("dueFrom", "2030-01-02").param("dueTo", "2030-01-01"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Saves a task and reads it back, so its timestamps carry the precision the database stored.
+     */
+    private TodoItem seed(String title) {
+        TodoItem saved = todoRepository.save(new TodoItem(title, "Seeded by TodoControllerListingTest",
+                LocalDateTime.of(2030, 1, 1, 12, 0), PRIORITY));
+        seeded.add(saved.getId());
+        return todoRepository.findById(saved.getId()).orElseThrow();
+    }
+}
@@ -0,0 +1,112 @@
+package com.todolist.app.controller;
+
+import com.todolist.app.cache.TaskListCache;
+import com.todolist.app.metrics.QueryCountStatementInspector;
+import com.todolist.app.model.TodoItem;
+import com.todolist.app.repository.TodoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks GET /api/todos with the task-list cache disabled: a conditional request is answered from
+ * the published change seq without loading the listing, and is only answered that way while no
+ * change is waiting to be published.
+ */
+@SpringBootTest(properties = "todo.cache.task-lists.enabled=false")
+@AutoConfigureMockMvc
+class TodoControllerUncachedListingTest {
+
+    /**
+     * A priority no other test seeds, so the listing holds only the tasks seeded here.
+     */
+    private static final int PRIORITY = 7;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private TaskListCache taskListCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Long> seeded = new ArrayList<>();
+
+    @BeforeEach
+    void awaitPublishedChanges() throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (taskListCache.settledSeq() == null) {
+            assertThat(System.nanoTime()).as("outbox published in time").isLessThan(deadline);
+            Thread.sleep(50);
+        }
+    }
+
+    @AfterEach
+    void deleteSeededTasks() {
+        todoRepository.deleteAllById(seeded);
+        seeded.forEach(id -> jdbcTemplate.update("DELETE FROM todo_changes WHERE task_id = ?", id));
+    }
+
+    @Test
+    void conditionalRequestsAreAnsweredWithoutLoadingTheListing() throws Exception {
+        seed("First");
+        String eTag = mockMvc.perform(get("/api/todos").param("priority", String.valueOf(PRIORITY)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(eTag).isEqualTo("\"seq-" + taskListCache.settledSeq() + "\"");
+
+        mockMvc.perform(get("/api/todos").param("priority", String.valueOf(PRIORITY))
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+        assertThat(QueryCountStatementInspector.current()).isZero();
+    }
+
+    @Test
+    void changesMoveTheETagOnceCommitted() throws Exception {
+        seed("First");
+        String eTag = mockMvc.perform(get("/api/todos").param("priority", String.valueOf(PRIORITY)))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Recorded but not published yet: the seq does not cover it, so the listing is loaded
+        TodoItem pending = seed("Pending");
+        jdbcTemplate.update("INSERT INTO todo_changes (task_id, change_type, version, changed_at) VALUES (?, 'CREATED', ?, ?)",
+                pending.getId(), pending.getVersion(), pending.getUpdatedAt());
+        mockMvc.perform(get("/api/todos").param("priority", String.valueOf(PRIORITY))
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(2));
+
+        // Once published, the seq has moved past the earlier ETag
+        awaitPublishedChanges();
+        mockMvc.perform(get("/api/todos").param("priority", String.valueOf(PRIORITY))
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(2));
+    }
+
+    private TodoItem seed(String title) {
+        TodoItem saved = todoRepository.save(new TodoItem(title, "Seeded by TodoControllerUncachedListingTest",
+                LocalDateTime.of(2030, 1, 1, 12, 0), PRIORITY));
+        seeded.add(saved.getId());
+        return saved;
+    }
+}
@@ -0,0 +1,96 @@
+package com.todolist.app.json;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.todolist.app.dto.response.TodoItemResponseDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Writes the same tasks with the streaming serializer and with Jackson's bean serializer, under the
+ * settings the application runs with and under settings the streaming serializer does not replicate,
+ * and checks that the output is the same.
+ */
+class TodoItemResponseSerializerTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 2, 29, 23, 59, 59);
+
+    private static final List<TodoItemResponseDTO> TASKS = List.of(
+            new TodoItemResponseDTO(1L, "Plain", "Nothing special", LocalDateTime.of(2030, 1, 1, 9, 0),
+                    false, 1, CREATED_AT, CREATED_AT.plusNanos(100_000_000L), 1L),
+            new TodoItemResponseDTO(2L, "No due date", null, null, true, 5, CREATED_AT,
+                    CREATED_AT.plusNanos(123_456_789L), 7L),
+            new TodoItemResponseDTO(3L, "Quote \" backslash \\ slash / tab \t newline \n bell \u0007",
+                    "Non-ASCII: Zoë, 日本語, emoji 😀, line separator  ",
+                    LocalDateTime.of(2030, 1, 1, 0, 0, 0, 1_000), false, 3, CREATED_AT,
+                    CREATED_AT.plusNanos(10), null),
+            new TodoItemResponseDTO(null, "", "", LocalDateTime.of(10_000, 1, 1, 0, 0),
+                    false, 0, LocalDateTime.of(-1, 12, 31, 0, 0), null, 0L));
+
+    @Test
+    void writesWhatTheBeanSerializerWrites() throws Exception {
+        assertSameOutput(builder -> {
+        });
+    }
+
+    @Test
+    void leavesDatesAsTimestampsToTheBeanSerializer() throws Exception {
+        assertSameOutput(builder -> builder.featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS));
+    }
+
+    @Test
+    void leavesOmittedNullsToTheBeanSerializer() throws Exception {
+        assertSameOutput(builder -> builder.serializationInclusion(JsonInclude.Include.NON_NULL));
+    }
+
+    @Test
+    void leavesRenamedPropertiesToTheBeanSerializer() throws Exception {
+        assertSameOutput(builder -> builder.propertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE));
+    }
+
+    @Test
+    void followsSettingsOfTheWriter() throws Exception {
+        ObjectMapper streaming = builder().serializers(new TodoItemResponseSerializer()).build();
+        ObjectMapper bean = builder().build();
+
+        // The serializer is cached by the mapper, so it must check the settings on each call
+        String defaults = streaming.writeValueAsString(TASKS);
+        String timestamps = streaming.writer().with(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).writeValueAsString(TASKS);
+
+        assertThat(defaults).isEqualTo(bean.writeValueAsString(TASKS));
+        assertThat(timestamps)
+                .isEqualTo(bean.writer().with(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).writeValueAsString(TASKS))
+                .isNotEqualTo(defaults);
+        assertThat(streaming.writeValueAsString(TASKS)).isEqualTo(defaults);
+    }
+
+    private static void assertSameOutput(Consumer<Jackson2ObjectMapperBuilder> settings) throws Exception {
+        Jackson2ObjectMapperBuilder streamingBuilder = builder().serializers(new TodoItemResponseSerializer());
+        settings.accept(streamingBuilder);
+        Jackson2ObjectMapperBuilder beanBuilder = builder();
+        settings.accept(beanBuilder);
+        ObjectMapper streaming = streamingBuilder.build();
+        ObjectMapper bean = beanBuilder.build();
+
+        for (TodoItemResponseDTO task : TASKS) {
+            assertThat(streaming.writeValueAsString(task)).isEqualTo(bean.writeValueAsString(task));
+            assertThat(streaming.writeValueAsBytes(task)).isEqualTo(bean.writeValueAsBytes(task));
+        }
+        assertThat(streaming.writeValueAsString(TASKS)).isEqualTo(bean.writeValueAsString(TASKS));
+    }
+
+    /**
+     * @return a builder with the settings Spring Boot applies to the application's ObjectMapper
+     */
+    private static Jackson2ObjectMapperBuilder builder() {
+        return Jackson2ObjectMapperBuilder.json().featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+}
@@ -0,0 +1,163 @@
+package com.todolist.app.push;
+
+import com.todolist.app.event.TodoChangeEvent;
+import com.todolist.app.event.TodoItemState;
+import com.todolist.app.model.TodoItem;
+import com.todolist.app.repository.TodoRepository;
+import com.todolist.app.service.TaskSweepService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Subscribes to GET /api/todos/events and checks which events each filter receives: changes are
+ * sent to the subscribers whose filter matches the task, and "removed" only to the subscribers
+ * whose filter matched the task before the change.
+ *
+ * Events are handed to the hub directly, so no other listener sees tasks that do not exist, and
+ * priorities no real task uses keep other changes out of the streams. Each check ends with a
+ * created event every subscriber matches; events are delivered in order, so once it has arrived
+ * everything published before it has too.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class TaskEventHubTest {
+
+    private static final int LOW = 101;
+    private static final int HIGH = 102;
+    private static final int OTHER = 103;
+    private static final long TASK_ID = 9_000_001L;
+    private static final LocalDateTime DUE = LocalDateTime.of(2030, 1, 1, 12, 0);
+    private static final LocalDateTime UPDATED = LocalDateTime.of(2029, 1, 1, 12, 0);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskEventHub taskEventHub;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private TaskSweepService taskSweepService;
+
+    private final List<MvcResult> streams = new ArrayList<>();
+    private final List<Long> seeded = new ArrayList<>();
+    private long nextMarkerId = 9_100_000L;
+
+    @AfterEach
+    void closeStreams() {
+        streams.forEach(stream -> stream.getRequest().getAsyncContext().complete());
+        todoRepository.deleteAllById(seeded);
+    }
+
+    @Test
+    void subscribersOnlyReceiveTasksTheirFilterMatches() throws Exception {
+        MvcResult low = subscribe("priority", LOW);
+        MvcResult other = subscribe("priority", OTHER);
+
+        taskEventHub.onTodoChange(TodoChangeEvent.created(List.of(task(TASK_ID, LOW, false))));
+        awaitMarker(low, other);
+
+        assertThat(events(low)).contains("event:created\ndata:{\"type\":\"created\",\"id\":" + TASK_ID);
+        assertThat(events(other)).doesNotContain("\"id\":" + TASK_ID);
+    }
+
+    @Test
+    void taskLeavingAFilterIsRemovedOnlyWhereItMatchedBefore() throws Exception {
+        MvcResult low = subscribe("priority", LOW);
+        MvcResult high = subscribe("priority", HIGH);
+        MvcResult other = subscribe("priority", OTHER);
+
+        taskEventHub.onTodoChange(TodoChangeEvent.updated(
+                List.of(new TodoItemState(TASK_ID, 1L, LOW, false, DUE, null)), List.of(task(TASK_ID, HIGH, false))));
+        awaitMarker(low, high, other);
+
+        assertThat(events(low)).contains("event:removed\ndata:{\"type\":\"removed\",\"id\":" + TASK_ID + "}");
+        assertThat(events(high)).contains("event:updated\ndata:{\"type\":\"updated\",\"id\":" + TASK_ID)
+                .doesNotContain("removed");
+        assertThat(events(other)).doesNotContain("\"id\":" + TASK_ID);
+    }
+
+    @Test
+    void deletionsOnlyReachSubscribersWhoseFilterMatchedTheTask() throws Exception {
+        MvcResult low = subscribe("priority", LOW);
+        MvcResult high = subscribe("priority", HIGH);
+
+        taskEventHub.onTodoChange(TodoChangeEvent.deleted(
+                List.of(new TodoItemState(TASK_ID, 1L, LOW, true, DUE, UPDATED))));
+        awaitMarker(low, high);
+
+        assertThat(events(low)).contains("event:deleted\ndata:{\"type\":\"deleted\",\"id\":" + TASK_ID + "}");
+        assertThat(events(high)).doesNotContain("\"id\":" + TASK_ID);
+    }
+
+    @Test
+    void sweepCompletionMovesTheTaskBetweenCompletionFilters() throws Exception {
+        MvcResult open = subscribe("completed", false);
+        MvcResult done = subscribe("completed", true);
+
+        LocalDateTime cutoff = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        TodoItem due = todoRepository.save(new TodoItem("Due", "Completed by the sweep", cutoff.minusHours(1), LOW));
+        seeded.add(due.getId());
+        taskSweepService.completeDueTasks(List.of(due.getId()), cutoff);
+        awaitMarker(open, done);
+
+        assertThat(events(open)).contains("event:removed\ndata:{\"type\":\"removed\",\"id\":" + due.getId() + "}");
+        assertThat(events(done)).contains("event:completed\ndata:{\"type\":\"completed\",\"id\":" + due.getId());
+    }
+
+    private MvcResult subscribe(String filter, Object value) throws Exception {
+        MvcResult stream = mockMvc.perform(get("/api/todos/events").param(filter, String.valueOf(value)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        streams.add(stream);
+        return stream;
+    }
+
+    /**
+     * Publishes a created event matching every subscriber and waits until each stream has received it.
+     */
+    private void awaitMarker(MvcResult... subscribers) throws Exception {
+        long markerId = nextMarkerId++;
+        List<TodoItem> markers = new ArrayList<>();
+        for (int priority : new int[]{LOW, HIGH, OTHER}) {
+            markers.add(task(markerId, priority, false));
+            markers.add(task(markerId, priority, true));
+        }
+        taskEventHub.onTodoChange(TodoChangeEvent.created(markers));
+
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        for (MvcResult subscriber : subscribers) {
+            while (!events(subscriber).contains("\"id\":" + markerId)) {
+                assertThat(System.nanoTime()).as("marker event delivered in time").isLessThan(deadline);
+                Thread.sleep(10);
+            }
+        }
+    }
+
+    private static String events(MvcResult stream) throws Exception {
+        return stream.getResponse().getContentAsString();
+    }
+
+    private static TodoItem task(long id, int priority, boolean completed) {
+        TodoItem task = new TodoItem("Task " + id, "Pushed to subscribers", DUE, priority);
+        task.setId(id);
+        task.setCompleted(completed);
+        return new TodoItem(task, 1L, UPDATED);
+    }
+}
@@ -0,0 +1,143 @@
+package com.todolist.app.repository;
+
+import com.todolist.app.dto.response.TodoItemResponseDTO;
+import com.todolist.app.event.TodoItemState;
+import com.todolist.app.model.TodoItem;
+import com.todolist.app.specification.TodoCursor;
+import com.todolist.app.specification.TodoQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Runs the due-task sweep queries against the configured H2 database and its Flyway schema,
+ * rather than a replacement embedded database, so dialect and H2 version issues surface here.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class TodoRepositoryTest {
+
+    private static final LocalDateTime CUTOFF = LocalDateTime.of(2030, 1, 1, 12, 0);
+    private static final PageRequest CHUNK = PageRequest.of(0, 100);
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    private TodoItem due;
+    private TodoItem notDue;
+    private TodoItem completed;
+
+    @BeforeEach
+    void seed() {
+        due = todoRepository.save(new TodoItem("Due", "Due before the cutoff", CUTOFF.minusHours(1), 3));
+        notDue = todoRepository.save(new TodoItem("Not due", "Due after the cutoff", CUTOFF.plusHours(1), 5));
+        TodoItem done = new TodoItem("Completed", "Due but already completed", CUTOFF.minusHours(2), 5);
+        done.setCompleted(true);
+        completed = todoRepository.save(done);
+        todoRepository.flush();
+    }
+
+    @Test
+    void sweepSelectsAndCompletesOnlyIncompleteDueTasks() {
+        List<Long> candidates = todoRepository.findDueTaskIds(false, CUTOFF, 0L, Long.MAX_VALUE, CHUNK);
+        assertThat(candidates).contains(due.getId()).doesNotContain(notDue.getId(), completed.getId());
+
+        int shard = (int) (due.getId() % 2);
+        assertThat(todoRepository.findDueTaskIdsInShard(false, CUTOFF, 0L, Long.MAX_VALUE, 2, shard, CHUNK))
+                .contains(due.getId());
+        assertThat(todoRepository.findDueTaskIdsInShard(false, CUTOFF, 0L, Long.MAX_VALUE, 2, 1 - shard, CHUNK))
+                .doesNotContain(due.getId());
+
+        long overdue = todoRepository.countDueBefore(false, CUTOFF);
+        long completedSince = todoRepository.countUpdatedSince(true, CUTOFF);
+
+        List<TodoCompletion> completions = todoRepository.completeDueTasks(
+                List.of(due.getId(), notDue.getId(), completed.getId()), CUTOFF, CUTOFF);
+
+        assertThat(completions)
+                .extracting(TodoCompletion::getId, TodoCompletion::getVersion, TodoCompletion::getPriority,
+                        TodoCompletion::getDueDate)
+                .containsExactly(tuple(due.getId(), due.getVersion() + 1, due.getPriority(), due.getDueDate()));
+        assertThat(todoRepository.findById(due.getId())).get().extracting(TodoItem::isCompleted).isEqualTo(true);
+        assertThat(todoRepository.findDueTaskIds(false, CUTOFF, 0L, Long.MAX_VALUE, CHUNK))
+                .doesNotContain(due.getId());
+        assertThat(todoRepository.countDueBefore(false, CUTOFF)).isEqualTo(overdue - 1);
+        assertThat(todoRepository.countUpdatedSince(true, CUTOFF)).isEqualTo(completedSince + 1);
+    }
+
+    @Test
+    void statesForUpdateAreReadOnlyForExistingTasks() {
+        assertThat(todoRepository.findStatesForUpdate(List.of(due.getId(), completed.getId(), Long.MAX_VALUE)))
+                .extracting(TodoItemState::getId, TodoItemState::getVersion, TodoItemState::getPriority,
+                        TodoItemState::isCompleted, TodoItemState::getDueDate)
+                .containsExactlyInAnyOrder(tuple(due.getId(), due.getVersion(), 3, false, due.getDueDate()),
+                        tuple(completed.getId(), completed.getVersion(), 5, true, completed.getDueDate()));
+    }
+
+    @Test
+    void dueDateCountsOnlyIncludeOpenTasksFromTheBound() {
+        assertThat(todoRepository.countByDueDateFrom(false, CUTOFF))
+                .extracting(TodoDueDateCount::getDueDate)
+                .contains(notDue.getDueDate())
+                .doesNotContain(due.getDueDate(), completed.getDueDate());
+    }
+
+    @Test
+    void schedulerAndWarmUpQueriesFilterOnCompletion() {
+        assertThat(todoRepository.findDueDates(false, CUTOFF, 0L, CHUNK))
+                .extracting(TodoDueDate::getId)
+                .contains(due.getId())
+                .doesNotContain(notDue.getId(), completed.getId());
+
+        assertThat(todoRepository.findHotTasks(false, 3, CHUNK))
+                .extracting(TodoItem::getId)
+                .contains(due.getId(), notDue.getId())
+                .doesNotContain(completed.getId());
+    }
+
+    @Test
+    void keysetPagesVisitEachTaskOnceAcrossTiedKeys() {
+        TodoItem tied = todoRepository.saveAndFlush(
+                new TodoItem("Tied", "Same due date as the due task", CUTOFF.minusHours(1), 1));
+        long firstTied = Math.min(due.getId(), tied.getId());
+        long secondTied = Math.max(due.getId(), tied.getId());
+
+        TodoQuery query = new TodoQuery();
+        query.setDueFrom(CUTOFF.minusHours(3));
+        query.setDueTo(CUTOFF.plusHours(3));
+        query.setSortKey(TodoQuery.SortKey.DUE_DATE);
+
+        assertThat(pageThrough(query)).containsExactly(notDue.getId(), secondTied, firstTied, completed.getId());
+
+        query.setAscending(true);
+        assertThat(pageThrough(query)).containsExactly(completed.getId(), firstTied, secondTied, notDue.getId());
+    }
+
+    /**
+     * Reads the query one task per page, seeking past the previous page each time.
+     */
+    private List<Long> pageThrough(TodoQuery query) {
+        List<Long> ids = new ArrayList<>();
+        TodoCursor cursor = null;
+        Slice<TodoItemResponseDTO> page;
+        do {
+            page = todoRepository.findResponseSlice(query, cursor, 1);
+            for (TodoItemResponseDTO task : page) {
+                ids.add(task.getId());
+                cursor = TodoCursor.after(task, query.getSortKey());
+            }
+        } while (page.hasNext());
+        return ids;
+    }
+}
@@ -0,0 +1,152 @@
+package com.todolist.app.scheduler;
+
+import com.todolist.app.event.TodoChangeEvent;
+import com.todolist.app.event.TodoItemState;
+import com.todolist.app.model.TodoItem;
+import com.todolist.app.repository.TodoRepository;
+import com.todolist.app.service.JobLeaseService;
+import com.todolist.app.service.TaskSweepService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the scheduler against mocked collaborators, schedules tasks through change events and
+ * records the tasks it hands to the sweep service, in order.
+ *
+ * Tasks that must not fire are scheduled before a marker task; once the marker has fired,
+ * everything due before it has been handled.
+ */
+class DueTaskSchedulerTest {
+
+    private static final long MARKER_ID = 1_000L;
+
+    private final TodoRepository todoRepository = mock(TodoRepository.class);
+    private final JobLeaseService jobLeaseService = mock(JobLeaseService.class);
+    private final List<Long> completed = new CopyOnWriteArrayList<>();
+    private final TaskSweepService taskSweepService = mock(TaskSweepService.class);
+
+    private DueTaskScheduler scheduler;
+
+    @AfterEach
+    void stop() {
+        if (scheduler != null) {
+            scheduler.stop();
+        }
+    }
+
+    @Test
+    void firesTasksInDueDateOrder() throws Exception {
+        start("single");
+        LocalDateTime now = LocalDateTime.now();
+        schedule(task(1L, now.plusNanos(600_000_000L)),
+                task(2L, now.plusNanos(200_000_000L)),
+                task(3L, now.plusNanos(400_000_000L)));
+
+        awaitCompleted(1L);
+        assertThat(completed).containsExactly(2L, 3L, 1L);
+    }
+
+    @Test
+    void updatesRescheduleTasks() throws Exception {
+        start("single");
+        LocalDateTime now = LocalDateTime.now();
+        schedule(task(1L, now.plusNanos(200_000_000L)), task(2L, now.plusNanos(300_000_000L)));
+        // Task 1 moves behind the marker, task 2 is completed by hand before it fires
+        schedule(task(1L, now.plusNanos(800_000_000L)), completedTask(2L, now.plusNanos(300_000_000L)));
+        schedule(task(MARKER_ID, now.plusNanos(500_000_000L)));
+
+        awaitCompleted(1L);
+        assertThat(completed).containsExactly(MARKER_ID, 1L);
+    }
+
+    @Test
+    void deletionsCancelTasks() throws Exception {
+        start("single");
+        LocalDateTime now = LocalDateTime.now();
+        schedule(task(1L, now.plusNanos(200_000_000L)), task(2L, now.plusNanos(300_000_000L)));
+        scheduler.onTodoChange(TodoChangeEvent.deleted(List.of(state(1L, now.plusNanos(200_000_000L)))));
+        schedule(task(MARKER_ID, now.plusNanos(500_000_000L)));
+
+        awaitCompleted(MARKER_ID);
+        assertThat(completed).containsExactly(2L, MARKER_ID);
+        assertThat(scheduler.pending()).isZero();
+    }
+
+    @Test
+    void leaderModeOnlyFiresOnTheLeaseHolder() throws Exception {
+        when(jobLeaseService.tryAcquire(eq("due-task-scheduler"), any())).thenReturn(false, true);
+        start("leader");
+        LocalDateTime now = LocalDateTime.now();
+        schedule(task(1L, now.plusNanos(100_000_000L)));
+        schedule(task(MARKER_ID, now.plusNanos(400_000_000L)));
+
+        awaitCompleted(MARKER_ID);
+        assertThat(completed).containsExactly(MARKER_ID);
+    }
+
+    @Test
+    void shardedModeOnlyFiresTheShardsWhoseLeaseIsHeld() throws Exception {
+        when(jobLeaseService.tryAcquire(eq("due-task-scheduler/shard-0"), any())).thenReturn(true);
+        when(jobLeaseService.tryAcquire(eq("due-task-scheduler/shard-1"), any())).thenReturn(false);
+        start("sharded");
+        LocalDateTime due = LocalDateTime.now().plusNanos(200_000_000L);
+        schedule(task(1L, due), task(2L, due), task(3L, due), task(4L, due));
+        schedule(task(MARKER_ID, due.plusNanos(200_000_000L)));
+
+        awaitCompleted(MARKER_ID);
+        assertThat(completed).containsExactly(2L, 4L, MARKER_ID);
+    }
+
+    private void start(String clusterMode) {
+        when(todoRepository.findDueDates(anyBoolean(), any(), anyLong(), any())).thenReturn(List.of());
+        when(taskSweepService.completeDueTasks(any(), any())).thenAnswer(invocation -> {
+            completed.addAll(invocation.<Collection<Long>>getArgument(0));
+            return null;
+        });
+        scheduler = new DueTaskScheduler(todoRepository, taskSweepService, jobLeaseService, new SimpleMeterRegistry(),
+                60_000, 500, clusterMode, 2, 30_000);
+        scheduler.start();
+    }
+
+    private void schedule(TodoItem... tasks) {
+        scheduler.onTodoChange(TodoChangeEvent.updated(List.of(), List.of(tasks)));
+    }
+
+    private void awaitCompleted(long id) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!completed.contains(id)) {
+            assertThat(System.nanoTime()).as("task %d completed in time", id).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private static TodoItem task(long id, LocalDateTime dueDate) {
+        TodoItem task = new TodoItem("Task " + id, "Scheduled", dueDate, 1);
+        task.setId(id);
+        return task;
+    }
+
+    private static TodoItem completedTask(long id, LocalDateTime dueDate) {
+        TodoItem task = task(id, dueDate);
+        task.setCompleted(true);
+        return task;
+    }
+
+    private static TodoItemState state(long id, LocalDateTime dueDate) {
+        return new TodoItemState(id, 1L, 1, false, dueDate, null);
+    }
+}
@@ -0,0 +1,132 @@
+package com.todolist.app.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class InvertedIndexTest {
+
+    private final InvertedIndex index = new InvertedIndex(2);
+
+    @Test
+    void ranksTitleMatchesAndRareTermsFirst() {
+        put(1, "Groceries", "milk bread eggs");
+        put(2, "Call the bank", "ask about the milk money");
+        put(3, "Milk", "from the farm shop");
+        put(4, "Bread", "sourdough");
+
+        // "milk" is in three documents; the title weight puts task 3 first
+        assertThat(ids(index.search(Tokenizer.parseQuery("milk"), 10))).containsExactly(3L, 1L, 2L);
+        // "farm" is rarer than "milk", so its score counts for more
+        List<SearchHit> farm = index.search(Tokenizer.parseQuery("farm"), 10);
+        List<SearchHit> milk = index.search(Tokenizer.parseQuery("milk"), 10);
+        assertThat(farm.get(0).getScore()).isGreaterThan(milk.get(0).getScore());
+    }
+
+    @Test
+    void scoresFollowBm25() {
+        put(1, "alpha", "beta");
+        put(2, "gamma", "delta");
+
+        // N = 2, df("beta") = 1, tf = 1, |d| = 3 (title terms weigh 2), average length = 3
+        double idf = Math.log(1 + (2 - 1 + 0.5) / (1 + 0.5));
+        double expected = idf * 1 * (1.2 + 1) / (1 + 1.2 * (1 - 0.75 + 0.75 * 3 / 3.0));
+        assertThat(index.search(Tokenizer.parseQuery("beta"), 10).get(0).getScore()).isCloseTo(expected, within(1e-9));
+    }
+
+    @Test
+    void everyTermMustMatchAndScoresAreSummed() {
+        put(1, "Pay rent", "");
+        put(2, "Pay taxes", "");
+        put(3, "Rent a car", "");
+
+        List<SearchHit> hits = index.search(Tokenizer.parseQuery("pay rent"), 10);
+        assertThat(ids(hits)).containsExactly(1L);
+        double pay = index.search(Tokenizer.parseQuery("pay"), 10).stream()
+                .filter(hit -> hit.getId() == 1).findFirst().orElseThrow().getScore();
+        double rent = index.search(Tokenizer.parseQuery("rent"), 10).stream()
+                .filter(hit -> hit.getId() == 1).findFirst().orElseThrow().getScore();
+        assertThat(hits.get(0).getScore()).isCloseTo(pay + rent, within(1e-9));
+        assertThat(index.search(Tokenizer.parseQuery("pay car"), 10)).isEmpty();
+    }
+
+    @Test
+    void prefixTermsExpandToAtMostMaxPrefixTerms() {
+        put(1, "report", "");
+        put(2, "repair", "");
+        put(3, "reply", "");
+
+        // The dictionary order is repair, reply, report; only the first two expansions are scored
+        assertThat(ids(index.search(Tokenizer.parseQuery("rep*"), 10))).containsExactlyInAnyOrder(2L, 3L);
+        assertThat(ids(index.search(Tokenizer.parseQuery("repo*"), 10))).containsExactly(1L);
+    }
+
+    @Test
+    void limitKeepsTheBestHitsWithTiesByDescendingId() {
+        for (long id = 1; id <= 5; id++) {
+            put(id, "same", "");
+        }
+        assertThat(ids(index.search(Tokenizer.parseQuery("same"), 3))).containsExactly(5L, 4L, 3L);
+        assertThat(index.search(Tokenizer.parseQuery("same"), 0)).isEmpty();
+    }
+
+    @Test
+    void onlyNewerVersionsReplaceADocument() {
+        assertThat(index.put(1, 2, Tokenizer.termFrequencies("new", ""))).isTrue();
+        assertThat(index.put(1, 1, Tokenizer.termFrequencies("old", ""))).isFalse();
+        assertThat(ids(index.search(Tokenizer.parseQuery("new"), 10))).containsExactly(1L);
+
+        assertThat(index.put(1, 3, Tokenizer.termFrequencies("newer", ""))).isTrue();
+        assertThat(index.search(Tokenizer.parseQuery("new"), 10)).isEmpty();
+        assertThat(index.version(1)).isEqualTo(3L);
+
+        assertThat(index.remove(1)).isTrue();
+        assertThat(index.remove(1)).isFalse();
+        assertThat(index.version(1)).isNull();
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void advanceOnlyMovesTheVersionItChangedFrom() {
+        index.put(1, 4, Tokenizer.termFrequencies("task", ""));
+
+        assertThat(index.advance(1, 3, 4)).isFalse();
+        assertThat(index.advance(1, 4, 5)).isTrue();
+        assertThat(index.version(1)).isEqualTo(5L);
+        assertThat(ids(index.search(Tokenizer.parseQuery("task"), 10))).containsExactly(1L);
+        assertThat(index.advance(2, 1, 2)).isFalse();
+    }
+
+    @Test
+    void snapshotsRestoreDocumentsAndVersions() throws Exception {
+        put(1, "Pay rent", "monthly");
+        index.put(2, 7, Tokenizer.termFrequencies("Book flights", "summer"));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        index.writeTo(new DataOutputStream(bytes));
+
+        InvertedIndex restored = new InvertedIndex(2);
+        restored.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertThat(restored.size()).isEqualTo(2);
+        assertThat(restored.version(2)).isEqualTo(7L);
+        assertThat(restored.idsBetween(0, 10)).containsExactly(1L, 2L);
+        assertThat(restored.search(Tokenizer.parseQuery("summer"), 10).get(0).getScore())
+                .isEqualTo(index.search(Tokenizer.parseQuery("summer"), 10).get(0).getScore());
+    }
+
+    private void put(long id, String title, String description) {
+        index.put(id, 1, Tokenizer.termFrequencies(title, description));
+    }
+
+    private static List<Long> ids(List<SearchHit> hits) {
+        return hits.stream().map(SearchHit::getId).collect(Collectors.toList());
+    }
+}
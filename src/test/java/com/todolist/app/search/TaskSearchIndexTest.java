@@ -0,0 +1,87 @@
+package com.todolist.app.search;
+
+import com.todolist.app.event.TodoChangeEvent;
+import com.todolist.app.event.TodoItemState;
+import com.todolist.app.model.TodoItem;
+import com.todolist.app.repository.TodoIdRange;
+import com.todolist.app.repository.TodoIdVersion;
+import com.todolist.app.repository.TodoRepository;
+import com.todolist.app.repository.TodoText;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Follows change events with the index and rebuilds it against a mocked repository, to check
+ * which tasks a rebuild has to re-read.
+ */
+class TaskSearchIndexTest {
+
+    private static final LocalDateTime DUE = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+    private final TodoRepository todoRepository = mock(TodoRepository.class);
+    private final TaskSearchIndex searchIndex =
+            new TaskSearchIndex(todoRepository, new SimpleMeterRegistry(), "", 1, 100, 64);
+
+    @BeforeEach
+    void indexTask() {
+        TodoIdRange range = mock(TodoIdRange.class);
+        when(range.getMinId()).thenReturn(1L);
+        when(range.getMaxId()).thenReturn(1L);
+        when(todoRepository.findIdRange()).thenReturn(range);
+
+        TodoItem task = new TodoItem("Pay rent", "Before the first", DUE, 1);
+        task.setId(1L);
+        searchIndex.onTodoChange(TodoChangeEvent.created(List.of(new TodoItem(task, 1L, DUE))));
+    }
+
+    @Test
+    void completionsMoveTheIndexedVersionSoRebuildsDoNotRereadTheTask() {
+        searchIndex.onTodoChange(TodoChangeEvent.completed(List.of(state(1L))));
+        storedVersion(2L);
+
+        searchIndex.rebuild();
+
+        verify(todoRepository, never()).findTexts(any());
+        assertThat(searchIndex.search("rent", 10)).extracting(SearchHit::getId).containsExactly(1L);
+    }
+
+    @Test
+    void completionsOfTasksIndexedAtAnotherVersionAreLeftToTheRebuild() {
+        // The index missed the update from version 1 to 2, so its text may be out of date
+        searchIndex.onTodoChange(TodoChangeEvent.completed(List.of(state(2L))));
+        storedVersion(3L);
+        TodoText text = mock(TodoText.class);
+        when(text.getId()).thenReturn(1L);
+        when(text.getVersion()).thenReturn(3L);
+        when(text.getTitle()).thenReturn("Pay the landlord");
+        when(text.getDescription()).thenReturn("Before the first");
+        when(todoRepository.findTexts(List.of(1L))).thenReturn(List.of(text));
+
+        searchIndex.rebuild();
+
+        assertThat(searchIndex.search("rent", 10)).isEmpty();
+        assertThat(searchIndex.search("landlord", 10)).extracting(SearchHit::getId).containsExactly(1L);
+    }
+
+    private void storedVersion(long version) {
+        TodoIdVersion stored = mock(TodoIdVersion.class);
+        when(stored.getId()).thenReturn(1L);
+        when(stored.getVersion()).thenReturn(version);
+        when(todoRepository.findIdVersions(any(), any(), any())).thenReturn(List.of(stored));
+    }
+
+    private static TodoItemState state(long version) {
+        return new TodoItemState(1L, version, 1, false, DUE, null);
+    }
+}
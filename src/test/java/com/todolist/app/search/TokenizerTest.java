@@ -0,0 +1,46 @@
+package com.todolist.app.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class TokenizerTest {
+
+    @Test
+    void splitsOnAnythingButLettersAndDigitsAndLowerCases() {
+        assertThat(Tokenizer.tokenize("Call Zoë re: Q3-report, ASAP!!")).containsExactly("call", "zoë", "re", "q3",
+                "report", "asap");
+        assertThat(Tokenizer.tokenize("  ...  ")).isEmpty();
+        assertThat(Tokenizer.tokenize(null)).isEmpty();
+    }
+
+    @Test
+    void truncatesLongTerms() {
+        assertThat(Tokenizer.tokenize("a".repeat(100))).containsExactly("a".repeat(64));
+    }
+
+    @Test
+    void weightsTitleTermsAboveDescriptionTerms() {
+        Map<String, Integer> frequencies = Tokenizer.termFrequencies("Pay rent", "Rent is due; pay by Friday");
+
+        assertThat(frequencies).containsOnly(
+                Map.entry("pay", Tokenizer.TITLE_WEIGHT + 1),
+                Map.entry("rent", Tokenizer.TITLE_WEIGHT + 1),
+                Map.entry("is", 1),
+                Map.entry("due", 1),
+                Map.entry("by", 1),
+                Map.entry("friday", 1));
+    }
+
+    @Test
+    void onlyTheLastPartOfAStarredWordIsAPrefix() {
+        assertThat(Tokenizer.parseQuery("  e-mail*  Report "))
+                .extracting(QueryTerm::getTerm, QueryTerm::isPrefix)
+                .containsExactly(tuple("e", false), tuple("mail", true), tuple("report", false));
+        assertThat(Tokenizer.parseQuery("*")).isEmpty();
+        assertThat(Tokenizer.parseQuery(null)).isEmpty();
+    }
+}
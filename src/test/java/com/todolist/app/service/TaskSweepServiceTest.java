@@ -0,0 +1,231 @@
+package com.todolist.app.service;
+
+import com.todolist.app.dto.response.SweepPartitionReport;
+import com.todolist.app.dto.response.SweepReport;
+import com.todolist.app.event.TodoChangeEvent;
+import com.todolist.app.model.TodoItem;
+import com.todolist.app.outbox.TodoChangeOutbox;
+import com.todolist.app.repository.TodoRepository;
+import com.todolist.app.service.impl.TaskSweepServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.AdditionalAnswers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Completes due tasks through TaskSweepService against the in-memory database, and checks that
+ * only the tasks the guarded update actually completed are recorded as changes.
+ *
+ * Runs that need small chunks, several partitions or a failing update use their own service over
+ * the same database, with a repository that delegates to the real one.
+ */
+@SpringBootTest
+class TaskSweepServiceTest {
+
+    private static final LocalDateTime CUTOFF = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).minusDays(1);
+
+    @Autowired
+    private TaskSweepService taskSweepService;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CompletionEvents completionEvents;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TodoChangeOutbox todoChangeOutbox;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Long> seeded = new ArrayList<>();
+    private final List<TaskSweepServiceImpl> services = new ArrayList<>();
+
+    @AfterEach
+    void deleteSeededTasks() {
+        services.forEach(TaskSweepServiceImpl::shutdown);
+        completionEvents.ids.clear();
+        todoRepository.deleteAllById(seeded);
+        jdbcTemplate.update("DELETE FROM todo_changes WHERE task_id IN (:ids)",
+                new MapSqlParameterSource("ids", seeded));
+    }
+
+    @Test
+    void recordsOnlyTheTasksTheUpdateCompleted() {
+        TodoItem due = seed(CUTOFF.minusHours(1), false);
+        TodoItem alreadyCompleted = seed(CUTOFF.minusHours(2), true);
+        TodoItem notDue = seed(CUTOFF.plusHours(1), false);
+
+        SweepReport report = taskSweepService.completeDueTasks(seeded, CUTOFF);
+
+        assertThat(report.getRowsUpdated()).isEqualTo(1);
+        assertThat(completionVersions()).containsOnly(Map.entry(due.getId(), due.getVersion() + 1));
+        assertThat(completionEvents.ids).containsExactly(due.getId());
+        assertThat(todoRepository.findById(alreadyCompleted.getId())).get()
+                .extracting(TodoItem::getVersion).isEqualTo(alreadyCompleted.getVersion());
+        assertThat(todoRepository.findById(notDue.getId())).get()
+                .extracting(TodoItem::isCompleted).isEqualTo(false);
+    }
+
+    @Test
+    void sweepRecordsEachCompletedTaskOnce() {
+        TodoItem first = seed(CUTOFF.minusHours(1), false);
+        TodoItem second = seed(CUTOFF.minusMinutes(1), false);
+        seed(CUTOFF.minusHours(3), true);
+
+        taskSweepService.sweepDueTasks(CUTOFF);
+
+        assertThat(completionVersions()).containsOnly(
+                Map.entry(first.getId(), first.getVersion() + 1),
+                Map.entry(second.getId(), second.getVersion() + 1));
+        assertThat(completionEvents.ids).containsExactlyInAnyOrder(first.getId(), second.getId());
+    }
+
+    @Test
+    void partitionsSweepTheirRangesConcurrently() {
+        List<TodoItem> due = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            due.add(seed(CUTOFF.minusMinutes(i + 1), false));
+        }
+
+        SweepReport report = service(todoRepository, 2, 2, 4).sweepDueTasks(CUTOFF);
+
+        assertThat(report.getPartitions()).hasSize(4)
+                .allSatisfy(partition -> assertThat(partition.getStatus()).isEqualTo(SweepPartitionReport.Status.COMPLETED));
+        for (int i = 1; i < report.getPartitions().size(); i++) {
+            assertThat(report.getPartitions().get(i).getFromId()).isEqualTo(report.getPartitions().get(i - 1).getToId() + 1);
+        }
+        assertThat(report.getPartitions().stream().mapToLong(SweepPartitionReport::getRowsUpdated).sum())
+                .isEqualTo(report.getRowsUpdated());
+        assertThat(completionVersions()).hasSize(8);
+        assertThat(completionEvents.ids).containsExactlyInAnyOrderElementsOf(
+                due.stream().map(TodoItem::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    void transientFailuresRetryTheChunk() {
+        TodoItem first = seed(CUTOFF.minusHours(1), false);
+        TodoItem second = seed(CUTOFF.minusHours(2), false);
+        TodoRepository failingOnce = mock(TodoRepository.class, AdditionalAnswers.delegatesTo(todoRepository));
+        AtomicBoolean failed = new AtomicBoolean();
+        doAnswer(invocation -> {
+            if (failed.compareAndSet(false, true)) {
+                throw new QueryTimeoutException("Lock wait timeout");
+            }
+            return todoRepository.completeDueTasks(invocation.getArgument(0), invocation.getArgument(1),
+                    invocation.getArgument(2));
+        }).when(failingOnce).completeDueTasks(any(), any(), any());
+
+        SweepReport report = service(failingOnce, 500, 1, 1).sweepDueTasks(CUTOFF);
+
+        SweepPartitionReport partition = report.getPartitions().get(0);
+        assertThat(partition.getStatus()).isEqualTo(SweepPartitionReport.Status.COMPLETED);
+        assertThat(partition.getRetries()).isEqualTo(1);
+        assertThat(completionVersions()).containsOnly(
+                Map.entry(first.getId(), first.getVersion() + 1),
+                Map.entry(second.getId(), second.getVersion() + 1));
+        assertThat(completionEvents.ids).containsExactlyInAnyOrder(first.getId(), second.getId());
+    }
+
+    @Test
+    void cancellingStopsTheRemainingChunks() {
+        for (int i = 0; i < 6; i++) {
+            seed(CUTOFF.minusMinutes(i + 1), false);
+        }
+        TodoRepository cancelling = mock(TodoRepository.class, AdditionalAnswers.delegatesTo(todoRepository));
+        TaskSweepServiceImpl service = service(cancelling, 2, 1, 1);
+        doAnswer(invocation -> {
+            service.cancelRunningSweeps();
+            return todoRepository.completeDueTasks(invocation.getArgument(0), invocation.getArgument(1),
+                    invocation.getArgument(2));
+        }).when(cancelling).completeDueTasks(any(), any(), any());
+
+        SweepReport report = service.sweepDueTasks(CUTOFF);
+
+        // The chunk running when the sweep was cancelled still commits
+        assertThat(report.getPartitions()).singleElement()
+                .satisfies(partition -> assertThat(partition.getStatus()).isEqualTo(SweepPartitionReport.Status.CANCELLED));
+        assertThat(report.getBatches()).isEqualTo(1);
+        assertThat(report.getRowsUpdated()).isEqualTo(2);
+        assertThat(completionVersions()).hasSize(2);
+        assertThat(todoRepository.findAllById(seeded)).filteredOn(task -> !task.isCompleted()).hasSize(4);
+    }
+
+    /**
+     * Collects the IDs of the seeded tasks in COMPLETED events, from whichever thread publishes them.
+     */
+    @TestConfiguration
+    static class CompletionEventsConfig {
+
+        @Bean
+        CompletionEvents completionEvents() {
+            return new CompletionEvents();
+        }
+    }
+
+    static class CompletionEvents {
+
+        final List<Long> ids = new CopyOnWriteArrayList<>();
+
+        @EventListener
+        public void onTodoChange(TodoChangeEvent event) {
+            if (event.getType() == TodoChangeEvent.Type.COMPLETED) {
+                ids.addAll(event.getIds());
+            }
+        }
+    }
+
+    private TaskSweepServiceImpl service(TodoRepository repository, int batchSize, int parallelism, int partitions) {
+        TaskSweepServiceImpl service = new TaskSweepServiceImpl(repository, eventPublisher, todoChangeOutbox,
+                transactionManager, new SimpleMeterRegistry(), batchSize, parallelism, partitions, 3);
+        services.add(service);
+        return service;
+    }
+
+    private TodoItem seed(LocalDateTime dueDate, boolean completed) {
+        TodoItem task = new TodoItem("Sweep test", "Seeded by TaskSweepServiceTest", dueDate, 3);
+        task.setCompleted(completed);
+        TodoItem saved = todoRepository.save(task);
+        seeded.add(saved.getId());
+        return saved;
+    }
+
+    private Map<Long, Long> completionVersions() {
+        return jdbcTemplate.queryForList("SELECT task_id, version FROM todo_changes "
+                        + "WHERE change_type = 'COMPLETED' AND task_id IN (:ids)",
+                new MapSqlParameterSource("ids", seeded)).stream()
+                .collect(Collectors.toMap(row -> ((Number) row.get("TASK_ID")).longValue(),
+                        row -> ((Number) row.get("VERSION")).longValue()));
+    }
+}
@@ -0,0 +1,156 @@
+package com.todolist.app.stats;
+
+import com.todolist.app.dto.response.TaskStatsDTO;
+import com.todolist.app.event.TodoItemState;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Applies task state changes to the counters directly, with the clock passed in, and checks the
+ * counts by priority and completion status, the overdue count and the completed-today count.
+ */
+class TaskCountsTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 6, 15, 12, 0, 30);
+    private static final int NOW_MINUTE = TaskCounts.minuteOf(NOW);
+    private static final long TODAY = TaskCounts.dayOf(NOW);
+
+    private final TaskCounts counts = new TaskCounts(NOW_MINUTE, TODAY);
+
+    @Test
+    void changesMoveTasksBetweenPriorityAndCompletionCounters() {
+        TodoItemState created = open(1L, 3, NOW.plusHours(1));
+        counts.change(null, created, NOW_MINUTE, TODAY);
+        counts.change(null, open(2L, 3, NOW.plusHours(1)), NOW_MINUTE, TODAY);
+        TodoItemState reprioritized = open(1L, 5, NOW.plusHours(1));
+        counts.change(created, reprioritized, NOW_MINUTE, TODAY);
+        counts.change(reprioritized, completed(1L, 5, NOW.plusHours(1), NOW), NOW_MINUTE, TODAY);
+
+        TaskStatsDTO stats = snapshot(NOW_MINUTE, TODAY);
+        assertThat(stats.getOpenByPriority()).isEqualTo(Map.of(3, 1L));
+        assertThat(stats.getCompletedByPriority()).isEqualTo(Map.of(5, 1L));
+        assertThat(stats.getCompletedToday()).isEqualTo(1);
+
+        counts.change(completed(1L, 5, NOW.plusHours(1), NOW), null, NOW_MINUTE, TODAY);
+        stats = snapshot(NOW_MINUTE, TODAY);
+        assertThat(stats.getCompletedByPriority()).isEmpty();
+        assertThat(stats.getCompletedToday()).isZero();
+    }
+
+    @Test
+    void openTasksBecomeOverdueOnceTheClockPassesTheirDueMinute() {
+        counts.addOverdue(4, NOW_MINUTE, TODAY);
+        counts.addOpenDue(NOW.plusMinutes(2), 2, NOW_MINUTE, TODAY);
+        counts.change(null, open(1L, 2, NOW.minusMinutes(5)), NOW_MINUTE, TODAY);
+        counts.change(null, open(2L, 2, NOW.plusMinutes(1)), NOW_MINUTE, TODAY);
+        // Due within the current minute is not overdue yet
+        counts.change(null, open(3L, 2, NOW), NOW_MINUTE, TODAY);
+
+        assertThat(snapshot(NOW_MINUTE, TODAY).getOverdue()).isEqualTo(5);
+        assertThat(snapshot(NOW_MINUTE + 1, TODAY).getOverdue()).isEqualTo(6);
+        assertThat(snapshot(NOW_MINUTE + 2, TODAY).getOverdue()).isEqualTo(7);
+        assertThat(snapshot(NOW_MINUTE + 3, TODAY).getOverdue()).isEqualTo(9);
+
+        // Completing or deleting a task that became overdue takes it out of the overdue count
+        counts.change(open(2L, 2, NOW.plusMinutes(1)), completed(2L, 2, NOW.plusMinutes(1), NOW),
+                NOW_MINUTE + 3, TODAY);
+        counts.change(open(1L, 2, NOW.minusMinutes(5)), null, NOW_MINUTE + 3, TODAY);
+        assertThat(snapshot(NOW_MINUTE + 3, TODAY).getOverdue()).isEqualTo(7);
+    }
+
+    @Test
+    void movingADueDateMovesTheTaskBetweenOverdueAndUpcoming() {
+        TodoItemState upcoming = open(1L, 1, NOW.plusHours(2));
+        counts.change(null, upcoming, NOW_MINUTE, TODAY);
+        TodoItemState overdue = open(1L, 1, NOW.minusHours(2));
+        counts.change(upcoming, overdue, NOW_MINUTE, TODAY);
+        assertThat(snapshot(NOW_MINUTE, TODAY).getOverdue()).isEqualTo(1);
+
+        counts.change(overdue, upcoming, NOW_MINUTE, TODAY);
+        assertThat(snapshot(NOW_MINUTE, TODAY).getOverdue()).isZero();
+        assertThat(snapshot(NOW_MINUTE + 121, TODAY).getOverdue()).isEqualTo(1);
+    }
+
+    @Test
+    void completedTodayOnlyCountsTasksUpdatedToday() {
+        counts.addCompletedToday(3, NOW_MINUTE, TODAY);
+        TodoItemState yesterday = completed(1L, 1, NOW.minusDays(3), NOW.minusDays(1));
+        counts.change(null, yesterday, NOW_MINUTE, TODAY);
+        assertThat(snapshot(NOW_MINUTE, TODAY).getCompletedToday()).isEqualTo(3);
+
+        // Updating a task completed yesterday counts it as completed today
+        counts.change(yesterday, completed(1L, 1, NOW.minusDays(3), NOW), NOW_MINUTE, TODAY);
+        assertThat(snapshot(NOW_MINUTE, TODAY).getCompletedToday()).isEqualTo(4);
+
+        // The next day starts over, and a task completed the day before leaves no negative count
+        counts.change(completed(1L, 1, NOW.minusDays(3), NOW), null, NOW_MINUTE + 1440, TODAY + 1);
+        TaskStatsDTO tomorrow = snapshot(NOW_MINUTE + 1440, TODAY + 1);
+        assertThat(tomorrow.getCompletedToday()).isZero();
+        assertThat(tomorrow.getCompletedByPriority()).isEmpty();
+    }
+
+    @Test
+    void concurrentChangesAreAllCounted() throws Exception {
+        int threads = 8;
+        int tasksPerThread = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int thread = 0; thread < threads; thread++) {
+                long firstId = (long) thread * tasksPerThread;
+                results.add(executor.submit(() -> {
+                    for (long id = firstId; id < firstId + tasksPerThread; id++) {
+                        TodoItemState created = open(id, (int) (id % 5), NOW.plusMinutes(id % 3 - 1));
+                        counts.change(null, created, NOW_MINUTE, TODAY);
+                        if (id % 2 == 0) {
+                            counts.change(created, completed(id, created.getPriority(), created.getDueDate(), NOW),
+                                    NOW_MINUTE, TODAY);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long tasks = (long) threads * tasksPerThread;
+        TaskStatsDTO stats = snapshot(NOW_MINUTE, TODAY);
+        assertThat(stats.getOpenByPriority().values().stream().mapToLong(Long::longValue).sum()).isEqualTo(tasks / 2);
+        assertThat(stats.getCompletedByPriority().values().stream().mapToLong(Long::longValue).sum())
+                .isEqualTo(tasks / 2);
+        assertThat(stats.getCompletedToday()).isEqualTo(tasks / 2);
+        // Open tasks have odd IDs; a third of them are due in the previous minute
+        long overdue = 0;
+        for (long id = 1; id < tasks; id += 2) {
+            if (id % 3 == 0) {
+                overdue++;
+            }
+        }
+        assertThat(stats.getOverdue()).isEqualTo(overdue);
+    }
+
+    private TaskStatsDTO snapshot(int nowMinute, long today) {
+        return counts.snapshot(nowMinute, today, NOW);
+    }
+
+    private static TodoItemState open(long id, int priority, LocalDateTime dueDate) {
+        return new TodoItemState(id, 1L, priority, false, dueDate, null);
+    }
+
+    private static TodoItemState completed(long id, int priority, LocalDateTime dueDate, LocalDateTime updatedAt) {
+        return new TodoItemState(id, 1L, priority, true, dueDate, updatedAt);
+    }
+}
@@ -0,0 +1,172 @@
+package com.todolist.app.writebehind;
+
+import com.todolist.app.exception.TaskConflictException;
+import com.todolist.app.model.TodoItem;
+import com.todolist.app.model.TodoItemPatch;
+import com.todolist.app.outbox.TodoChangeOutbox;
+import com.todolist.app.repository.TodoRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs buffers with a window long enough that nothing is flushed on its own, against the
+ * database, and checks what the flushes write.
+ */
+@SpringBootTest
+class TaskWriteBufferTest {
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private TodoChangeOutbox todoChangeOutbox;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<Long> seeded = new ArrayList<>();
+    private final List<TaskWriteBuffer> open = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        open.forEach(TaskWriteBuffer::shutdown);
+        todoRepository.deleteAllById(seeded);
+    }
+
+    @Test
+    void updatesToATaskAreMergedIntoOneWrite() {
+        TodoItem task = seed();
+        TaskWriteBuffer buffer = buffer(jdbcTemplate, 30_000);
+
+        buffer.update(task.getId(), patch("Renamed", null), null);
+        buffer.update(task.getId(), patch(null, 5), null);
+        assertThat(buffer.get(task.getId()).getTitle()).isEqualTo("Renamed");
+        assertThat(stored(task).getTitle()).isEqualTo("Buffered");
+
+        buffer.flush(List.of(task.getId()));
+
+        TodoItem written = stored(task);
+        assertThat(written.getTitle()).isEqualTo("Renamed");
+        assertThat(written.getPriority()).isEqualTo(5);
+        assertThat(written.getDescription()).isEqualTo("Written behind");
+        assertThat(buffer.isBuffered(task.getId())).isFalse();
+        assertThat(meterRegistry.counter("todo.write-behind.updates").count()).isEqualTo(2);
+        assertThat(meterRegistry.counter("todo.write-behind.rows").count()).isEqualTo(1);
+    }
+
+    @Test
+    void acknowledgedVersionsAreTheWrittenOnes() {
+        TodoItem task = seed();
+        long version = task.getVersion();
+        TaskWriteBuffer buffer = buffer(jdbcTemplate, 30_000);
+
+        assertThat(buffer.update(task.getId(), patch("First", null), version).getVersion()).isEqualTo(version + 1);
+        assertThat(buffer.update(task.getId(), patch("Second", null), version + 1).getVersion()).isEqualTo(version + 2);
+        buffer.flush(List.of(task.getId()));
+        assertThat(stored(task).getVersion()).isEqualTo(version + 2);
+
+        // The next update starts again from the database
+        assertThat(buffer.update(task.getId(), patch("Third", null), version + 2).getVersion()).isEqualTo(version + 3);
+        buffer.flush(List.of(task.getId()));
+        assertThat(stored(task).getVersion()).isEqualTo(version + 3);
+        assertThat(stored(task).getTitle()).isEqualTo("Third");
+    }
+
+    @Test
+    void updatesConditionalOnAnotherVersionConflict() {
+        TodoItem task = seed();
+        long version = task.getVersion();
+        TaskWriteBuffer buffer = buffer(jdbcTemplate, 30_000);
+        buffer.update(task.getId(), patch("First", null), version);
+
+        assertThatThrownBy(() -> buffer.update(task.getId(), patch("Stale", null), version))
+                .isInstanceOf(TaskConflictException.class);
+        buffer.flush(List.of(task.getId()));
+
+        assertThat(stored(task).getTitle()).isEqualTo("First");
+        assertThat(stored(task).getVersion()).isEqualTo(version + 1);
+        assertThat(meterRegistry.counter("todo.write-behind.updates").count()).isEqualTo(1);
+    }
+
+    @Test
+    void shutdownWritesBufferedUpdatesAndTakesNoMore() {
+        TodoItem task = seed();
+        TaskWriteBuffer buffer = buffer(jdbcTemplate, 30_000);
+        buffer.update(task.getId(), patch("Before shutdown", null), null);
+
+        buffer.shutdown();
+
+        assertThat(stored(task).getTitle()).isEqualTo("Before shutdown");
+        assertThat(buffer.isBuffered(task.getId())).isFalse();
+        assertThat(buffer.accepts(task.getId())).isFalse();
+    }
+
+    @Test
+    void shutdownFailsWhenUpdatesCannotBeWritten() {
+        TodoItem task = seed();
+        JdbcTemplate failing = new JdbcTemplate(jdbcTemplate.getDataSource()) {
+            @Override
+            public int[] batchUpdate(String sql, BatchPreparedStatementSetter setter) {
+                throw new DataAccessResourceFailureException("Database unavailable");
+            }
+        };
+        TaskWriteBuffer buffer = buffer(failing, 200);
+        buffer.update(task.getId(), patch("Never written", null), null);
+
+        assertThatThrownBy(buffer::shutdown)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("1 tasks not written: [" + task.getId() + "]");
+        assertThat(buffer.isBuffered(task.getId())).isTrue();
+        assertThat(stored(task).getTitle()).isEqualTo("Buffered");
+    }
+
+    private TaskWriteBuffer buffer(JdbcTemplate jdbcTemplate, long shutdownTimeoutMillis) {
+        TaskWriteBuffer buffer = new TaskWriteBuffer(todoRepository, todoChangeOutbox, eventPublisher, jdbcTemplate,
+                transactionManager, meterRegistry, true, 60_000, 60_000, 100, 10, shutdownTimeoutMillis);
+        if (jdbcTemplate == this.jdbcTemplate) {
+            open.add(buffer);
+        }
+        return buffer;
+    }
+
+    private TodoItem seed() {
+        TodoItem task = todoRepository.save(new TodoItem("Buffered", "Written behind",
+                LocalDateTime.of(2030, 1, 1, 12, 0), 2));
+        seeded.add(task.getId());
+        return task;
+    }
+
+    private TodoItem stored(TodoItem task) {
+        return todoRepository.findById(task.getId()).orElseThrow();
+    }
+
+    private static TodoItemPatch patch(String title, Integer priority) {
+        TodoItemPatch patch = new TodoItemPatch();
+        patch.setTitle(title);
+        patch.setPriority(priority);
+        return patch;
+    }
+}